@@ -24,18 +24,30 @@ import android.widget.Button;
 import com.google.gson.Gson;
 import org.parceler.Parcels;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 
 public class MainActivity extends Activity {
 
     private static final int SKILL_SIZE = 30;
 
+    private long coldWrapTime;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.main);
 
+        //first use of Parcels in the process, includes loading the generated repositories
+        long coldWrapStart = System.nanoTime();
+        Parcels.wrap(buildDeveloper());
+        coldWrapTime = System.nanoTime() - coldWrapStart;
+
         Button submitView = (Button) findViewById(R.id.run1);
         submitView.setOnClickListener(new OnClickListener() {
 
@@ -149,6 +161,27 @@ public class MainActivity extends Activity {
             }
         });
 
+        Button submitView12 = (Button) findViewById(R.id.run12);
+        submitView12.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                final Developer developer = buildDeveloper();
+
+                new ParcelExperiment(MainActivity.this, "Parceler Write/Read", new ParcelMutator() {
+                    @Override
+                    public void write(Parcel parcel) {
+                        Parcels.write(parcel, developer);
+                    }
+
+                    @Override
+                    public void read(Parcel parcel) {
+                        Parcels.read(parcel, Developer.class);
+                    }
+                }).run();
+            }
+        });
+
         Button submitView6 = (Button) findViewById(R.id.run6);
         submitView6.setOnClickListener(new OnClickListener() {
 
@@ -192,6 +225,111 @@ public class MainActivity extends Activity {
                 }).run();
             }
         });
+
+        Button submitView8 = (Button) findViewById(R.id.run8);
+        submitView8.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                final TreeDeveloper developer = buildTreeDeveloper();
+                final ClassLoader classLoader = Developer.class.getClassLoader();
+
+                new ParcelExperiment(MainActivity.this, "Tree Parceler", new ParcelMutator() {
+                    @Override
+                    public void write(Parcel parcel) {
+                        parcel.writeParcelable(Parcels.wrap(developer), 0);
+                    }
+
+                    @Override
+                    public void read(Parcel parcel) {
+                        Parcels.unwrap(parcel.readParcelable(classLoader));
+                    }
+                }).run();
+            }
+        });
+
+        Button submitView9 = (Button) findViewById(R.id.run9);
+        submitView9.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                new WrapExperiment(MainActivity.this, buildDeveloper(), coldWrapTime).run();
+            }
+        });
+
+        Button submitView10 = (Button) findViewById(R.id.run10);
+        submitView10.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                final Account account = buildAccount();
+                final ClassLoader classLoader = Account.class.getClassLoader();
+
+                new ParcelExperiment(MainActivity.this, "JDK Types Parceler", new ParcelMutator() {
+                    @Override
+                    public void write(Parcel parcel) {
+                        parcel.writeParcelable(Parcels.wrap(account), 0);
+                    }
+
+                    @Override
+                    public void read(Parcel parcel) {
+                        Parcels.unwrap(parcel.readParcelable(classLoader));
+                    }
+                }).run();
+            }
+        });
+
+        Button submitView11 = (Button) findViewById(R.id.run11);
+        submitView11.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                final Account account = buildAccount();
+
+                new ParcelExperiment(MainActivity.this, "JDK Types Serializable", new ParcelMutator() {
+                    @Override
+                    public void write(Parcel parcel) {
+                        parcel.writeSerializable(account);
+                    }
+
+                    @Override
+                    public void read(Parcel parcel) {
+                        parcel.readSerializable();
+                    }
+                }).run();
+            }
+        });
+
+        Button submitView12 = (Button) findViewById(R.id.run12);
+        submitView12.setOnClickListener(new OnClickListener() {
+
+            @Override
+            public void onClick(View v) {
+                final Developer developer = buildDeveloper();
+
+                new ParcelExperiment(MainActivity.this, "Parceler Write/Read", new ParcelMutator() {
+                    @Override
+                    public void write(Parcel parcel) {
+                        Parcels.write(parcel, developer);
+                    }
+
+                    @Override
+                    public void read(Parcel parcel) {
+                        Parcels.read(parcel, Developer.class);
+                    }
+                }).run();
+            }
+        });
+    }
+
+    private Account buildAccount(){
+        Account account = new Account();
+        account.id = UUID.randomUUID();
+        account.opened = new Date();
+        account.balance = new BigDecimal("1234.56");
+        account.currency = Currency.getInstance("USD");
+        account.locale = Locale.US;
+        return account;
     }
 
     private Developer buildDeveloper(){
@@ -210,6 +348,22 @@ public class MainActivity extends Activity {
         return developer;
     }
 
+    private TreeDeveloper buildTreeDeveloper(){
+        TreeDeveloper developer = new TreeDeveloper();
+        developer.favoriteFloat = 32.32f;
+        developer.name = "test";
+        developer.yearsOfExperience = 42;
+        List<TreeDeveloper.Skill> skills = new ArrayList<TreeDeveloper.Skill>();
+        for(int i = 0; i < SKILL_SIZE; i++){
+            TreeDeveloper.Skill skill = new TreeDeveloper.Skill();
+            skill.name = "skill";
+            skill.programmingRelated = true;
+            skills.add(skill);
+        }
+        developer.skillSet = skills;
+        return developer;
+    }
+
     private ParcelableDeveloper buildParcelableDeveloper(){
         ParcelableDeveloper developer = new ParcelableDeveloper();
         developer.favoriteFloat = 32.32f;
@@ -74,7 +74,12 @@ public class ParcelExperiment {
         long reatTotal = System.nanoTime() - readStart;
         double readTime = 1.0 * reatTotal / ITERS;
 
-        String output = name + " Total Time: " + timePer + " write: " + writeTime + " read: " + readTime;
+        parcel.setDataSize(0);
+        mutator.write(parcel);
+        int payloadSize = parcel.dataSize();
+        parcel.recycle();
+
+        String output = name + " Total Time: " + timePer + " write: " + writeTime + " read: " + readTime + " bytes: " + payloadSize;
 
         Toast.makeText(context, output, 1000).show();
         Log.i("Parceler", output);
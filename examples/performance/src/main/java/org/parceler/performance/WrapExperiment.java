@@ -0,0 +1,90 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.performance;
+
+import android.content.Context;
+import android.os.Parcelable;
+import android.util.Log;
+import android.widget.Toast;
+import org.parceler.Parcels;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Compares wrapping through the generated `ParcelableFactory` repository with the reflective
+ * `Class.forName`/`Constructor.newInstance()` lookup used when no repository is available.
+ *
+ * @author John Ericksen
+ */
+public class WrapExperiment {
+
+    private final Context context;
+    private final Developer developer;
+    private final long coldWrapTime;
+
+    private static final int ITERS = 100000;
+
+    public WrapExperiment(Context context, Developer developer, long coldWrapTime) {
+        this.context = context;
+        this.developer = developer;
+        this.coldWrapTime = coldWrapTime;
+    }
+
+    public void run(){
+        long reflectiveColdStart = System.nanoTime();
+        Constructor<? extends Parcelable> constructor = lookupConstructor();
+        newInstance(constructor);
+        long reflectiveColdTime = System.nanoTime() - reflectiveColdStart;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERS; i++) {
+            Parcels.wrap(developer);
+        }
+        double wrapTime = 1.0 * (System.nanoTime() - start) / ITERS;
+
+        long reflectiveStart = System.nanoTime();
+        for (int i = 0; i < ITERS; i++) {
+            newInstance(constructor);
+        }
+        double reflectiveTime = 1.0 * (System.nanoTime() - reflectiveStart) / ITERS;
+
+        String output = "Wrap cold: " + coldWrapTime + " reflective cold: " + reflectiveColdTime +
+                " wrap: " + wrapTime + " reflective wrap: " + reflectiveTime;
+
+        Toast.makeText(context, output, 1000).show();
+        Log.i("Parceler", output);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Constructor<? extends Parcelable> lookupConstructor(){
+        try {
+            Class<? extends Parcelable> parcelableClass = (Class<? extends Parcelable>) Class.forName(Developer.class.getName() + "$$Parcelable");
+            return parcelableClass.getConstructor(Developer.class);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Parcelable newInstance(Constructor<? extends Parcelable> constructor){
+        try {
+            return constructor.newInstance(developer);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
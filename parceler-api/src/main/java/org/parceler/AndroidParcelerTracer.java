@@ -0,0 +1,71 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * `ParcelerTracer` writing `android.os.Trace` sections, visible in systrace and Perfetto captures, named
+ * `Parceler write <type>` or `Parceler read <type>`.  `Trace` is looked up reflectively as it is only available from
+ * API 18; the byte count is not recorded as sections carry only a name.
+ *
+ * @author John Ericksen
+ */
+public class AndroidParcelerTracer implements ParcelerTracer {
+
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+    private static final Method BEGIN_SECTION = findTraceMethod("beginSection", String.class);
+    private static final Method END_SECTION = findTraceMethod("endSection");
+
+    public static boolean isAvailable() {
+        return BEGIN_SECTION != null && END_SECTION != null;
+    }
+
+    @Override
+    public void begin(String type, String operation) {
+        String name = "Parceler " + operation + " " + type;
+        invoke(BEGIN_SECTION, name.length() > MAX_SECTION_NAME_LENGTH ? name.substring(0, MAX_SECTION_NAME_LENGTH) : name);
+    }
+
+    @Override
+    public void end(int bytes) {
+        invoke(END_SECTION);
+    }
+
+    private static Method findTraceMethod(String name, Class<?>... parameters) {
+        try {
+            return Class.forName("android.os.Trace").getMethod(name, parameters);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (RuntimeException e) {
+            //stubbed android.jar
+            return null;
+        }
+    }
+
+    private static void invoke(Method method, Object... args) {
+        try {
+            method.invoke(null, args);
+        } catch (IllegalAccessException e) {
+            throw new ParcelerRuntimeException("Unable to access android.os.Trace." + method.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new ParcelerRuntimeException("Unable to trace using android.os.Trace." + method.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+/**
+ * `ParcelSink` and `ParcelSource` backed by a heap or direct `ByteBuffer`, growing as values are written.
+ *
+ * Values are written little-endian and unpadded.  Strings are written as a UTF-8 byte length followed by their bytes and
+ * arrays as an element count followed by their elements, with a length of -1 for null.  `Serializable` values are
+ * written as a byte array in Java serialization form.
+ *
+ * @author John Ericksen
+ */
+public final class ByteBufferParcel implements ParcelSink, ParcelSource {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int NULL_LENGTH = -1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private ByteBuffer buffer;
+    private final boolean direct;
+
+    private ByteBufferParcel(ByteBuffer buffer, boolean direct) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.direct = direct;
+    }
+
+    /**
+     * @return an empty parcel backed by a heap buffer
+     */
+    public static ByteBufferParcel allocate() {
+        return allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity initial capacity in bytes
+     * @return an empty parcel backed by a heap buffer
+     */
+    public static ByteBufferParcel allocate(int capacity) {
+        return new ByteBufferParcel(ByteBuffer.allocate(capacity), false);
+    }
+
+    /**
+     * @param capacity initial capacity in bytes
+     * @return an empty parcel backed by a direct buffer
+     */
+    public static ByteBufferParcel allocateDirect(int capacity) {
+        return new ByteBufferParcel(ByteBuffer.allocateDirect(capacity), true);
+    }
+
+    /**
+     * @param data serialized bytes, read from the start
+     * @return a parcel reading the given bytes
+     */
+    public static ByteBufferParcel wrap(byte[] data) {
+        return new ByteBufferParcel(ByteBuffer.wrap(data), false);
+    }
+
+    /**
+     * @param data buffer holding serialized bytes between its position and limit, which is left unchanged
+     * @return a parcel reading the given buffer
+     */
+    public static ByteBufferParcel wrap(ByteBuffer data) {
+        return new ByteBufferParcel(data.slice(), data.isDirect());
+    }
+
+    @Override
+    public int dataPosition() {
+        return buffer.position();
+    }
+
+    public void setDataPosition(int position) {
+        buffer.position(position);
+    }
+
+    /**
+     * @return a read only view of the bytes written so far
+     */
+    public ByteBuffer toByteBuffer() {
+        ByteBuffer written = buffer.asReadOnlyBuffer();
+        written.flip();
+        return written;
+    }
+
+    /**
+     * @return a copy of the bytes written so far
+     */
+    public byte[] toByteArray() {
+        byte[] data = new byte[buffer.position()];
+        toByteBuffer().get(data);
+        return data;
+    }
+
+    @Override
+    public void writeInt(int value) {
+        ensureCapacity(4).putInt(value);
+    }
+
+    @Override
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    @Override
+    public void writeLong(long value) {
+        ensureCapacity(8).putLong(value);
+    }
+
+    @Override
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    @Override
+    public void writeFloat(float value) {
+        ensureCapacity(4).putFloat(value);
+    }
+
+    @Override
+    public float readFloat() {
+        return buffer.getFloat();
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        ensureCapacity(8).putDouble(value);
+    }
+
+    @Override
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    @Override
+    public void writeByte(byte value) {
+        ensureCapacity(1).put(value);
+    }
+
+    @Override
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    @Override
+    public void writeString(String value) {
+        writeByteArray(value == null ? null : value.getBytes(UTF_8));
+    }
+
+    @Override
+    public String readString() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] data = new byte[length];
+        buffer.get(data);
+        return new String(data, UTF_8);
+    }
+
+    @Override
+    public void writeByteArray(byte[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + value.length).putInt(value.length).put(value);
+    }
+
+    @Override
+    public byte[] createByteArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    @Override
+    public void writeCharArray(char[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + 2 * value.length).putInt(value.length);
+        buffer.asCharBuffer().put(value);
+        buffer.position(buffer.position() + 2 * value.length);
+    }
+
+    @Override
+    public char[] createCharArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        char[] value = new char[length];
+        buffer.asCharBuffer().get(value);
+        buffer.position(buffer.position() + 2 * length);
+        return value;
+    }
+
+    @Override
+    public void writeBooleanArray(boolean[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + value.length).putInt(value.length);
+        for (boolean item : value) {
+            buffer.put(item ? (byte) 1 : (byte) 0);
+        }
+    }
+
+    @Override
+    public boolean[] createBooleanArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        boolean[] value = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = buffer.get() != 0;
+        }
+        return value;
+    }
+
+    @Override
+    public void writeIntArray(int[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + 4 * value.length).putInt(value.length);
+        buffer.asIntBuffer().put(value);
+        buffer.position(buffer.position() + 4 * value.length);
+    }
+
+    @Override
+    public int[] createIntArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        int[] value = new int[length];
+        buffer.asIntBuffer().get(value);
+        buffer.position(buffer.position() + 4 * length);
+        return value;
+    }
+
+    @Override
+    public void writeLongArray(long[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + 8 * value.length).putInt(value.length);
+        buffer.asLongBuffer().put(value);
+        buffer.position(buffer.position() + 8 * value.length);
+    }
+
+    @Override
+    public long[] createLongArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        long[] value = new long[length];
+        buffer.asLongBuffer().get(value);
+        buffer.position(buffer.position() + 8 * length);
+        return value;
+    }
+
+    @Override
+    public void writeFloatArray(float[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + 4 * value.length).putInt(value.length);
+        buffer.asFloatBuffer().put(value);
+        buffer.position(buffer.position() + 4 * value.length);
+    }
+
+    @Override
+    public float[] createFloatArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        float[] value = new float[length];
+        buffer.asFloatBuffer().get(value);
+        buffer.position(buffer.position() + 4 * length);
+        return value;
+    }
+
+    @Override
+    public void writeDoubleArray(double[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        ensureCapacity(4 + 8 * value.length).putInt(value.length);
+        buffer.asDoubleBuffer().put(value);
+        buffer.position(buffer.position() + 8 * value.length);
+    }
+
+    @Override
+    public double[] createDoubleArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        double[] value = new double[length];
+        buffer.asDoubleBuffer().get(value);
+        buffer.position(buffer.position() + 8 * length);
+        return value;
+    }
+
+    @Override
+    public void writeStringArray(String[] value) {
+        if (value == null) {
+            writeInt(NULL_LENGTH);
+            return;
+        }
+        writeInt(value.length);
+        for (String item : value) {
+            writeString(item);
+        }
+    }
+
+    @Override
+    public String[] createStringArray() {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String[] value = new String[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = readString();
+        }
+        return value;
+    }
+
+    @Override
+    public void writeSerializable(Serializable value) {
+        if (value == null) {
+            writeByteArray(null);
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream output = new ObjectOutputStream(bytes);
+            output.writeObject(value);
+            output.close();
+            writeByteArray(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new ParcelerRuntimeException("Unable to write Serializable " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Serializable readSerializable() {
+        byte[] data = createByteArray();
+        if (data == null) {
+            return null;
+        }
+        try {
+            ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(data));
+            try {
+                return (Serializable) input.readObject();
+            } finally {
+                input.close();
+            }
+        } catch (IOException e) {
+            throw new ParcelerRuntimeException("Unable to read Serializable", e);
+        } catch (ClassNotFoundException e) {
+            throw new ParcelerRuntimeException("Unable to read Serializable", e);
+        }
+    }
+
+    /**
+     * Grows the buffer, keeping its kind, to hold the given number of bytes past the current position.
+     */
+    private ByteBuffer ensureCapacity(int length) {
+        if (buffer.remaining() < length) {
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+            ByteBuffer grown = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+            grown.order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer written = buffer.duplicate();
+            written.clear();
+            grown.put(written);
+            grown.position(buffer.position());
+            buffer = grown;
+        }
+        return buffer;
+    }
+}
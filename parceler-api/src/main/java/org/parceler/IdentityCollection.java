@@ -16,22 +16,60 @@
 package org.parceler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * Tracks the instances written to or read from a Parcel by their identity id.
+ *
+ * Ids are handed out sequentially and stored in an array-backed slot table, so reservation, replacement and lookup
+ * by id run in constant time.  The reverse lookup used while writing (`getKey()`) is backed by an open-addressing
+ * identity hash index, keeping the write of large object graphs linear in the number of nodes.
+ *
+ * A separate String table tracks Strings by value rather than by identity.  String ids start at 1, with 0 reserved for
+ * null, and the table is only allocated once a String is put.
+ *
  * @author John Ericksen
  */
 public final class IdentityCollection {
 
     private static final Object RESERVATION = new Object();
-    private final List<Object> values = new ArrayList<Object>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    // Open-addressing (linear probing) index of value -> id, keyed by identity.  Entries may go stale when a slot is
+    // replaced; lookups validate against the slot table instead of removing entries.
+    private Object[] indexKeys = new Object[INITIAL_CAPACITY * 2];
+    private int[] indexIds = new int[INITIAL_CAPACITY * 2];
+    private int indexSize = 0;
+
+    private List<String> strings;
+    private Map<String, Integer> stringKeys;
 
     public IdentityCollection() {
         put(null);
     }
 
     public boolean containsKey(int id){
-        return id < values.size();
+        return id < size;
+    }
+
+    /**
+     * @return the number of ids handed out, including the id reserved for null
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of slots in the identity index, exposed for testing
+     */
+    int indexCapacity() {
+        return indexKeys.length;
     }
 
     public int reserve() {
@@ -39,32 +77,143 @@ public final class IdentityCollection {
     }
 
     public boolean isReserved(int id) {
-        return values.get(id) == RESERVATION;
+        return values[id] == RESERVATION;
     }
 
     public void put(int id, Object input){
-        if(values.size() > id) {
-            values.remove(id);
+        ensureCapacity(id + 1);
+        values[id] = input;
+        if(id >= size) {
+            size = id + 1;
         }
-        values.add(id, input);
+        index(input, id);
     }
 
     public int put(Object input) {
-        values.add(input);
-        return values.size() - 1;
+        int id = size;
+        put(id, input);
+        return id;
     }
 
     @SuppressWarnings("unchecked")
     public <T> T get(int id){
-        return (T) values.get(id);
+        if(id >= size) {
+            throw new IndexOutOfBoundsException("Index: " + id + ", Size: " + size);
+        }
+        return (T) values[id];
     }
 
     public int getKey(Object input) {
-        for(int i = 0; i < values.size(); i++) {
-            if(values.get(i) == input) {
-                return i;
+        if(input == null) {
+            return 0;
+        }
+        int mask = indexKeys.length - 1;
+        for(int i = hash(input, mask); indexKeys[i] != null; i = (i + 1) & mask) {
+            if(indexKeys[i] == input) {
+                int id = indexIds[i];
+                return values[id] == input ? id : -1;
             }
         }
         return -1;
     }
+
+    public int getStringKey(String input) {
+        if(input == null) {
+            return 0;
+        }
+        if(stringKeys == null) {
+            return -1;
+        }
+        Integer key = stringKeys.get(input);
+        return key == null ? -1 : key;
+    }
+
+    public int putString(String input) {
+        if(strings == null) {
+            strings = new ArrayList<String>();
+            stringKeys = new HashMap<String, Integer>();
+        }
+        strings.add(input);
+        int id = strings.size();
+        stringKeys.put(input, id);
+        return id;
+    }
+
+    public String getString(int id) {
+        if(id == 0) {
+            return null;
+        }
+        int size = strings == null ? 0 : strings.size();
+        if(id < 0 || id > size) {
+            throw new IndexOutOfBoundsException("String index: " + id + ", Size: " + size);
+        }
+        return strings.get(id - 1);
+    }
+
+    private void index(Object input, int id) {
+        if(input == null || input == RESERVATION) {
+            return;
+        }
+        if((indexSize + 1) * 2 > indexKeys.length) {
+            rehash();
+        }
+        if(insert(indexKeys, indexIds, input, id)) {
+            indexSize++;
+        }
+    }
+
+    private void rehash() {
+        int live = 0;
+        for(int i = 0; i < indexKeys.length; i++) {
+            if(indexKeys[i] != null && values[indexIds[i]] == indexKeys[i]) {
+                live++;
+            }
+        }
+        // only grow when live entries fill the index, replaced values are purged in place
+        int capacity = (live + 1) * 4 > indexKeys.length ? indexKeys.length * 2 : indexKeys.length;
+        Object[] keys = new Object[capacity];
+        int[] ids = new int[capacity];
+        int entries = 0;
+        for(int i = 0; i < indexKeys.length; i++) {
+            Object key = indexKeys[i];
+            // drop stale entries while copying
+            if(key != null && values[indexIds[i]] == key) {
+                insert(keys, ids, key, indexIds[i]);
+                entries++;
+            }
+        }
+        indexKeys = keys;
+        indexIds = ids;
+        indexSize = entries;
+    }
+
+    private static boolean insert(Object[] keys, int[] ids, Object key, int id) {
+        int mask = keys.length - 1;
+        int i = hash(key, mask);
+        while(keys[i] != null) {
+            if(keys[i] == key) {
+                ids[i] = id;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        ids[i] = id;
+        return true;
+    }
+
+    private static int hash(Object key, int mask) {
+        int h = System.identityHashCode(key);
+        // spread the bits, identity hash codes tend to cluster in the low bits
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & mask;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
 }
@@ -22,7 +22,8 @@ import java.security.PrivilegedExceptionAction;
 
 /**
  * Utility class for performing a variety of operations through reflection.  This functionality should be used sparingly
- * as frequent calls can cause performance issues.
+ * as frequent calls can cause performance issues.  Repeated access to the same member should go through the
+ * pre-resolved `FieldAccessor`, `MethodAccessor` and `ConstructorAccessor` instead.
  *
  * @author John Ericksen
  */
@@ -224,6 +225,140 @@ public final class InjectionUtil {
         }
     }
 
+    /**
+     * Field resolved once and made accessible, for repeated reads and writes of a private field.
+     *
+     * @param <T> field type
+     */
+    public static final class FieldAccessor<T> {
+
+        public static final String GET = "get";
+        public static final String SET = "set";
+
+        private final Field field;
+
+        /**
+         * @param targetClass class declaring the field
+         * @param field name of the field
+         */
+        public FieldAccessor(Class<?> targetClass, String field) {
+            try {
+                this.field = makeAccessible(targetClass.getDeclaredField(field));
+            } catch (NoSuchFieldException e) {
+                throw new ParcelerRuntimeException(
+                        "NoSuchFieldException Exception during field injection: " + field + " in " + targetClass, e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(Object target) {
+            try {
+                return (T) field.get(target);
+            } catch (IllegalAccessException e) {
+                throw new ParcelerRuntimeException("Exception during field injection", e);
+            }
+        }
+
+        public void set(Object target, Object value) {
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw new ParcelerRuntimeException("Exception during field injection", e);
+            }
+        }
+    }
+
+    /**
+     * Method resolved once and made accessible, for repeated calls of a private method.
+     *
+     * @param <T> method return type
+     */
+    public static final class MethodAccessor<T> {
+
+        public static final String INVOKE = "invoke";
+
+        private final Method method;
+
+        /**
+         * @param targetClass class declaring the method
+         * @param method the method name
+         * @param argClasses types of the method arguments
+         */
+        public MethodAccessor(Class<?> targetClass, String method, Class[] argClasses) {
+            try {
+                this.method = makeAccessible(targetClass.getDeclaredMethod(method, argClasses));
+            } catch (NoSuchMethodException e) {
+                throw new ParcelerRuntimeException("Exception during method injection: NoSuchMethodException", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public T invoke(Object target, Object[] args) {
+            try {
+                return (T) method.invoke(target, args);
+            } catch (IllegalAccessException e) {
+                throw new ParcelerRuntimeException("Exception during method injection", e);
+            } catch (InvocationTargetException e) {
+                throw new ParcelerRuntimeException("Exception during method injection", e);
+            }
+        }
+    }
+
+    /**
+     * Constructor resolved once and made accessible, for repeated calls of a private constructor.
+     *
+     * @param <T> constructed type
+     */
+    public static final class ConstructorAccessor<T> {
+
+        public static final String NEW_INSTANCE = "newInstance";
+
+        private final Constructor constructor;
+
+        /**
+         * @param targetClass instance type to construct
+         * @param argClasses argument types accepted by the constructor
+         */
+        public ConstructorAccessor(Class<?> targetClass, Class[] argClasses) {
+            try {
+                this.constructor = makeAccessible(targetClass.getDeclaredConstructor(argClasses));
+            } catch (NoSuchMethodException e) {
+                throw new ParcelerRuntimeException("Exception during method injection: NoSuchMethodException", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object[] args) {
+            try {
+                return (T) constructor.newInstance(args);
+            } catch (InstantiationException e) {
+                throw new ParcelerRuntimeException("Exception during constructor injection", e);
+            } catch (IllegalAccessException e) {
+                throw new ParcelerRuntimeException("Exception during constructor injection", e);
+            } catch (InvocationTargetException e) {
+                throw new ParcelerRuntimeException("Exception during constructor injection", e);
+            }
+        }
+    }
+
+    /**
+     * Toggles the given member to be accessible.  Reflection returns a fresh copy of the member on each lookup, so the
+     * copy held by an accessor is left accessible rather than toggled back after each use.
+     */
+    private static <E extends AccessibleObject> E makeAccessible(final E accessible) {
+        try {
+            return AccessController.doPrivileged(new PrivilegedExceptionAction<E>() {
+                @Override
+                public E run() {
+                    accessible.setAccessible(true);
+                    return accessible;
+                }
+            });
+        } catch (PrivilegedActionException e) {
+            throw new ParcelerRuntimeException("PrivilegedActionException Exception during field injection", e);
+        }
+    }
+
     private static abstract class AccessibleElementPrivilegedAction<T, E extends AccessibleObject> implements PrivilegedExceptionAction<T> {
 
         private final E accessible;
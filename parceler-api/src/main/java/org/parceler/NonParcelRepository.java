@@ -23,11 +23,17 @@ import android.util.SparseArray;
 import android.util.SparseBooleanArray;
 import org.parceler.converter.*;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
 import java.util.*;
 
 final class NonParcelRepository implements Repository<Parcels.ParcelableFactory> {
 
     private static final NonParcelRepository INSTANCE = new NonParcelRepository();
+    //tags ahead of values with a compact encoding, matching SerializableFallbackReadWriteGenerator
+    private static final int COMPACT = 1;
+    private static final int SERIALIZED = 0;
     private final Map<Class, Parcels.ParcelableFactory> parcelableCollectionFactories = new HashMap<Class, Parcels.ParcelableFactory>();
 
     private NonParcelRepository() {
@@ -47,12 +53,19 @@ final class NonParcelRepository implements Repository<Parcels.ParcelableFactory>
         parcelableCollectionFactories.put(Double.class, new DoubleParcelableFactory());
         parcelableCollectionFactories.put(Float.class, new FloatParcelableFactory());
         parcelableCollectionFactories.put(Byte.class, new ByteParcelableFactory());
+        parcelableCollectionFactories.put(Short.class, new ShortParcelableFactory());
         parcelableCollectionFactories.put(String.class, new StringParcelableFactory());
         parcelableCollectionFactories.put(Character.class, new CharacterParcelableFactory());
         parcelableCollectionFactories.put(Boolean.class, new BooleanParcelableFactory());
         parcelableCollectionFactories.put(byte[].class, new ByteArrayParcelableFactory());
         parcelableCollectionFactories.put(char[].class, new CharArrayParcelableFactory());
         parcelableCollectionFactories.put(boolean[].class, new BooleanArrayParcelableFactory());
+        parcelableCollectionFactories.put(int[].class, new IntArrayParcelableFactory());
+        parcelableCollectionFactories.put(long[].class, new LongArrayParcelableFactory());
+        parcelableCollectionFactories.put(float[].class, new FloatArrayParcelableFactory());
+        parcelableCollectionFactories.put(double[].class, new DoubleArrayParcelableFactory());
+        parcelableCollectionFactories.put(short[].class, new ShortArrayParcelableFactory());
+        parcelableCollectionFactories.put(String[].class, new StringArrayParcelableFactory());
         parcelableCollectionFactories.put(IBinder.class, new IBinderParcelableFactory());
         parcelableCollectionFactories.put(Bundle.class, new BundleParcelableFactory());
         parcelableCollectionFactories.put(SparseBooleanArray.class, new SparseBooleanArrayParcelableFactory());
@@ -61,6 +74,13 @@ final class NonParcelRepository implements Repository<Parcels.ParcelableFactory>
         parcelableCollectionFactories.put(SortedMap.class, new TreeMapParcelableFactory());
         parcelableCollectionFactories.put(SortedSet.class, new TreeSetParcelableFactory());
         parcelableCollectionFactories.put(LinkedHashSet.class, new LinkedHashSetParcelableFactory());
+        parcelableCollectionFactories.put(UUID.class, new UUIDParcelableFactory());
+        parcelableCollectionFactories.put(Date.class, new DateParcelableFactory());
+        parcelableCollectionFactories.put(BigInteger.class, new BigIntegerParcelableFactory());
+        parcelableCollectionFactories.put(BigDecimal.class, new BigDecimalParcelableFactory());
+        parcelableCollectionFactories.put(URI.class, new URIParcelableFactory());
+        parcelableCollectionFactories.put(Locale.class, new LocaleParcelableFactory());
+        parcelableCollectionFactories.put(Currency.class, new CurrencyParcelableFactory());
 
     }
 
@@ -121,6 +141,54 @@ final class NonParcelRepository implements Repository<Parcels.ParcelableFactory>
         }
     }
 
+    private static class IntArrayParcelableFactory implements Parcels.ParcelableFactory<int[]> {
+
+        @Override
+        public Parcelable buildParcelable(int[] input) {
+            return new IntArrayParcelable(input);
+        }
+    }
+
+    private static class LongArrayParcelableFactory implements Parcels.ParcelableFactory<long[]> {
+
+        @Override
+        public Parcelable buildParcelable(long[] input) {
+            return new LongArrayParcelable(input);
+        }
+    }
+
+    private static class FloatArrayParcelableFactory implements Parcels.ParcelableFactory<float[]> {
+
+        @Override
+        public Parcelable buildParcelable(float[] input) {
+            return new FloatArrayParcelable(input);
+        }
+    }
+
+    private static class DoubleArrayParcelableFactory implements Parcels.ParcelableFactory<double[]> {
+
+        @Override
+        public Parcelable buildParcelable(double[] input) {
+            return new DoubleArrayParcelable(input);
+        }
+    }
+
+    private static class ShortArrayParcelableFactory implements Parcels.ParcelableFactory<short[]> {
+
+        @Override
+        public Parcelable buildParcelable(short[] input) {
+            return new ShortArrayParcelable(input);
+        }
+    }
+
+    private static class StringArrayParcelableFactory implements Parcels.ParcelableFactory<String[]> {
+
+        @Override
+        public Parcelable buildParcelable(String[] input) {
+            return new StringArrayParcelable(input);
+        }
+    }
+
     private static class IBinderParcelableFactory implements Parcels.ParcelableFactory<IBinder> {
 
         @Override
@@ -257,6 +325,70 @@ final class NonParcelRepository implements Repository<Parcels.ParcelableFactory>
         }
     }
 
+    private static class ShortParcelableFactory implements Parcels.ParcelableFactory<Short>{
+
+        @Override
+        public Parcelable buildParcelable(Short input) {
+            return new ShortParcelable(input);
+        }
+    }
+
+    private static class UUIDParcelableFactory implements Parcels.ParcelableFactory<UUID>{
+
+        @Override
+        public Parcelable buildParcelable(UUID input) {
+            return new UUIDParcelable(input);
+        }
+    }
+
+    private static class DateParcelableFactory implements Parcels.ParcelableFactory<Date>{
+
+        @Override
+        public Parcelable buildParcelable(Date input) {
+            return new DateParcelable(input);
+        }
+    }
+
+    private static class BigIntegerParcelableFactory implements Parcels.ParcelableFactory<BigInteger>{
+
+        @Override
+        public Parcelable buildParcelable(BigInteger input) {
+            return new BigIntegerParcelable(input);
+        }
+    }
+
+    private static class BigDecimalParcelableFactory implements Parcels.ParcelableFactory<BigDecimal>{
+
+        @Override
+        public Parcelable buildParcelable(BigDecimal input) {
+            return new BigDecimalParcelable(input);
+        }
+    }
+
+    private static class URIParcelableFactory implements Parcels.ParcelableFactory<URI>{
+
+        @Override
+        public Parcelable buildParcelable(URI input) {
+            return new URIParcelable(input);
+        }
+    }
+
+    private static class LocaleParcelableFactory implements Parcels.ParcelableFactory<Locale>{
+
+        @Override
+        public Parcelable buildParcelable(Locale input) {
+            return new LocaleParcelable(input);
+        }
+    }
+
+    private static class CurrencyParcelableFactory implements Parcels.ParcelableFactory<Currency>{
+
+        @Override
+        public Parcelable buildParcelable(Currency input) {
+            return new CurrencyParcelable(input);
+        }
+    }
+
     private static class StringParcelableFactory implements Parcels.ParcelableFactory<String>{
 
         @Override
@@ -947,269 +1079,1201 @@ final class NonParcelRepository implements Repository<Parcels.ParcelableFactory>
         }
     }
 
-    public static final class IBinderParcelable extends ConverterParcelable<IBinder> {
+    public static final class ShortParcelable extends ConverterParcelable<Short> {
 
-        private static final NullableParcelConverter<IBinder> CONVERTER = new NullableParcelConverter<IBinder>() {
+        private static final NullableParcelConverter<Short> CONVERTER = new NullableParcelConverter<Short>() {
 
             @Override
-            public IBinder nullSafeFromParcel(Parcel parcel) {
-                return parcel.readStrongBinder();
+            public Short nullSafeFromParcel(Parcel parcel) {
+                return (short) parcel.readInt();
             }
 
             @Override
-            public void nullSafeToParcel(IBinder input, Parcel parcel, int flags) {
-                parcel.writeStrongBinder(input);
+            public void nullSafeToParcel(Short input, Parcel parcel, int flags) {
+                parcel.writeInt(input);
             }
         };
 
-        public IBinderParcelable(Parcel parcel) {
+        public ShortParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public IBinderParcelable(IBinder value) {
+        public ShortParcelable(Short value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final IBinderParcelableCreator CREATOR = new IBinderParcelableCreator();
+        public static final ShortParcelableCreator CREATOR = new ShortParcelableCreator();
 
-        private static final class IBinderParcelableCreator implements Creator<IBinderParcelable> {
+        private static final class ShortParcelableCreator implements Creator<ShortParcelable> {
 
             @Override
-            public IBinderParcelable createFromParcel(android.os.Parcel parcel) {
-                return new IBinderParcelable(parcel);
+            public ShortParcelable createFromParcel(android.os.Parcel parcel) {
+                return new ShortParcelable(parcel);
             }
 
             @Override
-            public IBinderParcelable[] newArray(int size) {
-                return new IBinderParcelable[size];
+            public ShortParcelable[] newArray(int size) {
+                return new ShortParcelable[size];
             }
         }
     }
 
-    public static final class ByteArrayParcelable extends ConverterParcelable<byte[]> {
+    public static final class UUIDParcelable extends ConverterParcelable<UUID> {
 
-        private static final NullableParcelConverter<byte[]> CONVERTER = new NullableParcelConverter<byte[]>() {
+        private static final NullableParcelConverter<UUID> CONVERTER = new NullableParcelConverter<UUID>() {
 
             @Override
-            public byte[] nullSafeFromParcel(Parcel parcel) {
-                return parcel.createByteArray();
+            public UUID nullSafeFromParcel(Parcel parcel) {
+                return new UUID(parcel.readLong(), parcel.readLong());
             }
 
             @Override
-            public void nullSafeToParcel(byte[] input, Parcel parcel, int flags) {
-                parcel.writeByteArray(input);
+            public void nullSafeToParcel(UUID input, Parcel parcel, int flags) {
+                parcel.writeLong(input.getMostSignificantBits());
+                parcel.writeLong(input.getLeastSignificantBits());
             }
         };
 
-        public ByteArrayParcelable(Parcel parcel) {
+        public UUIDParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public ByteArrayParcelable(byte[] value) {
+        public UUIDParcelable(UUID value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final ByteArrayParcelableCreator CREATOR = new ByteArrayParcelableCreator();
+        public static final UUIDParcelableCreator CREATOR = new UUIDParcelableCreator();
 
-        private static final class ByteArrayParcelableCreator implements Creator<ByteArrayParcelable> {
+        private static final class UUIDParcelableCreator implements Creator<UUIDParcelable> {
 
             @Override
-            public ByteArrayParcelable createFromParcel(android.os.Parcel parcel) {
-                return new ByteArrayParcelable(parcel);
+            public UUIDParcelable createFromParcel(android.os.Parcel parcel) {
+                return new UUIDParcelable(parcel);
             }
 
             @Override
-            public ByteArrayParcelable[] newArray(int size) {
-                return new ByteArrayParcelable[size];
+            public UUIDParcelable[] newArray(int size) {
+                return new UUIDParcelable[size];
             }
         }
     }
 
-    public static final class BooleanArrayParcelable extends ConverterParcelable<boolean[]> {
+    public static final class DateParcelable extends ConverterParcelable<Date> {
 
-        private static final BooleanArrayParcelConverter CONVERTER = new BooleanArrayParcelConverter();
+        private static final NullableParcelConverter<Date> CONVERTER = new NullableParcelConverter<Date>() {
 
-        public BooleanArrayParcelable(Parcel parcel) {
+            @Override
+            public Date nullSafeFromParcel(Parcel parcel) {
+                if(parcel.readInt() == COMPACT) {
+                    return new Date(parcel.readLong());
+                }
+                return (Date) parcel.readSerializable();
+            }
+
+            @Override
+            public void nullSafeToParcel(Date input, Parcel parcel, int flags) {
+                if(input.getClass() == Date.class) {
+                    parcel.writeInt(COMPACT);
+                    parcel.writeLong(input.getTime());
+                }
+                else {
+                    parcel.writeInt(SERIALIZED);
+                    parcel.writeSerializable(input);
+                }
+            }
+        };
+
+        public DateParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public BooleanArrayParcelable(boolean[] value) {
+        public DateParcelable(Date value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final BooleanArrayParcelableCreator CREATOR = new BooleanArrayParcelableCreator();
+        public static final DateParcelableCreator CREATOR = new DateParcelableCreator();
 
-        private static final class BooleanArrayParcelableCreator implements Creator<BooleanArrayParcelable> {
+        private static final class DateParcelableCreator implements Creator<DateParcelable> {
 
             @Override
-            public BooleanArrayParcelable createFromParcel(android.os.Parcel parcel) {
-                return new BooleanArrayParcelable(parcel);
+            public DateParcelable createFromParcel(android.os.Parcel parcel) {
+                return new DateParcelable(parcel);
             }
 
             @Override
-            public BooleanArrayParcelable[] newArray(int size) {
-                return new BooleanArrayParcelable[size];
+            public DateParcelable[] newArray(int size) {
+                return new DateParcelable[size];
             }
         }
     }
 
-    public static final class BooleanParcelable extends ConverterParcelable<Boolean> {
+    public static final class BigIntegerParcelable extends ConverterParcelable<BigInteger> {
 
-        private static final NullableParcelConverter<Boolean> CONVERTER = new NullableParcelConverter<Boolean>() {
+        private static final NullableParcelConverter<BigInteger> CONVERTER = new NullableParcelConverter<BigInteger>() {
 
             @Override
-            public Boolean nullSafeFromParcel(Parcel parcel) {
-                return parcel.createBooleanArray()[0];
+            public BigInteger nullSafeFromParcel(Parcel parcel) {
+                if(parcel.readInt() == COMPACT) {
+                    return new BigInteger(parcel.createByteArray());
+                }
+                return (BigInteger) parcel.readSerializable();
             }
 
             @Override
-            public void nullSafeToParcel(Boolean input, Parcel parcel, int flags) {
-                parcel.writeBooleanArray(new boolean[]{input});
+            public void nullSafeToParcel(BigInteger input, Parcel parcel, int flags) {
+                if(input.getClass() == BigInteger.class) {
+                    parcel.writeInt(COMPACT);
+                    parcel.writeByteArray(input.toByteArray());
+                }
+                else {
+                    parcel.writeInt(SERIALIZED);
+                    parcel.writeSerializable(input);
+                }
             }
         };
 
-        public BooleanParcelable(Parcel parcel) {
+        public BigIntegerParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public BooleanParcelable(boolean value) {
+        public BigIntegerParcelable(BigInteger value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final BooleanParcelableCreator CREATOR = new BooleanParcelableCreator();
+        public static final BigIntegerParcelableCreator CREATOR = new BigIntegerParcelableCreator();
 
-        private static final class BooleanParcelableCreator implements Creator<BooleanParcelable> {
+        private static final class BigIntegerParcelableCreator implements Creator<BigIntegerParcelable> {
 
             @Override
-            public BooleanParcelable createFromParcel(android.os.Parcel parcel) {
-                return new BooleanParcelable(parcel);
+            public BigIntegerParcelable createFromParcel(android.os.Parcel parcel) {
+                return new BigIntegerParcelable(parcel);
             }
 
             @Override
-            public BooleanParcelable[] newArray(int size) {
-                return new BooleanParcelable[size];
+            public BigIntegerParcelable[] newArray(int size) {
+                return new BigIntegerParcelable[size];
             }
         }
     }
 
-    public static final class CharArrayParcelable extends ConverterParcelable<char[]> {
+    public static final class BigDecimalParcelable extends ConverterParcelable<BigDecimal> {
 
-        private static final CharArrayParcelConverter CONVERTER = new CharArrayParcelConverter();
+        private static final NullableParcelConverter<BigDecimal> CONVERTER = new NullableParcelConverter<BigDecimal>() {
 
-        public CharArrayParcelable(Parcel parcel) {
+            @Override
+            public BigDecimal nullSafeFromParcel(Parcel parcel) {
+                if(parcel.readInt() == COMPACT) {
+                    int scale = parcel.readInt();
+                    return new BigDecimal(new BigInteger(parcel.createByteArray()), scale);
+                }
+                return (BigDecimal) parcel.readSerializable();
+            }
+
+            @Override
+            public void nullSafeToParcel(BigDecimal input, Parcel parcel, int flags) {
+                if(input.getClass() == BigDecimal.class) {
+                    parcel.writeInt(COMPACT);
+                    parcel.writeInt(input.scale());
+                    parcel.writeByteArray(input.unscaledValue().toByteArray());
+                }
+                else {
+                    parcel.writeInt(SERIALIZED);
+                    parcel.writeSerializable(input);
+                }
+            }
+        };
+
+        public BigDecimalParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public CharArrayParcelable(char[] value) {
+        public BigDecimalParcelable(BigDecimal value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final CharArrayParcelableCreator CREATOR = new CharArrayParcelableCreator();
+        public static final BigDecimalParcelableCreator CREATOR = new BigDecimalParcelableCreator();
 
-        private static final class CharArrayParcelableCreator implements Creator<CharArrayParcelable> {
+        private static final class BigDecimalParcelableCreator implements Creator<BigDecimalParcelable> {
 
             @Override
-            public CharArrayParcelable createFromParcel(android.os.Parcel parcel) {
-                return new CharArrayParcelable(parcel);
+            public BigDecimalParcelable createFromParcel(android.os.Parcel parcel) {
+                return new BigDecimalParcelable(parcel);
             }
 
             @Override
-            public CharArrayParcelable[] newArray(int size) {
-                return new CharArrayParcelable[size];
+            public BigDecimalParcelable[] newArray(int size) {
+                return new BigDecimalParcelable[size];
             }
         }
     }
 
-    public static final class CharacterParcelable extends ConverterParcelable<Character> {
+    public static final class URIParcelable extends ConverterParcelable<URI> {
 
-        private static final NullableParcelConverter<Character> CONVERTER = new NullableParcelConverter<Character>() {
+        private static final NullableParcelConverter<URI> CONVERTER = new NullableParcelConverter<URI>() {
 
             @Override
-            public Character nullSafeFromParcel(Parcel parcel) {
-                return parcel.createCharArray()[0];
+            public URI nullSafeFromParcel(Parcel parcel) {
+                return URI.create(parcel.readString());
             }
 
             @Override
-            public void nullSafeToParcel(Character input, Parcel parcel, int flags) {
-                parcel.writeCharArray(new char[]{input});
+            public void nullSafeToParcel(URI input, Parcel parcel, int flags) {
+                parcel.writeString(input.toString());
             }
         };
 
-        public CharacterParcelable(Parcel parcel) {
+        public URIParcelable(Parcel parcel) {
             super(parcel, CONVERTER);
         }
 
-        public CharacterParcelable(Character value) {
+        public URIParcelable(URI value) {
             super(value, CONVERTER);
         }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final CharacterParcelableCreator CREATOR = new CharacterParcelableCreator();
+        public static final URIParcelableCreator CREATOR = new URIParcelableCreator();
 
-        private static final class CharacterParcelableCreator implements Creator<CharacterParcelable> {
+        private static final class URIParcelableCreator implements Creator<URIParcelable> {
 
             @Override
-            public CharacterParcelable createFromParcel(android.os.Parcel parcel) {
-                return new CharacterParcelable(parcel);
+            public URIParcelable createFromParcel(android.os.Parcel parcel) {
+                return new URIParcelable(parcel);
             }
 
             @Override
-            public CharacterParcelable[] newArray(int size) {
-                return new CharacterParcelable[size];
+            public URIParcelable[] newArray(int size) {
+                return new URIParcelable[size];
             }
         }
     }
 
-    public static final class StringParcelable implements Parcelable, ParcelWrapper<String> {
+    public static final class LocaleParcelable extends ConverterParcelable<Locale> {
 
-        private String contents;
+        private static final NullableParcelConverter<Locale> CONVERTER = new NullableParcelConverter<Locale>() {
+
+            @Override
+            public Locale nullSafeFromParcel(Parcel parcel) {
+                if(parcel.readInt() == COMPACT) {
+                    return new Locale(parcel.readString(), parcel.readString(), parcel.readString());
+                }
+                return (Locale) parcel.readSerializable();
+            }
+
+            @Override
+            public void nullSafeToParcel(Locale input, Parcel parcel, int flags) {
+                if(input.toString().indexOf('#') < 0) {
+                    parcel.writeInt(COMPACT);
+                    parcel.writeString(input.getLanguage());
+                    parcel.writeString(input.getCountry());
+                    parcel.writeString(input.getVariant());
+                }
+                else {
+                    parcel.writeInt(SERIALIZED);
+                    parcel.writeSerializable(input);
+                }
+            }
+        };
+
+        public LocaleParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public LocaleParcelable(Locale value) {
+            super(value, CONVERTER);
+        }
 
         @SuppressWarnings("UnusedDeclaration")
-        public static final StringParcelableCreator CREATOR = new StringParcelableCreator();
+        public static final LocaleParcelableCreator CREATOR = new LocaleParcelableCreator();
 
-        @SuppressWarnings("unchecked")
-        private StringParcelable(android.os.Parcel parcel) {
-            contents = parcel.readString();
+        private static final class LocaleParcelableCreator implements Creator<LocaleParcelable> {
+
+            @Override
+            public LocaleParcelable createFromParcel(android.os.Parcel parcel) {
+                return new LocaleParcelable(parcel);
+            }
+
+            @Override
+            public LocaleParcelable[] newArray(int size) {
+                return new LocaleParcelable[size];
+            }
         }
+    }
 
-        private StringParcelable(String contents) {
-            this.contents = contents;
+    public static final class CurrencyParcelable extends ConverterParcelable<Currency> {
+
+        private static final NullableParcelConverter<Currency> CONVERTER = new NullableParcelConverter<Currency>() {
+
+            @Override
+            public Currency nullSafeFromParcel(Parcel parcel) {
+                return Currency.getInstance(parcel.readString());
+            }
+
+            @Override
+            public void nullSafeToParcel(Currency input, Parcel parcel, int flags) {
+                parcel.writeString(input.getCurrencyCode());
+            }
+        };
+
+        public CurrencyParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
         }
 
-        @Override
-        public void writeToParcel(android.os.Parcel parcel, int flags) {
-            parcel.writeString(contents);
+        public CurrencyParcelable(Currency value) {
+            super(value, CONVERTER);
         }
 
-        @Override
-        public int describeContents() {
-            return 0;
+        @SuppressWarnings("UnusedDeclaration")
+        public static final CurrencyParcelableCreator CREATOR = new CurrencyParcelableCreator();
+
+        private static final class CurrencyParcelableCreator implements Creator<CurrencyParcelable> {
+
+            @Override
+            public CurrencyParcelable createFromParcel(android.os.Parcel parcel) {
+                return new CurrencyParcelable(parcel);
+            }
+
+            @Override
+            public CurrencyParcelable[] newArray(int size) {
+                return new CurrencyParcelable[size];
+            }
         }
+    }
 
-        @Override
-        public String getParcel() {
-            return contents;
+    public static final class IBinderParcelable extends ConverterParcelable<IBinder> {
+
+        private static final NullableParcelConverter<IBinder> CONVERTER = new NullableParcelConverter<IBinder>() {
+
+            @Override
+            public IBinder nullSafeFromParcel(Parcel parcel) {
+                return parcel.readStrongBinder();
+            }
+
+            @Override
+            public void nullSafeToParcel(IBinder input, Parcel parcel, int flags) {
+                parcel.writeStrongBinder(input);
+            }
+        };
+
+        public IBinderParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
         }
 
-        private static final class StringParcelableCreator implements Creator<StringParcelable> {
+        public IBinderParcelable(IBinder value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final IBinderParcelableCreator CREATOR = new IBinderParcelableCreator();
+
+        private static final class IBinderParcelableCreator implements Creator<IBinderParcelable> {
 
             @Override
-            public StringParcelable createFromParcel(android.os.Parcel parcel) {
-                return new StringParcelable(parcel);
+            public IBinderParcelable createFromParcel(android.os.Parcel parcel) {
+                return new IBinderParcelable(parcel);
             }
 
             @Override
-            public StringParcelable[] newArray(int size) {
-                return new StringParcelable[size];
+            public IBinderParcelable[] newArray(int size) {
+                return new IBinderParcelable[size];
             }
         }
     }
 
+    public static final class ByteArrayParcelable extends ConverterParcelable<byte[]> {
+
+        private static final NullableParcelConverter<byte[]> CONVERTER = new NullableParcelConverter<byte[]>() {
+
+            @Override
+            public byte[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createByteArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(byte[] input, Parcel parcel, int flags) {
+                parcel.writeByteArray(input);
+            }
+        };
+
+        public ByteArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public ByteArrayParcelable(byte[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final ByteArrayParcelableCreator CREATOR = new ByteArrayParcelableCreator();
+
+        private static final class ByteArrayParcelableCreator implements Creator<ByteArrayParcelable> {
+
+            @Override
+            public ByteArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new ByteArrayParcelable(parcel);
+            }
+
+            @Override
+            public ByteArrayParcelable[] newArray(int size) {
+                return new ByteArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class IntArrayParcelable extends ConverterParcelable<int[]> {
+
+        private static final NullableParcelConverter<int[]> CONVERTER = new NullableParcelConverter<int[]>() {
+
+            @Override
+            public int[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createIntArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(int[] input, Parcel parcel, int flags) {
+                parcel.writeIntArray(input);
+            }
+        };
+
+        public IntArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public IntArrayParcelable(int[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final IntArrayParcelableCreator CREATOR = new IntArrayParcelableCreator();
+
+        private static final class IntArrayParcelableCreator implements Creator<IntArrayParcelable> {
+
+            @Override
+            public IntArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new IntArrayParcelable(parcel);
+            }
+
+            @Override
+            public IntArrayParcelable[] newArray(int size) {
+                return new IntArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class LongArrayParcelable extends ConverterParcelable<long[]> {
+
+        private static final NullableParcelConverter<long[]> CONVERTER = new NullableParcelConverter<long[]>() {
+
+            @Override
+            public long[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createLongArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(long[] input, Parcel parcel, int flags) {
+                parcel.writeLongArray(input);
+            }
+        };
+
+        public LongArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public LongArrayParcelable(long[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final LongArrayParcelableCreator CREATOR = new LongArrayParcelableCreator();
+
+        private static final class LongArrayParcelableCreator implements Creator<LongArrayParcelable> {
+
+            @Override
+            public LongArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new LongArrayParcelable(parcel);
+            }
+
+            @Override
+            public LongArrayParcelable[] newArray(int size) {
+                return new LongArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class FloatArrayParcelable extends ConverterParcelable<float[]> {
+
+        private static final NullableParcelConverter<float[]> CONVERTER = new NullableParcelConverter<float[]>() {
+
+            @Override
+            public float[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createFloatArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(float[] input, Parcel parcel, int flags) {
+                parcel.writeFloatArray(input);
+            }
+        };
+
+        public FloatArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public FloatArrayParcelable(float[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final FloatArrayParcelableCreator CREATOR = new FloatArrayParcelableCreator();
+
+        private static final class FloatArrayParcelableCreator implements Creator<FloatArrayParcelable> {
+
+            @Override
+            public FloatArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new FloatArrayParcelable(parcel);
+            }
+
+            @Override
+            public FloatArrayParcelable[] newArray(int size) {
+                return new FloatArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class DoubleArrayParcelable extends ConverterParcelable<double[]> {
+
+        private static final NullableParcelConverter<double[]> CONVERTER = new NullableParcelConverter<double[]>() {
+
+            @Override
+            public double[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createDoubleArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(double[] input, Parcel parcel, int flags) {
+                parcel.writeDoubleArray(input);
+            }
+        };
+
+        public DoubleArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public DoubleArrayParcelable(double[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final DoubleArrayParcelableCreator CREATOR = new DoubleArrayParcelableCreator();
+
+        private static final class DoubleArrayParcelableCreator implements Creator<DoubleArrayParcelable> {
+
+            @Override
+            public DoubleArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new DoubleArrayParcelable(parcel);
+            }
+
+            @Override
+            public DoubleArrayParcelable[] newArray(int size) {
+                return new DoubleArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class ShortArrayParcelable extends ConverterParcelable<short[]> {
+
+        private static final ShortArrayParcelConverter CONVERTER = new ShortArrayParcelConverter();
+
+        public ShortArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public ShortArrayParcelable(short[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final ShortArrayParcelableCreator CREATOR = new ShortArrayParcelableCreator();
+
+        private static final class ShortArrayParcelableCreator implements Creator<ShortArrayParcelable> {
+
+            @Override
+            public ShortArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new ShortArrayParcelable(parcel);
+            }
+
+            @Override
+            public ShortArrayParcelable[] newArray(int size) {
+                return new ShortArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class StringArrayParcelable extends ConverterParcelable<String[]> {
+
+        private static final NullableParcelConverter<String[]> CONVERTER = new NullableParcelConverter<String[]>() {
+
+            @Override
+            public String[] nullSafeFromParcel(Parcel parcel) {
+                return parcel.createStringArray();
+            }
+
+            @Override
+            public void nullSafeToParcel(String[] input, Parcel parcel, int flags) {
+                parcel.writeStringArray(input);
+            }
+        };
+
+        public StringArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public StringArrayParcelable(String[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final StringArrayParcelableCreator CREATOR = new StringArrayParcelableCreator();
+
+        private static final class StringArrayParcelableCreator implements Creator<StringArrayParcelable> {
+
+            @Override
+            public StringArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new StringArrayParcelable(parcel);
+            }
+
+            @Override
+            public StringArrayParcelable[] newArray(int size) {
+                return new StringArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class BooleanArrayParcelable extends ConverterParcelable<boolean[]> {
+
+        private static final BooleanArrayParcelConverter CONVERTER = new BooleanArrayParcelConverter();
+
+        public BooleanArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public BooleanArrayParcelable(boolean[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final BooleanArrayParcelableCreator CREATOR = new BooleanArrayParcelableCreator();
+
+        private static final class BooleanArrayParcelableCreator implements Creator<BooleanArrayParcelable> {
+
+            @Override
+            public BooleanArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new BooleanArrayParcelable(parcel);
+            }
+
+            @Override
+            public BooleanArrayParcelable[] newArray(int size) {
+                return new BooleanArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class BooleanParcelable extends ConverterParcelable<Boolean> {
+
+        private static final NullableParcelConverter<Boolean> CONVERTER = new NullableParcelConverter<Boolean>() {
+
+            @Override
+            public Boolean nullSafeFromParcel(Parcel parcel) {
+                return parcel.createBooleanArray()[0];
+            }
+
+            @Override
+            public void nullSafeToParcel(Boolean input, Parcel parcel, int flags) {
+                parcel.writeBooleanArray(new boolean[]{input});
+            }
+        };
+
+        public BooleanParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public BooleanParcelable(boolean value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final BooleanParcelableCreator CREATOR = new BooleanParcelableCreator();
+
+        private static final class BooleanParcelableCreator implements Creator<BooleanParcelable> {
+
+            @Override
+            public BooleanParcelable createFromParcel(android.os.Parcel parcel) {
+                return new BooleanParcelable(parcel);
+            }
+
+            @Override
+            public BooleanParcelable[] newArray(int size) {
+                return new BooleanParcelable[size];
+            }
+        }
+    }
+
+    public static final class CharArrayParcelable extends ConverterParcelable<char[]> {
+
+        private static final CharArrayParcelConverter CONVERTER = new CharArrayParcelConverter();
+
+        public CharArrayParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public CharArrayParcelable(char[] value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final CharArrayParcelableCreator CREATOR = new CharArrayParcelableCreator();
+
+        private static final class CharArrayParcelableCreator implements Creator<CharArrayParcelable> {
+
+            @Override
+            public CharArrayParcelable createFromParcel(android.os.Parcel parcel) {
+                return new CharArrayParcelable(parcel);
+            }
+
+            @Override
+            public CharArrayParcelable[] newArray(int size) {
+                return new CharArrayParcelable[size];
+            }
+        }
+    }
+
+    public static final class CharacterParcelable extends ConverterParcelable<Character> {
+
+        private static final NullableParcelConverter<Character> CONVERTER = new NullableParcelConverter<Character>() {
+
+            @Override
+            public Character nullSafeFromParcel(Parcel parcel) {
+                return (char) parcel.readInt();
+            }
+
+            @Override
+            public void nullSafeToParcel(Character input, Parcel parcel, int flags) {
+                parcel.writeInt(input);
+            }
+        };
+
+        public CharacterParcelable(Parcel parcel) {
+            super(parcel, CONVERTER);
+        }
+
+        public CharacterParcelable(Character value) {
+            super(value, CONVERTER);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final CharacterParcelableCreator CREATOR = new CharacterParcelableCreator();
+
+        private static final class CharacterParcelableCreator implements Creator<CharacterParcelable> {
+
+            @Override
+            public CharacterParcelable createFromParcel(android.os.Parcel parcel) {
+                return new CharacterParcelable(parcel);
+            }
+
+            @Override
+            public CharacterParcelable[] newArray(int size) {
+                return new CharacterParcelable[size];
+            }
+        }
+    }
+
+    public static final class StringParcelable implements Parcelable, ParcelWrapper<String> {
+
+        private String contents;
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final StringParcelableCreator CREATOR = new StringParcelableCreator();
+
+        @SuppressWarnings("unchecked")
+        private StringParcelable(android.os.Parcel parcel) {
+            contents = parcel.readString();
+        }
+
+        private StringParcelable(String contents) {
+            this.contents = contents;
+        }
+
+        @Override
+        public void writeToParcel(android.os.Parcel parcel, int flags) {
+            parcel.writeString(contents);
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public String getParcel() {
+            return contents;
+        }
+
+        private static final class StringParcelableCreator implements Creator<StringParcelable> {
+
+            @Override
+            public StringParcelable createFromParcel(android.os.Parcel parcel) {
+                return new StringParcelable(parcel);
+            }
+
+            @Override
+            public StringParcelable[] newArray(int size) {
+                return new StringParcelable[size];
+            }
+        }
+    }
+
+    public static final class TypedListParcelable<T> extends TypedCollectionParcelable<T, List<T>> {
+
+        private TypedListParcelable(android.os.Parcel parcel) {
+            super(parcel);
+        }
+
+        @SuppressWarnings("unchecked")
+        TypedListParcelable(Class<T> itemType, Parcels.ParcelAccessor<T> accessor, Collection<? extends T> value) {
+            super(itemType, accessor, value instanceof List ? (List<T>) value : new ArrayList<T>(value));
+        }
+
+        @Override
+        protected List<T> createCollection(int size) {
+            return new ArrayList<T>(size);
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final TypedListParcelableCreator CREATOR = new TypedListParcelableCreator();
+
+        private static final class TypedListParcelableCreator implements Creator<TypedListParcelable> {
+
+            @Override
+            public TypedListParcelable createFromParcel(android.os.Parcel parcel) {
+                return new TypedListParcelable(parcel);
+            }
+
+            @Override
+            public TypedListParcelable[] newArray(int size) {
+                return new TypedListParcelable[size];
+            }
+        }
+    }
+
+    public static final class TypedSetParcelable<T> extends TypedCollectionParcelable<T, Set<T>> {
+
+        private TypedSetParcelable(android.os.Parcel parcel) {
+            super(parcel);
+        }
+
+        @SuppressWarnings("unchecked")
+        TypedSetParcelable(Class<T> itemType, Parcels.ParcelAccessor<T> accessor, Collection<? extends T> value) {
+            super(itemType, accessor, value instanceof Set ? (Set<T>) value : new HashSet<T>(value));
+        }
+
+        @Override
+        protected Set<T> createCollection(int size) {
+            return new HashSet<T>(MapsUtil.initialHashMapCapacity(size));
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final TypedSetParcelableCreator CREATOR = new TypedSetParcelableCreator();
+
+        private static final class TypedSetParcelableCreator implements Creator<TypedSetParcelable> {
+
+            @Override
+            public TypedSetParcelable createFromParcel(android.os.Parcel parcel) {
+                return new TypedSetParcelable(parcel);
+            }
+
+            @Override
+            public TypedSetParcelable[] newArray(int size) {
+                return new TypedSetParcelable[size];
+            }
+        }
+    }
+
+    /**
+     * Parcels a map with values of a single `@Parcel` type by writing the value type name once, followed by each key
+     * wrapped as with `MapParcelable` and each value written through the generated static `write()` method, sharing a
+     * single identity collection.
+     */
+    public static final class TypedMapParcelable<K, V> implements Parcelable, ParcelWrapper<Map<K, V>> {
+
+        private final Class<V> valueType;
+        private final Parcels.ParcelAccessor<V> accessor;
+        private final Map<K, V> value;
+
+        @SuppressWarnings("unchecked")
+        private TypedMapParcelable(android.os.Parcel parcel) {
+            this.valueType = (Class<V>) loadClass(parcel.readString());
+            this.accessor = Parcels.getAccessor(valueType);
+            int size = parcel.readInt();
+            IdentityCollection identityMap = new IdentityCollection();
+            Map<K, V> map = new HashMap<K, V>(MapsUtil.initialHashMapCapacity(size));
+            for (int i = 0; i < size; i++) {
+                K key = Parcels.unwrap(parcel.readParcelable(TypedMapParcelable.class.getClassLoader()));
+                map.put(key, accessor.read(parcel, identityMap));
+            }
+            this.value = map;
+        }
+
+        @SuppressWarnings("unchecked")
+        TypedMapParcelable(Class<V> valueType, Parcels.ParcelAccessor<V> accessor, Map<K, ? extends V> value) {
+            this.valueType = valueType;
+            this.accessor = accessor;
+            this.value = (Map<K, V>) value;
+        }
+
+        @Override
+        public void writeToParcel(android.os.Parcel parcel, int flags) {
+            parcel.writeString(valueType.getName());
+            parcel.writeInt(value.size());
+            IdentityCollection identityMap = new IdentityCollection();
+            for (Map.Entry<K, V> entry : value.entrySet()) {
+                parcel.writeParcelable(Parcels.wrap(entry.getKey()), flags);
+                accessor.write(entry.getValue(), parcel, flags, identityMap);
+            }
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public Map<K, V> getParcel() {
+            return value;
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final TypedMapParcelableCreator CREATOR = new TypedMapParcelableCreator();
+
+        private static final class TypedMapParcelableCreator implements Creator<TypedMapParcelable> {
+
+            @Override
+            public TypedMapParcelable createFromParcel(android.os.Parcel parcel) {
+                return new TypedMapParcelable(parcel);
+            }
+
+            @Override
+            public TypedMapParcelable[] newArray(int size) {
+                return new TypedMapParcelable[size];
+            }
+        }
+    }
+
+    /**
+     * Parcels a collection of a single `@Parcel` type by writing the item type name once, followed by each item
+     * written through the generated static `write()` method, sharing a single identity collection.
+     */
+    private abstract static class TypedCollectionParcelable<T, C extends Collection<T>> implements Parcelable, ParcelWrapper<C> {
+
+        private final Class<T> itemType;
+        private final Parcels.ParcelAccessor<T> accessor;
+        private final C value;
+
+        @SuppressWarnings("unchecked")
+        private TypedCollectionParcelable(android.os.Parcel parcel) {
+            this.itemType = (Class<T>) loadClass(parcel.readString());
+            this.accessor = Parcels.getAccessor(itemType);
+            int size = parcel.readInt();
+            IdentityCollection identityMap = new IdentityCollection();
+            C collection = createCollection(size);
+            for (int i = 0; i < size; i++) {
+                collection.add(accessor.read(parcel, identityMap));
+            }
+            this.value = collection;
+        }
+
+        private TypedCollectionParcelable(Class<T> itemType, Parcels.ParcelAccessor<T> accessor, C value) {
+            this.itemType = itemType;
+            this.accessor = accessor;
+            this.value = value;
+        }
+
+        protected abstract C createCollection(int size);
+
+        @Override
+        public void writeToParcel(android.os.Parcel parcel, int flags) {
+            parcel.writeString(itemType.getName());
+            parcel.writeInt(value.size());
+            IdentityCollection identityMap = new IdentityCollection();
+            for (T item : value) {
+                accessor.write(item, parcel, flags, identityMap);
+            }
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public C getParcel() {
+            return value;
+        }
+    }
+
+    public static final class SnapshotParcelable<T> implements Parcelable, ParcelWrapper<T> {
+
+        private final Class<T> type;
+        private final byte[] data;
+        private T value;
+        private boolean decoded;
+
+        @SuppressWarnings("unchecked")
+        private SnapshotParcelable(android.os.Parcel parcel) {
+            this.type = (Class<T>) loadClass(parcel.readString());
+            this.data = parcel.createByteArray();
+        }
+
+        SnapshotParcelable(Class<T> type, Parcels.ParcelAccessor<T> accessor, T value) {
+            this.type = type;
+            this.value = value;
+            this.decoded = true;
+            android.os.Parcel snapshot = android.os.Parcel.obtain();
+            try {
+                accessor.write(value, snapshot, 0, new IdentityCollection());
+                this.data = snapshot.marshall();
+            } finally {
+                snapshot.recycle();
+            }
+        }
+
+        @Override
+        public void writeToParcel(android.os.Parcel parcel, int flags) {
+            parcel.writeString(type.getName());
+            parcel.writeByteArray(data);
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        /**
+         * Returns the snapshot input, or once unparceled, decodes the snapshot on the first call.
+         */
+        @Override
+        public synchronized T getParcel() {
+            if(!decoded) {
+                android.os.Parcel snapshot = android.os.Parcel.obtain();
+                try {
+                    snapshot.unmarshall(data, 0, data.length);
+                    snapshot.setDataPosition(0);
+                    value = Parcels.read(snapshot, type);
+                    decoded = true;
+                } finally {
+                    snapshot.recycle();
+                }
+            }
+            return value;
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final SnapshotParcelableCreator CREATOR = new SnapshotParcelableCreator();
+
+        private static final class SnapshotParcelableCreator implements Creator<SnapshotParcelable> {
+
+            @Override
+            public SnapshotParcelable createFromParcel(android.os.Parcel parcel) {
+                return new SnapshotParcelable(parcel);
+            }
+
+            @Override
+            public SnapshotParcelable[] newArray(int size) {
+                return new SnapshotParcelable[size];
+            }
+        }
+    }
+
+    public static final class LazyParcelable<T> implements Parcelable, ParcelWrapper<T> {
+
+        private final Class<T> type;
+        private final Parcels.ParcelAccessor<T> accessor;
+        private T value;
+        private android.os.Parcel frame;
+
+        @SuppressWarnings("unchecked")
+        private LazyParcelable(android.os.Parcel parcel) {
+            this.type = (Class<T>) loadClass(parcel.readString());
+            this.accessor = null;
+            this.frame = ParcelFrames.copy(parcel);
+        }
+
+        LazyParcelable(Class<T> type, Parcels.ParcelAccessor<T> accessor, T value) {
+            this.type = type;
+            this.accessor = accessor;
+            this.value = value;
+        }
+
+        @Override
+        public synchronized void writeToParcel(android.os.Parcel parcel, int flags) {
+            parcel.writeString(type.getName());
+            if(frame != null) {
+                ParcelFrames.append(parcel, frame);
+            }
+            else {
+                int start = ParcelFrames.begin(parcel);
+                Parcels.ParcelAccessor<T> writer = accessor != null ? accessor : Parcels.getAccessor(type);
+                writer.write(value, parcel, flags, new IdentityCollection());
+                ParcelFrames.end(parcel, start);
+            }
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        /**
+         * Decodes the copied frame on first access, then releases it.
+         */
+        @Override
+        public synchronized T getParcel() {
+            if(frame != null) {
+                value = Parcels.getAccessor(type).read(frame, new IdentityCollection());
+                frame.recycle();
+                frame = null;
+            }
+            return value;
+        }
+
+        @SuppressWarnings("UnusedDeclaration")
+        public static final LazyParcelableCreator CREATOR = new LazyParcelableCreator();
+
+        private static final class LazyParcelableCreator implements Creator<LazyParcelable> {
+
+            @Override
+            public LazyParcelable createFromParcel(android.os.Parcel parcel) {
+                return new LazyParcelable(parcel);
+            }
+
+            @Override
+            public LazyParcelable[] newArray(int size) {
+                return new LazyParcelable[size];
+            }
+        }
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, true, NonParcelRepository.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new ParcelerRuntimeException("Unable to find class " + name, e);
+        }
+    }
+
     private static class ConverterParcelable<T> implements Parcelable, ParcelWrapper<T> {
 
         private final T value;
@@ -99,6 +99,37 @@ public @interface Parcel {
      */
     int describeContents() default 0;
 
+    /**
+     * Serialize this class as a tree, skipping the identity tracking used to preserve shared references and cycles.
+     * The generated `write()` and `read()` methods drop the `IdentityCollection` parameter and write nothing in place of the
+     * identity id, the null state of a tree property is recorded in the null bitmap of the referencing class instead.
+     * Only use this for classes whose instances are never shared or cyclic within a single wrap, as shared instances will be
+     * duplicated and cycles will not terminate.
+     * This may also be enabled for all classes generated in the same compilation with the `parcelerTreeMode` processor
+     * option.
+     */
+    boolean tree() default false;
+
+    /**
+     * Deduplicate the Strings of this class by value, writing a back-reference for each String already written in the
+     * same wrap and handing out a single `String` instance for each on read.
+     * This trades an additional int for each distinct String for the savings on repeated Strings, so it is best suited
+     * to classes carrying a small set of recurring values, such as names, codes or Map keys.
+     * The table is shared through the identity tracking, so it does not apply to classes serialized as a tree.
+     * This may also be enabled for all classes with the `parcelerStringTable` processor option.
+     */
+    boolean stringTable() default false;
+
+    /**
+     * Defer decoding of this class until it is unwrapped.
+     * The generated `Parcelable` frames its content with a length, so that `createFromParcel()` only copies the framed
+     * bytes and `getParcel()` decodes them on first access.  A wrapper that is parceled again before being unwrapped
+     * copies its frame unchanged.
+     * This applies to the generated `Parcelable` itself, instances nested in other `@Parcel` classes are always decoded
+     * with their parent.  Individual wraps may be made lazy with `Parcels.wrapLazy()`.
+     */
+    boolean lazy() default false;
+
     enum Serialization {
         /**
          * Read and write fields directly.
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+/**
+ * Serializes an `@Parcel` class to a `ParcelSink` and back from a `ParcelSource`, implemented by the `$$Codec` classes
+ * generated with the `parcelerCodec` annotation processor option.
+ *
+ * @author John Ericksen
+ */
+public interface ParcelCodec<T> {
+
+    String ENCODE = "encode";
+    String DECODE = "decode";
+
+    /**
+     * Writes the given input, which may be null, to the sink.
+     *
+     * @param input input to write
+     * @param sink destination
+     */
+    void encode(T input, ParcelSink sink);
+
+    /**
+     * Reads an instance written by `encode()` from the source.
+     *
+     * @param source source
+     * @return instance read
+     */
+    T decode(ParcelSource source);
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serializes `@Parcel` classes to and from byte arrays through the `$$Codec` classes generated with the
+ * `parcelerCodec` annotation processor option.  Unlike `Parcels`, this class does not reference any Android classes,
+ * so it may be used on a plain JVM.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelCodecs {
+
+    public static final String CODEC_EXT = "Codec";
+
+    private static final ConcurrentMap<Class, ParcelCodec> CODECS = new ConcurrentHashMap<Class, ParcelCodec>();
+
+    private ParcelCodecs() {
+        // private utility class constructor
+    }
+
+    /**
+     * Serializes the input `@Parcel` annotated class into a byte array.
+     *
+     * @throws ParcelerRuntimeException if the input is null or there was an error looking up the generated Codec class.
+     * @param input Parcel
+     * @return serialized bytes
+     */
+    public static <T> byte[] toByteArray(T input) {
+        if(input == null){
+            throw new ParcelerRuntimeException("Unable to determine the type of a null input, specify the type to serialize.");
+        }
+        return toByteArray(input.getClass(), input);
+    }
+
+    /**
+     * Serializes the given input, which may be null, into a byte array.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Codec class.
+     * @param inputType specific type to serialize
+     * @param input Parcel
+     * @return serialized bytes
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> byte[] toByteArray(Class<? extends T> inputType, T input) {
+        ByteBufferParcel parcel = ByteBufferParcel.allocate();
+        ((ParcelCodec<T>) getCodec(inputType)).encode(input, parcel);
+        return parcel.toByteArray();
+    }
+
+    /**
+     * Deserializes an `@Parcel` annotated class written by `toByteArray()`.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Codec class.
+     * @param data serialized bytes
+     * @param type type serialized
+     * @return instance read
+     */
+    public static <T> T fromByteArray(byte[] data, Class<T> type) {
+        return getCodec(type).decode(ByteBufferParcel.wrap(data));
+    }
+
+    /**
+     * Looks up the generated `ParcelCodec` of the given `@Parcel` annotated type.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Codec class.
+     * @param type `@Parcel` annotated type
+     * @return shared codec instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ParcelCodec<T> getCodec(Class<T> type) {
+        ParcelCodec<T> result = CODECS.get(type);
+        if (result == null) {
+            ParcelCodec<T> value = findCodec(type);
+            result = CODECS.putIfAbsent(type, value);
+            if (result == null) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ParcelCodec<T> findCodec(Class<T> type) {
+        String codecName = type.getName() + "$$" + CODEC_EXT;
+        try {
+            return (ParcelCodec<T>) Class.forName(codecName, true, type.getClassLoader()).newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new ParcelerRuntimeException(
+                    "Unable to find generated Codec class for " + type.getName() +
+                    ", verify that your class is annotated with @Parcel, that the parcelerCodec annotation processor " +
+                    "option is set and that the Codec class " + codecName + " is generated by Parceler.", e);
+        } catch (InstantiationException e) {
+            throw new ParcelerRuntimeException("Unable to create Codec " + codecName, e);
+        } catch (IllegalAccessException e) {
+            throw new ParcelerRuntimeException("Unable to create Codec " + codecName, e);
+        }
+    }
+}
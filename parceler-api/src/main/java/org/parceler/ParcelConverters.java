@@ -0,0 +1,35 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Registers the given converters for every property of their converted type, including collection and array
+ * components, across all `@Parcel` classes processed in the same compilation.  A `@ParcelPropertyConverter` declared
+ * on an individual property still takes precedence.
+ *
+ * @author John Ericksen
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface ParcelConverters {
+    Class<? extends TypeRangeParcelConverter>[] value();
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import android.os.Parcel;
+
+/**
+ * Length prefixed frames within a Parcel, used by lazy wrappers to copy their serialized range on read without decoding
+ * it.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelFrames {
+
+    public static final String BEGIN_METHOD = "begin";
+    public static final String END_METHOD = "end";
+    public static final String COPY_METHOD = "copy";
+    public static final String APPEND_METHOD = "append";
+
+    private ParcelFrames() {
+        //
+    }
+
+    /**
+     * Starts a frame by writing a placeholder length.
+     *
+     * @param parcel destination parcel
+     * @return start position of the frame content, to be given to `end()`
+     */
+    public static int begin(Parcel parcel) {
+        parcel.writeInt(0);
+        return parcel.dataPosition();
+    }
+
+    /**
+     * Ends the frame started at the given position by replacing its placeholder length.
+     *
+     * @param parcel destination parcel
+     * @param start position returned by `begin()`
+     */
+    public static void end(Parcel parcel, int start) {
+        int end = parcel.dataPosition();
+        parcel.setDataPosition(start - 4);
+        parcel.writeInt(end - start);
+        parcel.setDataPosition(end);
+    }
+
+    /**
+     * Copies the frame at the current position into a new Parcel positioned at its start, and skips the source past it.
+     * The caller is responsible for recycling the returned Parcel.
+     *
+     * @param parcel source parcel
+     * @return Parcel holding only the frame content
+     */
+    public static Parcel copy(Parcel parcel) {
+        int length = parcel.readInt();
+        int start = parcel.dataPosition();
+        Parcel frame = Parcel.obtain();
+        frame.appendFrom(parcel, start, length);
+        frame.setDataPosition(0);
+        parcel.setDataPosition(start + length);
+        return frame;
+    }
+
+    /**
+     * Writes a frame previously copied by `copy()` without decoding it.
+     *
+     * @param parcel destination parcel
+     * @param frame frame content
+     */
+    public static void append(Parcel parcel, Parcel frame) {
+        int length = frame.dataSize();
+        parcel.writeInt(length);
+        parcel.appendFrom(frame, 0, length);
+    }
+}
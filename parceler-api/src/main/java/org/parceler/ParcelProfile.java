@@ -0,0 +1,344 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import android.os.Parcel;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-property payload sizes recorded by classes generated with the `parcelerProfile` annotation processor option.
+ * Generated code brackets each property write with `enter()` and `exit()`, and each wrapper `writeToParcel()` with
+ * `begin()` and `end()`.  Sizes are accumulated into a histogram per class and property, and the bytes of each wrap are
+ * attributed to property paths such as `Order.items[].product.description` for the threshold listener.
+ *
+ * Profiling is a debugging aid; it adds a thread local lookup and map updates to every property written.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelProfile {
+
+    public static final String BEGIN_METHOD = "begin";
+    public static final String END_METHOD = "end";
+    public static final String ENTER_METHOD = "enter";
+    public static final String EXIT_METHOD = "exit";
+    public static final String COLLECTION_SUFFIX = "[]";
+
+    private static final int TOP_PATHS = 5;
+    private static final int NOT_ROOT = -1;
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, PropertyStats>> STATS = new ConcurrentHashMap<String, ConcurrentMap<String, PropertyStats>>();
+    private static final ThreadLocal<WriteStack> STACK = new ThreadLocal<WriteStack>() {
+        @Override
+        protected WriteStack initialValue() {
+            return new WriteStack();
+        }
+    };
+    private static volatile int threshold = Integer.MAX_VALUE;
+    private static volatile ThresholdListener listener;
+
+    private ParcelProfile() {
+        //
+    }
+
+    /**
+     * Notified when a single wrap writes more than the configured threshold.
+     */
+    public interface ThresholdListener {
+
+        /**
+         * @param type wrapped type
+         * @param bytes bytes written by the wrap
+         * @param topPaths property paths contributing the most bytes, largest first
+         */
+        void onThresholdExceeded(String type, int bytes, List<PathSize> topPaths);
+    }
+
+    /**
+     * Bytes written by a property path within a single wrap, excluding the bytes of nested properties.
+     */
+    public static final class PathSize {
+        private final String path;
+        private final int bytes;
+
+        public PathSize(String path, int bytes) {
+            this.path = path;
+            this.bytes = bytes;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return path + "=" + bytes;
+        }
+    }
+
+    /**
+     * Histogram of the sizes written for a single property, including the bytes of nested properties.  Bucket `i`
+     * counts writes of less than `2^i` bytes and at least `2^(i-1)`.
+     */
+    public static final class PropertyStats {
+        private long count;
+        private long total;
+        private int max;
+        private final long[] buckets = new long[Integer.SIZE + 1];
+
+        private synchronized void add(int bytes) {
+            count++;
+            total += bytes;
+            max = Math.max(max, bytes);
+            buckets[Integer.SIZE - Integer.numberOfLeadingZeros(bytes)]++;
+        }
+
+        private synchronized PropertyStats copy() {
+            PropertyStats copy = new PropertyStats();
+            copy.count = count;
+            copy.total = total;
+            copy.max = max;
+            System.arraycopy(buckets, 0, copy.buckets, 0, buckets.length);
+            return copy;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+    }
+
+    /**
+     * Starts a wrap.  Wraps nested within another wrap are attributed to the enclosing property instead.
+     *
+     * @param parcel destination parcel
+     * @param type wrapped type
+     * @return start position to be given to `end()`
+     */
+    public static int begin(Parcel parcel, String type) {
+        return begin(parcel.dataPosition(), type);
+    }
+
+    static int begin(int position, String type) {
+        WriteStack stack = STACK.get();
+        if(!stack.isEmpty()) {
+            return NOT_ROOT;
+        }
+        stack.push(type, null, simpleName(type));
+        stack.pathSizes = new HashMap<String, Integer>();
+        return position;
+    }
+
+    /**
+     * Ends the wrap started at the given position, notifying the threshold listener if the wrap was too large.
+     *
+     * @param parcel destination parcel
+     * @param start position returned by `begin()`
+     */
+    public static void end(Parcel parcel, int start) {
+        end(parcel.dataPosition(), start);
+    }
+
+    static void end(int position, int start) {
+        if(start == NOT_ROOT) {
+            return;
+        }
+        WriteStack stack = STACK.get();
+        Frame root = stack.pop();
+        Map<String, Integer> pathSizes = stack.pathSizes;
+        stack.pathSizes = null;
+
+        int bytes = position - start;
+        ThresholdListener current = listener;
+        if(current != null && bytes > threshold) {
+            //bytes outside any property, such as identities and the null bitmap, belong to the type itself
+            addPathSize(pathSizes, root.path, bytes - root.childBytes);
+            current.onThresholdExceeded(root.type, bytes, topPaths(pathSizes));
+        }
+    }
+
+    /**
+     * Starts writing a property.
+     *
+     * @param parcel destination parcel
+     * @param type declaring type
+     * @param property property name, suffixed with `[]` for collections
+     * @return start position to be given to `exit()`
+     */
+    public static int enter(Parcel parcel, String type, String property) {
+        return enter(parcel.dataPosition(), type, property);
+    }
+
+    static int enter(int position, String type, String property) {
+        WriteStack stack = STACK.get();
+        String parentPath = stack.isEmpty() ? simpleName(type) : stack.peek().path;
+        stack.push(type, property, parentPath + "." + property);
+        return position;
+    }
+
+    /**
+     * Ends the property started at the given position, recording its size.
+     *
+     * @param parcel destination parcel
+     * @param start position returned by `enter()`
+     */
+    public static void exit(Parcel parcel, int start) {
+        exit(parcel.dataPosition(), start);
+    }
+
+    static void exit(int position, int start) {
+        WriteStack stack = STACK.get();
+        Frame frame = stack.pop();
+        int bytes = position - start;
+
+        getStats(frame.type, frame.property).add(bytes);
+
+        if(!stack.isEmpty()) {
+            stack.peek().childBytes += bytes;
+        }
+        if(stack.pathSizes != null) {
+            addPathSize(stack.pathSizes, frame.path, bytes - frame.childBytes);
+        }
+    }
+
+    /**
+     * @return a copy of the recorded histograms, keyed by type name and then property name
+     */
+    public static Map<String, Map<String, PropertyStats>> getStats() {
+        Map<String, Map<String, PropertyStats>> copy = new TreeMap<String, Map<String, PropertyStats>>();
+        for (Map.Entry<String, ConcurrentMap<String, PropertyStats>> typeEntry : STATS.entrySet()) {
+            Map<String, PropertyStats> properties = new TreeMap<String, PropertyStats>();
+            for (Map.Entry<String, PropertyStats> propertyEntry : typeEntry.getValue().entrySet()) {
+                properties.put(propertyEntry.getKey(), propertyEntry.getValue().copy());
+            }
+            copy.put(typeEntry.getKey(), properties);
+        }
+        return copy;
+    }
+
+    /**
+     * Clears the recorded histograms.
+     */
+    public static void reset() {
+        STATS.clear();
+    }
+
+    /**
+     * Registers a listener notified when a single wrap writes more than the given number of bytes, replacing any
+     * previous listener.  A null listener disables notification.
+     *
+     * @param bytes threshold in bytes
+     * @param thresholdListener listener
+     */
+    public static void setThreshold(int bytes, ThresholdListener thresholdListener) {
+        threshold = bytes;
+        listener = thresholdListener;
+    }
+
+    private static PropertyStats getStats(String type, String property) {
+        ConcurrentMap<String, PropertyStats> properties = STATS.get(type);
+        if(properties == null) {
+            properties = new ConcurrentHashMap<String, PropertyStats>();
+            ConcurrentMap<String, PropertyStats> existing = STATS.putIfAbsent(type, properties);
+            if(existing != null) {
+                properties = existing;
+            }
+        }
+        PropertyStats stats = properties.get(property);
+        if(stats == null) {
+            stats = new PropertyStats();
+            PropertyStats existing = properties.putIfAbsent(property, stats);
+            if(existing != null) {
+                stats = existing;
+            }
+        }
+        return stats;
+    }
+
+    private static void addPathSize(Map<String, Integer> pathSizes, String path, int bytes) {
+        Integer current = pathSizes.get(path);
+        pathSizes.put(path, current == null ? bytes : current + bytes);
+    }
+
+    private static List<PathSize> topPaths(Map<String, Integer> pathSizes) {
+        List<PathSize> paths = new ArrayList<PathSize>();
+        for (Map.Entry<String, Integer> entry : pathSizes.entrySet()) {
+            paths.add(new PathSize(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(paths, new Comparator<PathSize>() {
+            @Override
+            public int compare(PathSize first, PathSize second) {
+                return second.bytes < first.bytes ? -1 : (second.bytes == first.bytes ? 0 : 1);
+            }
+        });
+        return paths.size() > TOP_PATHS ? new ArrayList<PathSize>(paths.subList(0, TOP_PATHS)) : paths;
+    }
+
+    private static String simpleName(String type) {
+        return type.substring(Math.max(type.lastIndexOf('.'), type.lastIndexOf('$')) + 1);
+    }
+
+    private static final class Frame {
+        private final String type;
+        private final String property;
+        private final String path;
+        private int childBytes;
+
+        private Frame(String type, String property, String path) {
+            this.type = type;
+            this.property = property;
+            this.path = path;
+        }
+    }
+
+    private static final class WriteStack {
+        private final ArrayList<Frame> frames = new ArrayList<Frame>();
+        private Map<String, Integer> pathSizes;
+
+        private boolean isEmpty() {
+            return frames.isEmpty();
+        }
+
+        private void push(String type, String property, String path) {
+            frames.add(new Frame(type, property, path));
+        }
+
+        private Frame peek() {
+            return frames.get(frames.size() - 1);
+        }
+
+        private Frame pop() {
+            return frames.remove(frames.size() - 1);
+        }
+    }
+}
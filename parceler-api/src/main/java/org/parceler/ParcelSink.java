@@ -0,0 +1,59 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.io.Serializable;
+
+/**
+ * Destination of the values written by a generated `$$Codec`, offering the subset of the `android.os.Parcel` write
+ * methods used by the generated code so that `@Parcel` classes may be serialized without Android.
+ *
+ * @author John Ericksen
+ */
+public interface ParcelSink {
+
+    int dataPosition();
+
+    void writeInt(int value);
+
+    void writeLong(long value);
+
+    void writeFloat(float value);
+
+    void writeDouble(double value);
+
+    void writeByte(byte value);
+
+    void writeString(String value);
+
+    void writeByteArray(byte[] value);
+
+    void writeCharArray(char[] value);
+
+    void writeBooleanArray(boolean[] value);
+
+    void writeIntArray(int[] value);
+
+    void writeLongArray(long[] value);
+
+    void writeFloatArray(float[] value);
+
+    void writeDoubleArray(double[] value);
+
+    void writeStringArray(String[] value);
+
+    void writeSerializable(Serializable value);
+}
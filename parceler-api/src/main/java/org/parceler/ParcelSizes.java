@@ -0,0 +1,67 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+/**
+ * Encoded sizes of Parcel values, used by the generated `sizeOf()` methods to compute the number of bytes a `@Parcel`
+ * will occupy without writing it.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelSizes {
+
+    public static final String OF_STRING_METHOD = "ofString";
+
+    public static final int INT = 4;
+    public static final int LONG = 8;
+
+    private ParcelSizes() {
+        //
+    }
+
+    /**
+     * Size of `writeString()`: the length prefix followed by the UTF-16 characters and terminator, padded to 4 bytes.
+     *
+     * @param value string, may be null
+     * @return size in bytes
+     */
+    public static int ofString(String value) {
+        if(value == null) {
+            return INT;
+        }
+        return INT + pad((value.length() + 1) * 2);
+    }
+
+    /**
+     * Size of a string written through the string table of the given identity collection.  Strings written for the
+     * first time are added to the table, as the writer would.
+     *
+     * @param value string, may be null
+     * @param identityMap identities written so far
+     * @return size in bytes
+     */
+    public static int ofString(String value, IdentityCollection identityMap) {
+        if(identityMap.getStringKey(value) != -1) {
+            return INT;
+        }
+        identityMap.putString(value);
+        return INT + ofString(value);
+    }
+
+    private static int pad(int size) {
+        return (size + 3) & ~3;
+    }
+}
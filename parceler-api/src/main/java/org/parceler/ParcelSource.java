@@ -0,0 +1,59 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.io.Serializable;
+
+/**
+ * Source of the values read by a generated `$$Codec`, offering the subset of the `android.os.Parcel` read methods used
+ * by the generated code so that `@Parcel` classes may be deserialized without Android.
+ *
+ * @author John Ericksen
+ */
+public interface ParcelSource {
+
+    int dataPosition();
+
+    int readInt();
+
+    long readLong();
+
+    float readFloat();
+
+    double readDouble();
+
+    byte readByte();
+
+    String readString();
+
+    byte[] createByteArray();
+
+    char[] createCharArray();
+
+    boolean[] createBooleanArray();
+
+    int[] createIntArray();
+
+    long[] createLongArray();
+
+    float[] createFloatArray();
+
+    double[] createDoubleArray();
+
+    String[] createStringArray();
+
+    Serializable readSerializable();
+}
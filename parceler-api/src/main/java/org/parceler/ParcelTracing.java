@@ -0,0 +1,105 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import android.os.Parcel;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Brackets the generated `writeToParcel()` and `createFromParcel()` methods with sections of the current
+ * `ParcelerTracer`, when generated with the `parcelerTrace` annotation processor option.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelTracing {
+
+    public static final String BEGIN_METHOD = "begin";
+    public static final String END_METHOD = "end";
+    public static final String WRITE = "write";
+    public static final String READ = "read";
+
+    private static final ParcelerTracer NONE = new ParcelerTracer() {
+        @Override
+        public void begin(String type, String operation) {
+            //noop
+        }
+
+        @Override
+        public void end(int bytes) {
+            //noop
+        }
+    };
+
+    private static volatile ParcelerTracer tracer = loadTracer();
+
+    private ParcelTracing() {
+        //
+    }
+
+    /**
+     * Begins a section for the given type.
+     *
+     * @param parcel parcel about to be written or read
+     * @param type name of the parceled type
+     * @param operation `WRITE` or `READ`
+     * @return start position to be given to `end()`
+     */
+    public static int begin(Parcel parcel, String type, String operation) {
+        tracer.begin(type, operation);
+        return parcel.dataPosition();
+    }
+
+    /**
+     * Ends the section begun at the given position.
+     *
+     * @param parcel parcel written or read
+     * @param start position returned by `begin()`
+     */
+    public static void end(Parcel parcel, int start) {
+        tracer.end(parcel.dataPosition() - start);
+    }
+
+    /**
+     * Replaces the current tracer.  Sections begun by the previous tracer should be ended before replacing it.
+     *
+     * @param parcelerTracer tracer, or null to stop tracing
+     */
+    public static void setTracer(ParcelerTracer parcelerTracer) {
+        tracer = parcelerTracer == null ? NONE : parcelerTracer;
+    }
+
+    public static ParcelerTracer getTracer() {
+        return tracer;
+    }
+
+    private static ParcelerTracer loadTracer() {
+        try {
+            Iterator<ParcelerTracer> iterator = ServiceLoader.load(ParcelerTracer.class, ParcelTracing.class.getClassLoader()).iterator();
+            if(iterator.hasNext()) {
+                return iterator.next();
+            }
+        } catch (ServiceConfigurationError e) {
+            //fall back to the platform tracer
+        }
+        if(AndroidParcelerTracer.isAvailable()) {
+            return new AndroidParcelerTracer();
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+/**
+ * Listener notified of each `Parcelable` written or read by a generated `Parcelable` class, registered with
+ * `Parcels.setStats()`.  No timing or measurement is done while no listener is registered.
+ *
+ * Implementations are called on the parceling thread, often the main thread, and must be thread safe and cheap.
+ * `ParcelerStatsRecorder` is a lock-free implementation aggregating counts, bytes and latency per type.
+ *
+ * @author John Ericksen
+ */
+public interface ParcelerStats {
+
+    /**
+     * Called after a generated `Parcelable` has been written.
+     *
+     * @param type wrapped type
+     * @param bytes bytes written
+     * @param nanos elapsed time in nanoseconds
+     * @param instances number of distinct instances written, 0 for tree serialized and lazy types
+     */
+    void onWrite(Class<?> type, int bytes, long nanos, int instances);
+
+    /**
+     * Called after a generated `Parcelable` has been read.
+     *
+     * @param type wrapped type
+     * @param bytes bytes read
+     * @param nanos elapsed time in nanoseconds
+     * @param instances number of distinct instances read, 0 for tree serialized and lazy types
+     */
+    void onRead(Class<?> type, int bytes, long nanos, int instances);
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free `ParcelerStats` aggregating the count, bytes, instances and latency of writes and reads per type.
+ *
+ * Counters are striped across cache line separated cells selected by thread, so concurrent parceling on many threads
+ * does not contend on a single counter.  Latencies are recorded in power of two nanosecond buckets.  `snapshot()`
+ * sums the cells into a consistent-enough view for reporting; it does not stop concurrent updates.
+ *
+ * @author John Ericksen
+ */
+public class ParcelerStatsRecorder implements ParcelerStats {
+
+    public static final int LATENCY_BUCKETS = Long.SIZE + 1;
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    // 8 longs apart places each stripe on its own 64 byte cache line
+    private static final int STRIDE = 8;
+
+    private final ConcurrentMap<Class<?>, TypeStats> types = new ConcurrentHashMap<Class<?>, TypeStats>();
+
+    @Override
+    public void onWrite(Class<?> type, int bytes, long nanos, int instances) {
+        getTypeStats(type).writes.add(bytes, nanos, instances);
+    }
+
+    @Override
+    public void onRead(Class<?> type, int bytes, long nanos, int instances) {
+        getTypeStats(type).reads.add(bytes, nanos, instances);
+    }
+
+    /**
+     * @return the totals recorded so far, keyed by type name
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<String, Snapshot>();
+        for (Map.Entry<Class<?>, TypeStats> entry : types.entrySet()) {
+            snapshot.put(entry.getKey().getName(), new Snapshot(entry.getValue().writes.snapshot(), entry.getValue().reads.snapshot()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Exports the totals recorded so far as comma separated lines of
+     * `type,operation,count,bytes,nanos,instances,p50Nanos,p99Nanos`.
+     *
+     * @return exported totals
+     */
+    public String export() {
+        StringBuilder builder = new StringBuilder("type,operation,count,bytes,nanos,instances,p50Nanos,p99Nanos\n");
+        for (Map.Entry<String, Snapshot> entry : snapshot().entrySet()) {
+            export(builder, entry.getKey(), "write", entry.getValue().getWrites());
+            export(builder, entry.getKey(), "read", entry.getValue().getReads());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Clears the recorded totals.
+     */
+    public void reset() {
+        types.clear();
+    }
+
+    private static void export(StringBuilder builder, String type, String operation, Totals totals) {
+        if(totals.getCount() > 0) {
+            builder.append(type).append(',').append(operation).append(',')
+                    .append(totals.getCount()).append(',')
+                    .append(totals.getBytes()).append(',')
+                    .append(totals.getNanos()).append(',')
+                    .append(totals.getInstances()).append(',')
+                    .append(totals.getLatencyPercentile(0.5)).append(',')
+                    .append(totals.getLatencyPercentile(0.99)).append('\n');
+        }
+    }
+
+    private TypeStats getTypeStats(Class<?> type) {
+        TypeStats stats = types.get(type);
+        if(stats == null) {
+            stats = new TypeStats();
+            TypeStats existing = types.putIfAbsent(type, stats);
+            if(existing != null) {
+                stats = existing;
+            }
+        }
+        return stats;
+    }
+
+    private static int stripes(int processors) {
+        int stripes = 1;
+        while(stripes < processors * 2 && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * Write and read totals of a single type.
+     */
+    public static final class Snapshot {
+        private final Totals writes;
+        private final Totals reads;
+
+        private Snapshot(Totals writes, Totals reads) {
+            this.writes = writes;
+            this.reads = reads;
+        }
+
+        public Totals getWrites() {
+            return writes;
+        }
+
+        public Totals getReads() {
+            return reads;
+        }
+    }
+
+    /**
+     * Totals of a single operation.  Latency bucket `i` counts samples of less than `2^i` nanoseconds and at least
+     * `2^(i-1)`.
+     */
+    public static final class Totals {
+        private final long count;
+        private final long bytes;
+        private final long nanos;
+        private final long instances;
+        private final long[] latencyBuckets;
+
+        private Totals(long count, long bytes, long nanos, long instances, long[] latencyBuckets) {
+            this.count = count;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.instances = instances;
+            this.latencyBuckets = latencyBuckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getInstances() {
+            return instances;
+        }
+
+        public long[] getLatencyBuckets() {
+            return latencyBuckets.clone();
+        }
+
+        /**
+         * @param percentile fraction between 0 and 1
+         * @return upper bound in nanoseconds of the latency bucket holding the given percentile, 0 if empty
+         */
+        public long getLatencyPercentile(double percentile) {
+            long total = 0;
+            for (long bucket : latencyBuckets) {
+                total += bucket;
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < latencyBuckets.length; i++) {
+                seen += latencyBuckets[i];
+                if(seen >= target && seen > 0) {
+                    return i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class TypeStats {
+        private final OperationStats writes = new OperationStats();
+        private final OperationStats reads = new OperationStats();
+    }
+
+    private static final class OperationStats {
+        private final StripedCounter count = new StripedCounter();
+        private final StripedCounter bytes = new StripedCounter();
+        private final StripedCounter nanos = new StripedCounter();
+        private final StripedCounter instances = new StripedCounter();
+        private final AtomicLongArray latencyBuckets = new AtomicLongArray(LATENCY_BUCKETS);
+
+        private void add(int byteCount, long elapsed, int instanceCount) {
+            count.add(1);
+            bytes.add(byteCount);
+            nanos.add(elapsed);
+            instances.add(instanceCount);
+            latencyBuckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(elapsed, 0)));
+        }
+
+        private Totals snapshot() {
+            long[] buckets = new long[LATENCY_BUCKETS];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = latencyBuckets.get(i);
+            }
+            return new Totals(count.sum(), bytes.sum(), nanos.sum(), instances.sum(), buckets);
+        }
+    }
+
+    private static final class StripedCounter {
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIDE);
+
+        private void add(long value) {
+            int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.addAndGet(stripe * STRIDE, value);
+        }
+
+        private long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * STRIDE);
+            }
+            return sum;
+        }
+    }
+}
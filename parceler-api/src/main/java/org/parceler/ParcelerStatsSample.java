@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import android.os.Parcel;
+
+/**
+ * Measures a single write or read on behalf of a generated `Parcelable` class and reports it to the registered
+ * `ParcelerStats`.  `begin()` returns null while no listener is registered, leaving only a null check in generated code.
+ *
+ * @author John Ericksen
+ */
+public final class ParcelerStatsSample {
+
+    public static final String BEGIN_METHOD = "begin";
+    public static final String END_WRITE_METHOD = "endWrite";
+    public static final String END_READ_METHOD = "endRead";
+
+    private final ParcelerStats stats;
+    private final int position;
+    private final long start;
+
+    private ParcelerStatsSample(ParcelerStats stats, int position, long start) {
+        this.stats = stats;
+        this.position = position;
+        this.start = start;
+    }
+
+    /**
+     * Starts a sample at the current position of the given parcel.
+     *
+     * @param parcel parcel about to be written or read
+     * @return sample, or null if no `ParcelerStats` is registered
+     */
+    public static ParcelerStatsSample begin(Parcel parcel) {
+        ParcelerStats stats = Parcels.getStats();
+        if(stats == null) {
+            return null;
+        }
+        return new ParcelerStatsSample(stats, parcel.dataPosition(), System.nanoTime());
+    }
+
+    /**
+     * Reports a completed write.
+     *
+     * @param type wrapped type
+     * @param parcel parcel written
+     * @param identityMap identities written, null if not tracked
+     */
+    public void endWrite(Class<?> type, Parcel parcel, IdentityCollection identityMap) {
+        long nanos = System.nanoTime() - start;
+        stats.onWrite(type, parcel.dataPosition() - position, nanos, instances(identityMap));
+    }
+
+    /**
+     * Reports a completed read.
+     *
+     * @param type wrapped type
+     * @param parcel parcel read
+     * @param identityMap identities read, null if not tracked
+     */
+    public void endRead(Class<?> type, Parcel parcel, IdentityCollection identityMap) {
+        long nanos = System.nanoTime() - start;
+        stats.onRead(type, parcel.dataPosition() - position, nanos, instances(identityMap));
+    }
+
+    private static int instances(IdentityCollection identityMap) {
+        //the first id is reserved for null
+        return identityMap == null ? 0 : identityMap.size() - 1;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+/**
+ * Receives the sections traced by classes generated with the `parcelerTrace` annotation processor option, one section
+ * per `writeToParcel()` or `createFromParcel()`.  Sections nest, and are always ended on the thread that began them.
+ *
+ * The tracer in use is set by `ParcelTracing.setTracer()`, or else loaded as a `java.util.ServiceLoader` service.
+ * Without either, `AndroidParcelerTracer` is used on Android.  The `parceler-jfr` artifact registers a JDK Flight
+ * Recorder tracer as such a service.
+ *
+ * @author John Ericksen
+ */
+public interface ParcelerTracer {
+
+    /**
+     * Begins a section.
+     *
+     * @param type name of the parceled type
+     * @param operation `ParcelTracing.WRITE` or `ParcelTracing.READ`
+     */
+    void begin(String type, String operation);
+
+    /**
+     * Ends the most recently begun section.
+     *
+     * @param bytes bytes written or read within the section
+     */
+    void end(int bytes);
+}
@@ -19,8 +19,22 @@ import android.os.Parcelable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * Static utility class used to wrap an `@Parcel` annotated class with the generated `Parcelable` wrapper.
@@ -33,7 +47,10 @@ public final class Parcels {
 
     private static final ParcelCodeRepository REPOSITORY = new ParcelCodeRepository();
 
+    private static volatile ParcelerStats stats;
+
     static{
+        REPOSITORY.loadGeneratedRepositories();
         REPOSITORY.loadRepository(NonParcelRepository.getInstance());
     }
 
@@ -74,6 +91,262 @@ public final class Parcels {
         return parcelableFactory.buildParcelable(input);
     }
 
+    /**
+     * Wraps the input collection of `@Parcel` annotated items with a `Parcelable` wrapper.  The item type is written
+     * once, followed by each item parceled directly by the item's generated `Parcelable` class.  The resulting
+     * `Parcelable` may be unwrapped with `unwrap()`, which returns an `ArrayList` or a `HashSet` once unparceled.
+     *
+     * @throws ParcelerRuntimeException if the collection type is not a List or Set, or if there was an error looking up
+     * the generated Parcelable class of the item type.  Writing the returned `Parcelable` throws if an item is null and
+     * the item type is serialized as a tree.
+     * @param collectionType List or Set collection type
+     * @param itemType `@Parcel` annotated type of every item
+     * @param input collection of items
+     * @return Parcelable wrapper
+     */
+    public static <T> Parcelable wrap(Class<? extends Collection> collectionType, Class<T> itemType, Collection<? extends T> input) {
+        if(input == null){
+            return null;
+        }
+        ParcelAccessor<T> accessor = getAccessor(itemType);
+
+        if(Set.class.isAssignableFrom(collectionType)){
+            return new NonParcelRepository.TypedSetParcelable<T>(itemType, accessor, input);
+        }
+        if(List.class.isAssignableFrom(collectionType) || Collection.class.equals(collectionType)){
+            return new NonParcelRepository.TypedListParcelable<T>(itemType, accessor, input);
+        }
+        throw new ParcelerRuntimeException("Unable to wrap typed collection " + collectionType.getName() + ", only List and Set are supported.");
+    }
+
+    /**
+     * Wraps the input map of `@Parcel` annotated values with a `Parcelable` wrapper.  The value type is written once,
+     * followed by each key wrapped as with `wrap()` and each value parceled directly by the value's generated
+     * `Parcelable` class.  The resulting `Parcelable` may be unwrapped with `unwrap()`, which returns a `HashMap` once
+     * unparceled.
+     *
+     * @throws ParcelerRuntimeException if the map type is not a Map or HashMap, or if there was an error looking up the
+     * generated Parcelable class of the value type.
+     * @param mapType Map or HashMap map type
+     * @param valueType `@Parcel` annotated type of every value
+     * @param input map of keys to values
+     * @return Parcelable wrapper
+     */
+    public static <K, V> Parcelable wrap(Class<? extends Map> mapType, Class<V> valueType, Map<K, ? extends V> input) {
+        if(input == null){
+            return null;
+        }
+        if(!mapType.isAssignableFrom(HashMap.class)){
+            throw new ParcelerRuntimeException("Unable to wrap typed map " + mapType.getName() + ", only Map and HashMap are supported.");
+        }
+        return new NonParcelRepository.TypedMapParcelable<K, V>(valueType, getAccessor(valueType), input);
+    }
+
+    /**
+     * Writes the input `@Parcel` annotated class directly to the given parcel, without a `Parcelable` wrapper or the
+     * wrapper class name.  The written instance must be read back with `read()` using the same type.
+     *
+     * @throws ParcelerRuntimeException if the input is null or there was an error looking up the generated Parcelable class.
+     * @param parcel destination parcel
+     * @param input Parcel
+     */
+    public static <T> void write(android.os.Parcel parcel, T input) {
+        if(input == null){
+            throw new ParcelerRuntimeException("Unable to determine the type of a null input, specify the type to write.");
+        }
+        write(parcel, input.getClass(), input);
+    }
+
+    /**
+     * Writes the input `@Parcel` annotated class directly to the given parcel, without a `Parcelable` wrapper or the
+     * wrapper class name.  The written instance, which may be null unless the type is serialized as a tree, must be read
+     * back with `read()` using the same type.
+     *
+     * @throws ParcelerRuntimeException if the input is null and the type is serialized as a tree, or if there was an
+     * error looking up the generated Parcelable class.
+     * @param parcel destination parcel
+     * @param inputType specific type to parcel
+     * @param input Parcel
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void write(android.os.Parcel parcel, Class<? extends T> inputType, T input) {
+        REPOSITORY.getAccessor(inputType).write(input, parcel, 0, new IdentityCollection());
+    }
+
+    /**
+     * Reads an `@Parcel` annotated class written by `write()` directly from the given parcel.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Parcelable class.
+     * @param parcel source parcel
+     * @param type type written
+     * @return Parcel read
+     */
+    public static <T> T read(android.os.Parcel parcel, Class<T> type) {
+        return getAccessor(type).read(parcel, new IdentityCollection());
+    }
+
+    /**
+     * Computes the number of bytes `write()` would add to a parcel for the given `@Parcel` annotated input, without
+     * writing it.  This may be used to presize a parcel with `setDataCapacity()` or to check a payload against the
+     * Binder transaction limit before sending it.  `wrap()` additionally writes the wrapper class name.
+     *
+     * @throws ParcelerRuntimeException if the input is null or there was an error looking up the generated Parcelable class.
+     * @param input Parcel
+     * @return size in bytes
+     */
+    public static <T> int sizeOf(T input) {
+        if(input == null){
+            throw new ParcelerRuntimeException("Unable to determine the type of a null input, specify the type to measure.");
+        }
+        return sizeOf(input.getClass(), input);
+    }
+
+    /**
+     * Computes the number of bytes `write()` would add to a parcel for the given input, which may be null unless the type
+     * is serialized as a tree.
+     *
+     * @throws ParcelerRuntimeException if the input is null and the type is serialized as a tree, or if there was an
+     * error looking up the generated Parcelable class.
+     * @param inputType specific type to measure
+     * @param input Parcel
+     * @return size in bytes
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> int sizeOf(Class<? extends T> inputType, T input) {
+        return REPOSITORY.getAccessor(inputType).sizeOf(input, new IdentityCollection());
+    }
+
+    /**
+     * Serializes the input `@Parcel` annotated class into a byte array through its generated `$$Codec`, available when
+     * built with the `parcelerCodec` annotation processor option.  Off of Android, use `ParcelCodecs` directly.
+     *
+     * @throws ParcelerRuntimeException if the input is null or there was an error looking up the generated Codec class.
+     * @param input Parcel
+     * @return serialized bytes
+     */
+    public static <T> byte[] toByteArray(T input) {
+        return ParcelCodecs.toByteArray(input);
+    }
+
+    /**
+     * Deserializes an `@Parcel` annotated class written by `toByteArray()`.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Codec class.
+     * @param data serialized bytes
+     * @param type type serialized
+     * @return instance read
+     */
+    public static <T> T fromByteArray(byte[] data, Class<T> type) {
+        return ParcelCodecs.fromByteArray(data, type);
+    }
+
+    /**
+     * Returns the per-property write sizes recorded by classes generated with the `parcelerProfile` annotation
+     * processor option, keyed by type name and then property name.
+     *
+     * @return copy of the recorded histograms
+     */
+    public static Map<String, Map<String, ParcelProfile.PropertyStats>> getProfile() {
+        return ParcelProfile.getStats();
+    }
+
+    /**
+     * Registers a listener notified with the largest contributing property paths when a single wrap of a class
+     * generated with the `parcelerProfile` annotation processor option writes more than the given number of bytes.
+     *
+     * @param bytes threshold in bytes
+     * @param listener listener, or null to stop notifying
+     */
+    public static void setProfileThreshold(int bytes, ParcelProfile.ThresholdListener listener) {
+        ParcelProfile.setThreshold(bytes, listener);
+    }
+
+    /**
+     * Registers the listener notified of each `Parcelable` written or read by a generated `Parcelable` class,
+     * replacing any previous listener.  Statistics are off by default.
+     *
+     * @param parcelerStats listener, or null to stop collecting statistics
+     */
+    public static void setStats(ParcelerStats parcelerStats) {
+        stats = parcelerStats;
+    }
+
+    /**
+     * @return the registered statistics listener, null if none is registered
+     */
+    public static ParcelerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Serializes the input `@Parcel` annotated class into a snapshot on the calling thread.  Writing the returned
+     * `Parcelable` copies the serialized bytes in bulk rather than walking the object graph, and the unparceled snapshot
+     * is only decoded when first unwrapped.  Unwrapping the returned `Parcelable` directly returns the input, which may
+     * since have changed, rather than the snapshot.
+     *
+     * Snapshots are flattened to bytes, so they cannot contain `IBinder` or file descriptor values.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Parcelable class.
+     * @param input Parcel
+     * @return Parcelable snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Parcelable snapshot(T input) {
+        if(input == null){
+            return null;
+        }
+        Class<T> inputType = (Class<T>) input.getClass();
+        return new NonParcelRepository.SnapshotParcelable<T>(inputType, getAccessor(inputType), input);
+    }
+
+    /**
+     * Serializes the input `@Parcel` annotated class into a snapshot on the given executor, moving the cost of
+     * walking the object graph off of the calling thread.
+     *
+     * @see #snapshot(Object)
+     * @param executor executor to serialize on
+     * @param input Parcel
+     * @return Future Parcelable snapshot
+     */
+    public static <T> Future<Parcelable> snapshot(Executor executor, final T input) {
+        FutureTask<Parcelable> task = new FutureTask<Parcelable>(new Callable<Parcelable>() {
+            @Override
+            public Parcelable call() {
+                return snapshot(input);
+            }
+        });
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Looks up the `ParcelAccessor` of the given `@Parcel` annotated type.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Parcelable class.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ParcelAccessor<T> getAccessor(Class<T> type) {
+        return REPOSITORY.getAccessor(type);
+    }
+
+    /**
+     * Wraps the input `@Parcel` annotated class with a `Parcelable` wrapper that defers decoding until unwrapped.  On
+     * read only the serialized bytes are copied, and they are decoded on the first `unwrap()`.  A lazy wrapper parceled
+     * again before being unwrapped copies its bytes unchanged.
+     *
+     * @throws ParcelerRuntimeException if there was an error looking up the generated Parcelable class.
+     * @param input Parcel
+     * @return lazy Parcelable wrapper
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Parcelable wrapLazy(T input) {
+        if(input == null){
+            return null;
+        }
+        Class<T> inputType = (Class<T>) input.getClass();
+        return new NonParcelRepository.LazyParcelable<T>(inputType, getAccessor(inputType), input);
+    }
+
     /**
      * Unwraps the input wrapped `@Parcel` `Parcelable`
      *
@@ -107,6 +380,125 @@ public final class Parcels {
         Parcelable buildParcelable(T input);
     }
 
+    /**
+     * Direct access to the static `write()`, `read()` and `sizeOf()` methods of a generated `Parcelable` class, parceling
+     * the `@Parcel` without building a `Parcelable` wrapper.
+     */
+    public interface ParcelAccessor<T> {
+
+        String WRITE = "write";
+        String READ = "read";
+        String SIZE_OF = "sizeOf";
+
+        /**
+         * Writes the given input to the parcel.  Tree mode types ignore the identity collection.
+         *
+         * @param input input to write
+         * @param parcel destination parcel
+         * @param flags Parcelable flags
+         * @param identityMap identities written so far
+         */
+        void write(T input, android.os.Parcel parcel, int flags, IdentityCollection identityMap);
+
+        /**
+         * Reads an instance written by `write()` from the parcel.
+         *
+         * @param parcel source parcel
+         * @param identityMap identities read so far
+         * @return instance read
+         */
+        T read(android.os.Parcel parcel, IdentityCollection identityMap);
+
+        /**
+         * Computes the number of bytes `write()` would add to a parcel for the given input.
+         *
+         * @param input input to measure
+         * @param identityMap identities measured so far
+         * @return size in bytes
+         */
+        int sizeOf(T input, IdentityCollection identityMap);
+    }
+
+    private static final class ParcelAccessorReflectionProxy<T> implements ParcelAccessor<T> {
+
+        private final Method writeMethod;
+        private final Method readMethod;
+        private final Method sizeOfMethod;
+        private final boolean tree;
+
+        private ParcelAccessorReflectionProxy(Method writeMethod, Method readMethod, Method sizeOfMethod, boolean tree) {
+            this.writeMethod = writeMethod;
+            this.readMethod = readMethod;
+            this.sizeOfMethod = sizeOfMethod;
+            this.tree = tree;
+        }
+
+        public static ParcelAccessorReflectionProxy find(Class<?> parcelWrapperClass) {
+            Method writeMethod = findStatic(parcelWrapperClass, WRITE, 4);
+            Method readMethod = findStatic(parcelWrapperClass, READ, 2);
+            Method sizeOfMethod = findStatic(parcelWrapperClass, SIZE_OF, 2);
+            if(writeMethod != null && readMethod != null){
+                return new ParcelAccessorReflectionProxy(writeMethod, readMethod, sizeOfMethod, false);
+            }
+            // tree mode omits the identity collection
+            writeMethod = findStatic(parcelWrapperClass, WRITE, 3);
+            readMethod = findStatic(parcelWrapperClass, READ, 1);
+            if(writeMethod != null && readMethod != null){
+                return new ParcelAccessorReflectionProxy(writeMethod, readMethod, sizeOfMethod, true);
+            }
+            return null;
+        }
+
+        private static Method findStatic(Class<?> parcelWrapperClass, String name, int parameterCount) {
+            for (Method method : parcelWrapperClass.getMethods()) {
+                if(Modifier.isStatic(method.getModifiers()) && method.getName().equals(name) && method.getParameterTypes().length == parameterCount){
+                    return method;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void write(T input, android.os.Parcel parcel, int flags, IdentityCollection identityMap) {
+            if(tree){
+                invoke(writeMethod, input, parcel, flags);
+            }
+            else{
+                invoke(writeMethod, input, parcel, flags, identityMap);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T read(android.os.Parcel parcel, IdentityCollection identityMap) {
+            if(tree){
+                return (T) invoke(readMethod, parcel);
+            }
+            return (T) invoke(readMethod, parcel, identityMap);
+        }
+
+        @Override
+        public int sizeOf(T input, IdentityCollection identityMap) {
+            if(sizeOfMethod == null){
+                throw new ParcelerRuntimeException("Unable to find generated sizeOf method, rebuild with the current Parceler version.");
+            }
+            return (Integer) invoke(sizeOfMethod, input, identityMap);
+        }
+
+        private static Object invoke(Method method, Object... args) {
+            try {
+                return method.invoke(null, args);
+            } catch (IllegalAccessException e) {
+                throw new ParcelerRuntimeException("Unable to access generated Parcelable method " + method.getName(), e);
+            } catch (InvocationTargetException e) {
+                if(e.getCause() instanceof RuntimeException){
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new ParcelerRuntimeException("Unable to invoke generated Parcelable method " + method.getName(), e);
+            }
+        }
+    }
+
     private static final class ParcelableFactoryReflectionProxy<T> implements ParcelableFactory<T> {
 
         private final Constructor<? extends Parcelable> constructor;
@@ -136,6 +528,7 @@ public final class Parcels {
     private static final class ParcelCodeRepository {
 
         private ConcurrentMap<Class, ParcelableFactory> generatedMap = new ConcurrentHashMap<Class, ParcelableFactory>();
+        private ConcurrentMap<Class, ParcelAccessor> accessorMap = new ConcurrentHashMap<Class, ParcelAccessor>();
 
         public ParcelableFactory get(Class clazz){
             ParcelableFactory result = generatedMap.get(clazz);
@@ -162,6 +555,40 @@ public final class Parcels {
             return result;
         }
 
+        /**
+         * Looks up the `ParcelAccessor` of the given type, preferring the generated `ParcelableFactory` and falling
+         * back to the static methods of the generated Parcelable class.
+         */
+        public ParcelAccessor getAccessor(Class clazz){
+            ParcelAccessor result = accessorMap.get(clazz);
+            if (result == null) {
+                ParcelableFactory factory = get(clazz);
+                ParcelAccessor value = factory instanceof ParcelAccessor ? (ParcelAccessor) factory : findAccessor(clazz);
+
+                if(value == null){
+                    throw new ParcelerRuntimeException(
+                                    "Unable to find generated read and write methods for " + clazz.getName() +
+                                    ", verify that your class is annotated with @Parcel and that the Parcelable class " +
+                                    buildParcelableImplName(clazz) +
+                                    " is generated by Parceler.");
+                }
+                result = accessorMap.putIfAbsent(clazz, value);
+                if (result == null) {
+                    result = value;
+                }
+            }
+
+            return result;
+        }
+
+        private static ParcelAccessor findAccessor(Class clazz){
+            try {
+                return ParcelAccessorReflectionProxy.find(Class.forName(buildParcelableImplName(clazz)));
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
         private static String buildParcelableImplName(Class clazz){
             return clazz.getName() + "$$" + IMPL_EXT;
         }
@@ -179,5 +606,30 @@ public final class Parcels {
         public void loadRepository(Repository<ParcelableFactory> repository){
             generatedMap.putAll(repository.get());
         }
+
+        /**
+         * Loads the `ParcelableFactory` repositories generated by Parceler, listed in the
+         * `META-INF/services/org.parceler.Repository` index.  Types missing from these repositories fall back to the
+         * reflective lookup.
+         */
+        @SuppressWarnings("unchecked")
+        public void loadGeneratedRepositories(){
+            Iterator<Repository> repositories = ServiceLoader.load(Repository.class, Parcels.class.getClassLoader()).iterator();
+            while(hasNext(repositories)){
+                try {
+                    loadRepository(repositories.next());
+                } catch (ServiceConfigurationError e) {
+                    // unable to load the listed repository (stripped or renamed), skip it.
+                }
+            }
+        }
+
+        private static boolean hasNext(Iterator<?> iterator){
+            try {
+                return iterator.hasNext();
+            } catch (ServiceConfigurationError e) {
+                return false;
+            }
+        }
     }
 }
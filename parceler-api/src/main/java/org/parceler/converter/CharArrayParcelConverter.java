@@ -24,28 +24,13 @@ import org.parceler.ParcelConverter;
  */
 public class CharArrayParcelConverter implements ParcelConverter<char[]> {
 
-    private static final int NULL = -1;
-
     @Override
     public void toParcel(char[] array, Parcel parcel, int flags) {
-        if (array == null) {
-            parcel.writeInt(NULL);
-        } else {
-            parcel.writeInt(array.length);
-            parcel.writeCharArray(array);
-        }
+        parcel.writeCharArray(array);
     }
 
     @Override
     public char[] fromParcel(Parcel parcel) {
-        char[] array;
-        int size = parcel.readInt();
-        if (size == NULL) {
-            array = null;
-        } else {
-            array = new char[size];
-            parcel.readCharArray(array);
-        }
-        return array;
+        return parcel.createCharArray();
     }
-}
\ No newline at end of file
+}
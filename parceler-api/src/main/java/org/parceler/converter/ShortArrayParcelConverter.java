@@ -0,0 +1,65 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.converter;
+
+import android.os.Parcel;
+import org.parceler.ParcelConverter;
+
+/**
+ * Writes a short[] as its length followed by the values packed two per int, halving the payload of writing each
+ * value individually.
+ *
+ * @author John Ericksen
+ */
+public class ShortArrayParcelConverter implements ParcelConverter<short[]> {
+
+    private static final int NULL = -1;
+
+    @Override
+    public void toParcel(short[] array, Parcel parcel, int flags) {
+        if (array == null) {
+            parcel.writeInt(NULL);
+        } else {
+            parcel.writeInt(array.length);
+            for (int i = 0; i < array.length; i += 2) {
+                int packed = array[i] & 0xFFFF;
+                if (i + 1 < array.length) {
+                    packed |= array[i + 1] << 16;
+                }
+                parcel.writeInt(packed);
+            }
+        }
+    }
+
+    @Override
+    public short[] fromParcel(Parcel parcel) {
+        short[] array;
+        int size = parcel.readInt();
+        if (size == NULL) {
+            array = null;
+        } else {
+            array = new short[size];
+            for (int i = 0; i < size; i += 2) {
+                int packed = parcel.readInt();
+                array[i] = (short) packed;
+                if (i + 1 < size) {
+                    array[i + 1] = (short) (packed >> 16);
+                }
+            }
+        }
+        return array;
+    }
+}
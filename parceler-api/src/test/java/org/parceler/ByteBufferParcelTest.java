@@ -0,0 +1,130 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class ByteBufferParcelTest {
+
+    @Test
+    public void testPrimitiveRoundTrip() {
+        ByteBufferParcel parcel = ByteBufferParcel.allocate(4);
+
+        parcel.writeInt(42);
+        parcel.writeLong(Long.MAX_VALUE);
+        parcel.writeFloat(1.5f);
+        parcel.writeDouble(Math.PI);
+        parcel.writeByte((byte) -1);
+
+        ByteBufferParcel read = ByteBufferParcel.wrap(parcel.toByteArray());
+
+        assertEquals(42, read.readInt());
+        assertEquals(Long.MAX_VALUE, read.readLong());
+        assertEquals(1.5f, read.readFloat(), 0);
+        assertEquals(Math.PI, read.readDouble(), 0);
+        assertEquals((byte) -1, read.readByte());
+        assertEquals(parcel.dataPosition(), read.dataPosition());
+    }
+
+    @Test
+    public void testStringRoundTrip() {
+        ByteBufferParcel parcel = ByteBufferParcel.allocate();
+
+        parcel.writeString("test");
+        parcel.writeString(null);
+        parcel.writeString("");
+        parcel.writeString("\u00e9\u4e2d\ud83d\ude00");
+
+        ByteBufferParcel read = ByteBufferParcel.wrap(parcel.toByteArray());
+
+        assertEquals("test", read.readString());
+        assertNull(read.readString());
+        assertEquals("", read.readString());
+        assertEquals("\u00e9\u4e2d\ud83d\ude00", read.readString());
+    }
+
+    @Test
+    public void testArrayRoundTrip() {
+        ByteBufferParcel parcel = ByteBufferParcel.allocateDirect(8);
+
+        parcel.writeByteArray(new byte[]{1, 2, 3});
+        parcel.writeCharArray(new char[]{'a', 'b'});
+        parcel.writeBooleanArray(new boolean[]{true, false});
+        parcel.writeIntArray(new int[]{1, 2});
+        parcel.writeLongArray(new long[]{3, 4});
+        parcel.writeFloatArray(new float[]{5, 6});
+        parcel.writeDoubleArray(new double[]{7, 8});
+        parcel.writeStringArray(new String[]{"a", null});
+        parcel.writeIntArray(null);
+
+        ByteBufferParcel read = ByteBufferParcel.wrap(parcel.toByteBuffer());
+
+        assertArrayEquals(new byte[]{1, 2, 3}, read.createByteArray());
+        assertArrayEquals(new char[]{'a', 'b'}, read.createCharArray());
+        boolean[] booleans = read.createBooleanArray();
+        assertTrue(booleans[0]);
+        assertFalse(booleans[1]);
+        assertArrayEquals(new int[]{1, 2}, read.createIntArray());
+        assertArrayEquals(new long[]{3, 4}, read.createLongArray());
+        assertArrayEquals(new float[]{5, 6}, read.createFloatArray(), 0);
+        assertArrayEquals(new double[]{7, 8}, read.createDoubleArray(), 0);
+        assertArrayEquals(new String[]{"a", null}, read.createStringArray());
+        assertNull(read.createIntArray());
+    }
+
+    @Test
+    public void testSerializableRoundTrip() {
+        Date date = new Date(1000);
+        ByteBufferParcel parcel = ByteBufferParcel.allocate();
+
+        parcel.writeSerializable(date);
+        parcel.writeSerializable(null);
+
+        ByteBufferParcel read = ByteBufferParcel.wrap(parcel.toByteArray());
+
+        assertEquals(date, read.readSerializable());
+        assertNull(read.readSerializable());
+    }
+
+    @Test
+    public void testLittleEndianUnpadded() {
+        ByteBufferParcel parcel = ByteBufferParcel.allocate();
+
+        parcel.writeByte((byte) 7);
+        parcel.writeInt(1);
+
+        assertArrayEquals(new byte[]{7, 1, 0, 0, 0}, parcel.toByteArray());
+    }
+
+    @Test
+    public void testWrapSlice() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{9, 2, 0, 0, 0});
+        buffer.position(1);
+
+        ByteBufferParcel read = ByteBufferParcel.wrap(buffer);
+
+        assertEquals(0, read.dataPosition());
+        assertEquals(2, read.readInt());
+    }
+}
@@ -25,6 +25,9 @@ import static org.junit.Assert.*;
  */
 public class IdentityCollectionTest {
 
+    private static final int SMALL_GRAPH = 10000;
+    private static final int LARGE_GRAPH = 100000;
+
     private IdentityCollection identityCollection;
 
     @Before
@@ -54,6 +57,19 @@ public class IdentityCollectionTest {
         }
     }
 
+    @Test
+    public void testStringTable() {
+        assertEquals(0, identityCollection.getStringKey(null));
+        assertEquals(-1, identityCollection.getStringKey("test"));
+        int id = identityCollection.putString("test");
+        // equal Strings share an id, regardless of identity
+        assertEquals(id, identityCollection.getStringKey(new String("test")));
+        assertEquals("test", identityCollection.getString(id));
+        assertNull(identityCollection.getString(0));
+        // the String table is independent of the identity ids
+        assertEquals(-1, identityCollection.getKey("test"));
+    }
+
     @Test
     public void testReservation() {
         int reservation = identityCollection.reserve();
@@ -64,4 +80,79 @@ public class IdentityCollectionTest {
         assertFalse(identityCollection.isReserved(reservation));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testReplacedValueIsNoLongerKeyed() {
+        Object first = new Object();
+        Object second = new Object();
+        int id = identityCollection.put(first);
+        identityCollection.put(id, second);
+        assertEquals(-1, identityCollection.getKey(first));
+        assertEquals(id, identityCollection.getKey(second));
+        assertEquals(0, identityCollection.getKey(null));
+    }
+
+    @Test
+    public void testIdentityNotEquality() {
+        String value = new String("test");
+        String equalValue = new String("test");
+        int id = identityCollection.put(value);
+        assertEquals(id, identityCollection.getKey(value));
+        assertEquals(-1, identityCollection.getKey(equalValue));
+    }
+
+    @Test
+    public void testGraphRoundTrip() {
+        Object[] graph = new Object[LARGE_GRAPH];
+        for(int i = 0; i < LARGE_GRAPH; i++) {
+            graph[i] = new Object();
+        }
+
+        // every node is visited twice, once as a new instance and once as a back reference
+        IdentityCollection write = new IdentityCollection();
+        int[] wire = new int[LARGE_GRAPH * 2];
+        for(int i = 0; i < LARGE_GRAPH; i++) {
+            wire[i * 2] = writeIdentity(write, graph[i]);
+            wire[i * 2 + 1] = writeIdentity(write, graph[i / 2]);
+            assertEquals(i + 1, wire[i * 2]);
+            assertEquals(i / 2 + 1, wire[i * 2 + 1]);
+        }
+        assertEquals(LARGE_GRAPH + 1, write.size());
+        // the identity index stays within a constant factor of the graph
+        assertTrue(write.indexCapacity() <= LARGE_GRAPH * 4);
+
+        IdentityCollection read = new IdentityCollection();
+        for(int i = 0; i < wire.length; i++) {
+            int identity = wire[i];
+            Object node = i % 2 == 0 ? graph[i / 2] : graph[i / 4];
+            if(!read.containsKey(identity)) {
+                int reservation = read.reserve();
+                assertEquals(identity, reservation);
+                assertTrue(read.isReserved(reservation));
+                read.put(reservation, node);
+            }
+            assertSame(node, read.get(identity));
+        }
+    }
+
+    @Test
+    public void testReplacementReusesIndex() {
+        int id = identityCollection.put(new Object());
+        Object last = null;
+        for(int i = 0; i < SMALL_GRAPH; i++) {
+            last = new Object();
+            identityCollection.put(id, last);
+        }
+        assertEquals(id, identityCollection.getKey(last));
+        assertEquals(2, identityCollection.size());
+        // stale entries are dropped when the index is rehashed rather than accumulating
+        assertTrue(identityCollection.indexCapacity() <= 64);
+    }
+
+    private int writeIdentity(IdentityCollection identityCollection, Object input) {
+        int key = identityCollection.getKey(input);
+        if(key != -1) {
+            return key;
+        }
+        return identityCollection.put(input);
+    }
+}
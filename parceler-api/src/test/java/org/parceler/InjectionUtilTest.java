@@ -0,0 +1,151 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author John Ericksen
+ */
+public class InjectionUtilTest {
+
+    private static final int TARGETS = 10;
+    private static final String TEST_VALUE = "test";
+
+    public static class FieldModifiers {
+        private String four;
+    }
+
+    public static class MethodModifiers {
+        private String four;
+
+        private MethodModifiers() {}
+
+        private MethodModifiers(String four) {
+            this.four = four;
+        }
+
+        private String getFour() {
+            return four;
+        }
+
+        private void setFour(String four) {
+            this.four = four;
+        }
+    }
+
+    @Test
+    public void testFieldAccessor() {
+        FieldModifiers target = new FieldModifiers();
+        InjectionUtil.FieldAccessor<String> accessor = new InjectionUtil.FieldAccessor<String>(FieldModifiers.class, "four");
+
+        accessor.set(target, TEST_VALUE);
+
+        assertEquals(TEST_VALUE, target.four);
+        assertEquals(TEST_VALUE, accessor.get(target));
+        assertEquals(TEST_VALUE, InjectionUtil.getField(String.class, FieldModifiers.class, target, "four"));
+    }
+
+    @Test
+    public void testMethodAccessor() {
+        MethodModifiers target = new MethodModifiers();
+        InjectionUtil.MethodAccessor<Void> setter = new InjectionUtil.MethodAccessor<Void>(MethodModifiers.class, "setFour", new Class[]{String.class});
+        InjectionUtil.MethodAccessor<String> getter = new InjectionUtil.MethodAccessor<String>(MethodModifiers.class, "getFour", new Class[]{});
+
+        setter.invoke(target, new Object[]{TEST_VALUE});
+
+        assertEquals(TEST_VALUE, getter.invoke(target, new Object[]{}));
+    }
+
+    @Test
+    public void testConstructorAccessor() {
+        InjectionUtil.ConstructorAccessor<MethodModifiers> accessor = new InjectionUtil.ConstructorAccessor<MethodModifiers>(MethodModifiers.class, new Class[]{String.class});
+
+        assertEquals(TEST_VALUE, accessor.newInstance(new Object[]{TEST_VALUE}).four);
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testMissingField() {
+        new InjectionUtil.FieldAccessor<String>(FieldModifiers.class, "missing");
+    }
+
+    @Test
+    public void testFieldAccessorReuse() throws Exception {
+        InjectionUtil.FieldAccessor<String> accessor = new InjectionUtil.FieldAccessor<String>(FieldModifiers.class, "four");
+        Field resolved = resolved(accessor, "field");
+        assertTrue(resolved.isAccessible());
+
+        FieldModifiers[] targets = new FieldModifiers[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = new FieldModifiers();
+            accessor.set(targets[i], TEST_VALUE + i);
+        }
+        for (int i = 0; i < TARGETS; i++) {
+            assertEquals(TEST_VALUE + i, targets[i].four);
+            assertEquals(TEST_VALUE + i, accessor.get(targets[i]));
+        }
+
+        // writes through the uncached lookup are visible to the accessor and the reverse
+        InjectionUtil.setField(FieldModifiers.class, targets[0], "four", TEST_VALUE);
+        assertEquals(TEST_VALUE, accessor.get(targets[0]));
+        accessor.set(targets[1], null);
+        assertNull(InjectionUtil.getField(String.class, FieldModifiers.class, targets[1], "four"));
+
+        // the field is never looked up again
+        assertSame(resolved, resolved(accessor, "field"));
+    }
+
+    @Test
+    public void testMethodAccessorReuse() throws Exception {
+        InjectionUtil.MethodAccessor<Void> setter = new InjectionUtil.MethodAccessor<Void>(MethodModifiers.class, "setFour", new Class[]{String.class});
+        InjectionUtil.MethodAccessor<String> getter = new InjectionUtil.MethodAccessor<String>(MethodModifiers.class, "getFour", new Class[]{});
+        Method resolvedSetter = resolved(setter, "method");
+        Method resolvedGetter = resolved(getter, "method");
+        assertTrue(resolvedSetter.isAccessible());
+        assertTrue(resolvedGetter.isAccessible());
+
+        MethodModifiers[] targets = new MethodModifiers[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = new MethodModifiers();
+            setter.invoke(targets[i], new Object[]{TEST_VALUE + i});
+        }
+        for (int i = 0; i < TARGETS; i++) {
+            assertEquals(TEST_VALUE + i, targets[i].four);
+            assertEquals(TEST_VALUE + i, getter.invoke(targets[i], new Object[]{}));
+        }
+
+        InjectionUtil.callMethod(Void.class, MethodModifiers.class, targets[0], "setFour", new Class[]{String.class}, new Object[]{TEST_VALUE});
+        assertEquals(TEST_VALUE, getter.invoke(targets[0], new Object[]{}));
+
+        assertSame(resolvedSetter, resolved(setter, "method"));
+        assertSame(resolvedGetter, resolved(getter, "method"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T resolved(Object accessor, String member) throws Exception {
+        Field resolvedField = accessor.getClass().getDeclaredField(member);
+        resolvedField.setAccessible(true);
+        return (T) resolvedField.get(accessor);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class ParcelProfileTest {
+
+    private static final String ORDER = "com.example.Order";
+    private static final String ITEM = "com.example.Item";
+    private static final String PRODUCT = "com.example.Product";
+
+    @After
+    public void tearDown() {
+        ParcelProfile.setThreshold(Integer.MAX_VALUE, null);
+        ParcelProfile.reset();
+    }
+
+    @Test
+    public void testPropertyAttribution() {
+        final List<ParcelProfile.PathSize> reported = new ArrayList<ParcelProfile.PathSize>();
+        ParcelProfile.setThreshold(16, new ParcelProfile.ThresholdListener() {
+            @Override
+            public void onThresholdExceeded(String type, int bytes, List<ParcelProfile.PathSize> topPaths) {
+                assertEquals(ORDER, type);
+                assertEquals(24, bytes);
+                reported.addAll(topPaths);
+            }
+        });
+
+        // the calls made by a profiled Order$$Parcelable holding a single item, at the positions of its writes
+        int wrap = ParcelProfile.begin(0, ORDER);
+        int items = ParcelProfile.enter(4, ORDER, "items[]");
+        int quantity = ParcelProfile.enter(8, ITEM, "quantity");
+        ParcelProfile.exit(12, quantity);
+        int product = ParcelProfile.enter(12, ITEM, "product");
+        int description = ParcelProfile.enter(12, PRODUCT, "description");
+        ParcelProfile.exit(24, description);
+        ParcelProfile.exit(24, product);
+        ParcelProfile.exit(24, items);
+        ParcelProfile.end(24, wrap);
+
+        assertEquals("Order.items[].product.description", reported.get(0).getPath());
+        assertEquals(12, reported.get(0).getBytes());
+        assertEquals(5, reported.size());
+
+        Map<String, Map<String, ParcelProfile.PropertyStats>> stats = ParcelProfile.getStats();
+        assertEquals(20, stats.get(ORDER).get("items[]").getTotal());
+        assertEquals(12, stats.get(PRODUCT).get("description").getTotal());
+        assertEquals(1, stats.get(ITEM).get("quantity").getCount());
+        // 4 bytes fall in the [4, 8) bucket
+        assertEquals(1, stats.get(ITEM).get("quantity").getBuckets()[3]);
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        ParcelProfile.setThreshold(16, new ParcelProfile.ThresholdListener() {
+            @Override
+            public void onThresholdExceeded(String type, int bytes, List<ParcelProfile.PathSize> topPaths) {
+                fail();
+            }
+        });
+
+        int wrap = ParcelProfile.begin(0, ORDER);
+        int items = ParcelProfile.enter(0, ORDER, "items[]");
+        ParcelProfile.exit(4, items);
+        ParcelProfile.end(4, wrap);
+
+        assertEquals(4, ParcelProfile.getStats().get(ORDER).get("items[]").getMax());
+    }
+
+    @Test
+    public void testNestedWrap() {
+        int wrap = ParcelProfile.begin(0, ORDER);
+        int items = ParcelProfile.enter(0, ORDER, "items[]");
+        // a wrapper written within a property is attributed to that property
+        int nested = ParcelProfile.begin(4, ITEM);
+        ParcelProfile.end(12, nested);
+        ParcelProfile.exit(12, items);
+        ParcelProfile.end(12, wrap);
+
+        assertEquals(12, ParcelProfile.getStats().get(ORDER).get("items[]").getTotal());
+        // the stack is empty once the wrap ends
+        assertEquals(12, ParcelProfile.begin(12, ITEM));
+        ParcelProfile.end(12, 12);
+    }
+}
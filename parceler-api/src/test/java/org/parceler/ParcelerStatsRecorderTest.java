@@ -0,0 +1,99 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class ParcelerStatsRecorderTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 10000;
+
+    private final ParcelerStatsRecorder recorder = new ParcelerStatsRecorder();
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> results = new ArrayList<Future<Void>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            results.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        recorder.onWrite(String.class, 100, 1000, 3);
+                        recorder.onRead(String.class, 100, 3000, 3);
+                        recorder.onWrite(Integer.class, 8, 10, 0);
+                    }
+                    return null;
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        Map<String, ParcelerStatsRecorder.Snapshot> snapshot = recorder.snapshot();
+        long samples = (long) THREADS * ITERATIONS;
+
+        ParcelerStatsRecorder.Totals stringWrites = snapshot.get(String.class.getName()).getWrites();
+        assertEquals(samples, stringWrites.getCount());
+        assertEquals(samples * 100, stringWrites.getBytes());
+        assertEquals(samples * 1000, stringWrites.getNanos());
+        assertEquals(samples * 3, stringWrites.getInstances());
+        // 1000ns falls in the [512, 1024) bucket
+        assertEquals(samples, stringWrites.getLatencyBuckets()[10]);
+        assertEquals(1023, stringWrites.getLatencyPercentile(0.99));
+
+        ParcelerStatsRecorder.Totals stringReads = snapshot.get(String.class.getName()).getReads();
+        assertEquals(samples, stringReads.getCount());
+        assertEquals(4095, stringReads.getLatencyPercentile(0.5));
+
+        assertEquals(samples, snapshot.get(Integer.class.getName()).getWrites().getCount());
+        assertEquals(0, snapshot.get(Integer.class.getName()).getReads().getCount());
+    }
+
+    @Test
+    public void testExport() {
+        recorder.onWrite(String.class, 100, 1000, 3);
+
+        String export = recorder.export();
+
+        assertTrue(export.startsWith("type,operation,count,bytes,nanos,instances,p50Nanos,p99Nanos\n"));
+        assertTrue(export.contains("java.lang.String,write,1,100,1000,3,1023,1023\n"));
+        assertFalse(export.contains(",read,"));
+
+        recorder.reset();
+        assertTrue(recorder.snapshot().isEmpty());
+    }
+}
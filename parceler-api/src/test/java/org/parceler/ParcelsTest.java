@@ -0,0 +1,168 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author John Ericksen
+ */
+public class ParcelsTest {
+
+    public static class Target {}
+
+    public static class TargetParcelable implements Parcelable, ParcelWrapper<Target> {
+
+        private final Target target;
+
+        public TargetParcelable(Target target) {
+            this.target = target;
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel parcel, int flags) {}
+
+        @Override
+        public Target getParcel() {
+            return target;
+        }
+    }
+
+    public static class TargetFactory implements Parcels.ParcelableFactory<Target>, Parcels.ParcelAccessor<Target> {
+
+        private static Target written;
+
+        @Override
+        public Parcelable buildParcelable(Target input) {
+            return new TargetParcelable(input);
+        }
+
+        @Override
+        public void write(Target input, Parcel parcel, int flags, IdentityCollection identityMap) {
+            written = input;
+        }
+
+        @Override
+        public Target read(Parcel parcel, IdentityCollection identityMap) {
+            return written;
+        }
+
+        @Override
+        public int sizeOf(Target input, IdentityCollection identityMap) {
+            return input == null ? 4 : 8;
+        }
+    }
+
+    public static class TestRepository implements Repository<Parcels.ParcelableFactory> {
+
+        private final Map<Class, Parcels.ParcelableFactory> factories = new HashMap<Class, Parcels.ParcelableFactory>();
+
+        public TestRepository() {
+            factories.put(Target.class, new TargetFactory());
+        }
+
+        @Override
+        public Map<Class, Parcels.ParcelableFactory> get() {
+            return factories;
+        }
+    }
+
+    @Test
+    public void testGeneratedRepositoryLoaded() {
+        // Target has no Target$$Parcelable, so wrapping only succeeds through the indexed repository
+        Target target = new Target();
+
+        Parcelable parcelable = Parcels.wrap(target);
+
+        assertSame(target, Parcels.unwrap(parcelable));
+    }
+
+    @Test
+    public void testPrimitiveArrayWrap() {
+        int[] ints = new int[]{1};
+        long[] longs = new long[]{2L};
+        float[] floats = new float[]{3f};
+        double[] doubles = new double[]{4d};
+        short[] shorts = new short[]{5};
+        String[] strings = new String[]{"six"};
+
+        assertSame(ints, Parcels.unwrap(Parcels.wrap(ints)));
+        assertSame(longs, Parcels.unwrap(Parcels.wrap(longs)));
+        assertSame(floats, Parcels.unwrap(Parcels.wrap(floats)));
+        assertSame(doubles, Parcels.unwrap(Parcels.wrap(doubles)));
+        assertSame(shorts, Parcels.unwrap(Parcels.wrap(shorts)));
+        assertSame(strings, Parcels.unwrap(Parcels.wrap(strings)));
+    }
+
+    @Test
+    public void testTypedCollectionWrap() {
+        List<Target> list = Arrays.asList(new Target(), new Target());
+        Set<Target> set = new HashSet<Target>(list);
+
+        assertSame(list, Parcels.unwrap(Parcels.wrap(List.class, Target.class, list)));
+        assertSame(set, Parcels.unwrap(Parcels.wrap(Set.class, Target.class, set)));
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testTypedCollectionWrapUnsupportedCollection() {
+        Parcels.wrap(Queue.class, Target.class, new LinkedList<Target>());
+    }
+
+    @Test
+    public void testTypedMapWrap() {
+        Map<String, Target> map = Collections.singletonMap("key", new Target());
+
+        assertSame(map, Parcels.unwrap(Parcels.wrap(Map.class, Target.class, map)));
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testTypedMapWrapUnsupportedMap() {
+        Parcels.wrap(SortedMap.class, Target.class, new TreeMap<String, Target>());
+    }
+
+    @Test
+    public void testDirectWriteRead() {
+        // Parcel is stubbed here, the target accessor only records the written instance
+        Target target = new Target();
+
+        Parcels.write(null, target);
+
+        assertSame(target, Parcels.read(null, Target.class));
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testDirectWriteNullWithoutType() {
+        Parcels.write(null, null);
+    }
+
+    @Test
+    public void testSizeOf() {
+        assertEquals(8, Parcels.sizeOf(new Target()));
+        assertEquals(4, Parcels.sizeOf(Target.class, null));
+    }
+}
@@ -0,0 +1,381 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.os;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap backed JVM stand-in for the Android `Parcel`, so the generated code may be benchmarked without a device.
+ *
+ * Values are laid out as Android lays them out: little-endian and padded to 4 bytes, with strings written as a UTF-16
+ * length, characters and null terminator, and `Parcelable`s prefixed by their class name.  Only the methods reached
+ * by the benchmarks are provided.
+ *
+ * @author John Ericksen
+ */
+public final class Parcel {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Map<ClassLoader, Map<String, Parcelable.Creator<?>>> CREATORS = new HashMap<ClassLoader, Map<String, Parcelable.Creator<?>>>();
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int position;
+    private int size;
+
+    private Parcel() {
+        //private constructor
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        position = 0;
+        size = 0;
+    }
+
+    public int dataSize() {
+        return size;
+    }
+
+    public int dataPosition() {
+        return position;
+    }
+
+    public int dataCapacity() {
+        return data.length;
+    }
+
+    public void setDataSize(int size) {
+        ensureCapacity(size);
+        this.size = size;
+        if (position > size) {
+            position = size;
+        }
+    }
+
+    public void setDataPosition(int position) {
+        this.position = position;
+    }
+
+    public void setDataCapacity(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    public byte[] marshall() {
+        byte[] result = new byte[size];
+        System.arraycopy(data, 0, result, 0, size);
+        return result;
+    }
+
+    public void unmarshall(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, data, 0, length);
+        size = length;
+        position = 0;
+    }
+
+    public void appendFrom(Parcel parcel, int offset, int length) {
+        grow(length);
+        System.arraycopy(parcel.data, offset, data, position, length);
+        advance(length);
+    }
+
+    public void writeInt(int value) {
+        grow(4);
+        putInt(position, value);
+        advance(4);
+    }
+
+    public int readInt() {
+        if (position + 4 > size) {
+            return 0;
+        }
+        int value = getInt(position);
+        position += 4;
+        return value;
+    }
+
+    public void writeLong(long value) {
+        grow(8);
+        putInt(position, (int) value);
+        putInt(position + 4, (int) (value >>> 32));
+        advance(8);
+    }
+
+    public long readLong() {
+        if (position + 8 > size) {
+            return 0;
+        }
+        long value = (getInt(position) & 0xFFFFFFFFL) | ((long) getInt(position + 4) << 32);
+        position += 8;
+        return value;
+    }
+
+    public void writeFloat(float value) {
+        writeInt(Float.floatToRawIntBits(value));
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public void writeByte(byte value) {
+        writeInt(value);
+    }
+
+    public byte readByte() {
+        return (byte) readInt();
+    }
+
+    public void writeString(String value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        int length = value.length();
+        int padded = pad((length + 1) * 2);
+        grow(4 + padded);
+        putInt(position, length);
+        int offset = position + 4;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            data[offset++] = (byte) c;
+            data[offset++] = (byte) (c >>> 8);
+        }
+        for (int end = position + 4 + padded; offset < end; offset++) {
+            data[offset] = 0;
+        }
+        advance(4 + padded);
+    }
+
+    public String readString() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        int offset = position;
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ((data[offset] & 0xFF) | (data[offset + 1] << 8));
+            offset += 2;
+        }
+        position += pad((length + 1) * 2);
+        return new String(chars);
+    }
+
+    public void writeByteArray(byte[] value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        int padded = pad(value.length);
+        grow(4 + padded);
+        putInt(position, value.length);
+        System.arraycopy(value, 0, data, position + 4, value.length);
+        advance(4 + padded);
+    }
+
+    public byte[] createByteArray() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        System.arraycopy(data, position, value, 0, length);
+        position += pad(length);
+        return value;
+    }
+
+    public void writeIntArray(int[] value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.length);
+        for (int item : value) {
+            writeInt(item);
+        }
+    }
+
+    public int[] createIntArray() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        int[] value = new int[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = readInt();
+        }
+        return value;
+    }
+
+    public void writeLongArray(long[] value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.length);
+        for (long item : value) {
+            writeLong(item);
+        }
+    }
+
+    public long[] createLongArray() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] value = new long[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = readLong();
+        }
+        return value;
+    }
+
+    public void writeStringArray(String[] value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.length);
+        for (String item : value) {
+            writeString(item);
+        }
+    }
+
+    public String[] createStringArray() {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        String[] value = new String[length];
+        for (int i = 0; i < length; i++) {
+            value[i] = readString();
+        }
+        return value;
+    }
+
+    public void writeParcelable(Parcelable value, int flags) {
+        if (value == null) {
+            writeString(null);
+            return;
+        }
+        writeString(value.getClass().getName());
+        value.writeToParcel(this, flags);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Parcelable> T readParcelable(ClassLoader loader) {
+        String name = readString();
+        if (name == null) {
+            return null;
+        }
+        return (T) getCreator(name, loader == null ? Parcel.class.getClassLoader() : loader).createFromParcel(this);
+    }
+
+    public <T extends Parcelable> void writeTypedList(List<T> value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(value.size());
+        for (T item : value) {
+            if (item == null) {
+                writeInt(0);
+            } else {
+                writeInt(1);
+                item.writeToParcel(this, 0);
+            }
+        }
+    }
+
+    public <T> void readTypedList(List<T> list, Parcelable.Creator<T> creator) {
+        int length = readInt();
+        for (int i = 0; i < length; i++) {
+            list.add(readInt() != 0 ? creator.createFromParcel(this) : null);
+        }
+    }
+
+    private static Parcelable.Creator<?> getCreator(String name, ClassLoader loader) {
+        synchronized (CREATORS) {
+            Map<String, Parcelable.Creator<?>> creators = CREATORS.get(loader);
+            if (creators == null) {
+                creators = new HashMap<String, Parcelable.Creator<?>>();
+                CREATORS.put(loader, creators);
+            }
+            Parcelable.Creator<?> creator = creators.get(name);
+            if (creator == null) {
+                try {
+                    creator = (Parcelable.Creator<?>) Class.forName(name, false, loader).getField("CREATOR").get(null);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Unable to find Parcelable " + name, e);
+                } catch (NoSuchFieldException e) {
+                    throw new IllegalStateException("Parcelable " + name + " has no CREATOR", e);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Unable to access CREATOR of " + name, e);
+                }
+                creators.put(name, creator);
+            }
+            return creator;
+        }
+    }
+
+    private static int pad(int length) {
+        return (length + 3) & ~3;
+    }
+
+    private void grow(int length) {
+        ensureCapacity(position + length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            byte[] grown = new byte[Math.max(capacity, data.length * 2)];
+            System.arraycopy(data, 0, grown, 0, size);
+            data = grown;
+        }
+    }
+
+    private void advance(int length) {
+        position += length;
+        if (position > size) {
+            size = position;
+        }
+    }
+
+    private void putInt(int offset, int value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >>> 8);
+        data[offset + 2] = (byte) (value >>> 16);
+        data[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private int getInt(int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8) | ((data[offset + 2] & 0xFF) << 16) | (data[offset + 3] << 24);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.parceler.IdentityCollection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the identity protocol of the generated write and read methods over a graph of `nodes` instances, where
+ * every node is visited twice (once as a new instance, once as a back reference).  Time per node should stay flat as
+ * `nodes` grows.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityCollectionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int nodes;
+
+    private Object[] graph;
+    private int[] wire;
+
+    @Setup
+    public void setup() {
+        graph = new Object[nodes];
+        for (int i = 0; i < nodes; i++) {
+            graph[i] = new Object();
+        }
+        wire = new int[nodes * 2];
+        write();
+    }
+
+    @Benchmark
+    public IdentityCollection write() {
+        IdentityCollection identityCollection = new IdentityCollection();
+        for (int i = 0; i < nodes; i++) {
+            wire[i * 2] = writeIdentity(identityCollection, graph[i]);
+            wire[i * 2 + 1] = writeIdentity(identityCollection, graph[i / 2]);
+        }
+        return identityCollection;
+    }
+
+    @Benchmark
+    public IdentityCollection read() {
+        IdentityCollection identityCollection = new IdentityCollection();
+        for (int i = 0; i < wire.length; i++) {
+            int identity = wire[i];
+            if (!identityCollection.containsKey(identity)) {
+                identityCollection.put(identityCollection.reserve(), graph[i / 2]);
+            }
+        }
+        return identityCollection;
+    }
+
+    private static int writeIdentity(IdentityCollection identityCollection, Object input) {
+        int key = identityCollection.getKey(input);
+        if (key != -1) {
+            return key;
+        }
+        return identityCollection.put(input);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelConstructor;
+
+import java.util.List;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel(Parcel.Serialization.BEAN)
+public class ImmutableDeveloper {
+
+    private final String name;
+    private final int yearsOfExperience;
+    private final List<Skill> skillSet;
+    private final float favoriteFloat;
+
+    @ParcelConstructor
+    public ImmutableDeveloper(String name, int yearsOfExperience, List<Skill> skillSet, float favoriteFloat) {
+        this.name = name;
+        this.yearsOfExperience = yearsOfExperience;
+        this.skillSet = skillSet;
+        this.favoriteFloat = favoriteFloat;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getYearsOfExperience() {
+        return yearsOfExperience;
+    }
+
+    public List<Skill> getSkillSet() {
+        return skillSet;
+    }
+
+    public float getFavoriteFloat() {
+        return favoriteFloat;
+    }
+
+    @Parcel(Parcel.Serialization.BEAN)
+    public static class Skill {
+
+        private final String name;
+        private final boolean programmingRelated;
+
+        @ParcelConstructor
+        public Skill(String name, boolean programmingRelated) {
+            this.name = name;
+            this.programmingRelated = programmingRelated;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isProgrammingRelated() {
+            return programmingRelated;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.parceler.InjectionUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the accessors generated code caches per private member, `InjectionUtil.FieldAccessor` and
+ * `InjectionUtil.MethodAccessor`, against resolving the member on every call through `InjectionUtil.getField()`,
+ * `setField()` and `callMethod()`.  Each benchmark reads and then writes one private property.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InjectionAccessorBenchmark {
+
+    private static final Class[] NO_ARGS = new Class[0];
+    private static final Class[] STRING_ARG = new Class[]{String.class};
+
+    private final Target target = new Target();
+    private final InjectionUtil.FieldAccessor<String> fieldAccessor = new InjectionUtil.FieldAccessor<String>(Target.class, "name");
+    private final InjectionUtil.MethodAccessor<String> getterAccessor = new InjectionUtil.MethodAccessor<String>(Target.class, "getName", NO_ARGS);
+    private final InjectionUtil.MethodAccessor<Void> setterAccessor = new InjectionUtil.MethodAccessor<Void>(Target.class, "setName", STRING_ARG);
+
+    @Benchmark
+    public String fieldPerCall() {
+        String name = InjectionUtil.getField(String.class, Target.class, target, "name");
+        InjectionUtil.setField(Target.class, target, "name", name);
+        return name;
+    }
+
+    @Benchmark
+    public String fieldCached() {
+        String name = fieldAccessor.get(target);
+        fieldAccessor.set(target, name);
+        return name;
+    }
+
+    @Benchmark
+    public String methodPerCall() {
+        String name = InjectionUtil.callMethod(String.class, Target.class, target, "getName", NO_ARGS, new Object[0]);
+        InjectionUtil.callMethod(Void.class, Target.class, target, "setName", STRING_ARG, new Object[]{name});
+        return name;
+    }
+
+    @Benchmark
+    public String methodCached() {
+        String name = getterAccessor.invoke(target, new Object[0]);
+        setterAccessor.invoke(target, new Object[]{name});
+        return name;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Target {
+        private String name = "Developer";
+
+        private String getName() {
+            return name;
+        }
+
+        private void setName(String name) {
+            this.name = name;
+        }
+    }
+}
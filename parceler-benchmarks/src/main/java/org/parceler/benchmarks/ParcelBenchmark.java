@@ -0,0 +1,94 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures wrapping, writing and reading each `Scenario`, the way an `Intent` extra or `Bundle` parcels them:
+ * `parcel.writeParcelable(Parcels.wrap(value), 0)` followed by `Parcels.unwrap(parcel.readParcelable(loader))`.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParcelBenchmark {
+
+    @Param
+    public Scenario scenario;
+
+    @Param("100")
+    public int size;
+
+    private final ClassLoader loader = ParcelBenchmark.class.getClassLoader();
+    private Object value;
+    private Parcel parcel;
+
+    @Setup
+    public void setup() {
+        value = scenario.create(size);
+        parcel = Parcel.obtain();
+        write();
+    }
+
+    @TearDown
+    public void tearDown() {
+        parcel.recycle();
+    }
+
+    @Benchmark
+    public Parcelable wrap() {
+        return scenario.wrap(value);
+    }
+
+    @Benchmark
+    public Parcel write() {
+        parcel.setDataPosition(0);
+        parcel.writeParcelable(scenario.wrap(value), 0);
+        return parcel;
+    }
+
+    @Benchmark
+    public Object read() {
+        parcel.setDataPosition(0);
+        return scenario.unwrap(parcel.<Parcelable>readParcelable(loader));
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        write();
+        return read();
+    }
+}
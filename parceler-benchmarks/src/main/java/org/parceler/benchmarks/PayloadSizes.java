@@ -0,0 +1,50 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import android.os.Parcel;
+
+/**
+ * Prints the number of bytes each `Scenario` writes to a parcel, as measured by `ParcelBenchmark.write()`, so changes
+ * to the wire format may be compared alongside the timings.
+ *
+ * @author John Ericksen
+ */
+public final class PayloadSizes {
+
+    private static final int DEFAULT_SIZE = 100;
+
+    private PayloadSizes() {
+        //private utility class constructor
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        for (Scenario scenario : Scenario.values()) {
+            System.out.println(String.format("%-24s %10d bytes", scenario, measure(scenario, size)));
+        }
+    }
+
+    public static int measure(Scenario scenario, int size) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(scenario.wrap(scenario.create(size)), 0);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.parceler.Parcel;
+
+/**
+ * Private fields without accessors, read and written through the `InjectionUtil.FieldAccessor` instances the generated
+ * `Parcelable` resolves once per field.
+ *
+ * @author John Ericksen
+ */
+@Parcel(Parcel.Serialization.FIELD)
+public class PrivateDeveloper {
+    private String name;
+    private int yearsOfExperience;
+    private float favoriteFloat;
+
+    public PrivateDeveloper() {
+        //empty bean constructor
+    }
+
+    public PrivateDeveloper(String name, int yearsOfExperience, float favoriteFloat) {
+        this.name = name;
+        this.yearsOfExperience = yearsOfExperience;
+        this.favoriteFloat = favoriteFloat;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.parceler.ParcelAnnotationProcessor;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full annotation processing run over synthetic `@Parcel` classes, each linking the next through a
+ * property nested `depth` generic collections deep, such as `Set<List<Map<String, Synthetic1>>>` at a depth of 3.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProcessorBenchmark {
+
+    private static final String PACKAGE = "synthetic";
+    private static final String[] COLLECTIONS = {"Map<String, %s>", "List<%s>", "Set<%s>"};
+
+    @Param("200")
+    public int classes;
+
+    @Param({"1", "3", "5"})
+    public int depth;
+
+    private JavaCompiler compiler;
+    private File sources;
+    private List<File> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Processor benchmarks must be run on a JDK");
+        }
+        sources = Files.createTempDirectory("parceler-sources").toFile();
+        File packageDirectory = new File(sources, PACKAGE);
+        if (!packageDirectory.mkdir()) {
+            throw new IOException("Unable to create " + packageDirectory);
+        }
+        sourceFiles = new ArrayList<File>();
+        for (int i = 0; i < classes; i++) {
+            File source = new File(packageDirectory, className(i) + ".java");
+            Writer writer = new FileWriter(source);
+            try {
+                writer.write(buildSource(i));
+            } finally {
+                writer.close();
+            }
+            sourceFiles.add(source);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        delete(sources);
+    }
+
+    @Benchmark
+    public boolean process() throws IOException {
+        File generated = Files.createTempDirectory("parceler-generated").toFile();
+        try {
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+            try {
+                List<String> options = Arrays.asList(
+                        "-proc:only",
+                        "-processor", ParcelAnnotationProcessor.class.getName(),
+                        "-classpath", System.getProperty("java.class.path"),
+                        "-s", generated.getPath(),
+                        "-d", generated.getPath());
+                boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                        fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+                if (!success) {
+                    throw new IllegalStateException("Annotation processing failed: " + diagnostics.getDiagnostics());
+                }
+                return success;
+            } finally {
+                fileManager.close();
+            }
+        } finally {
+            delete(generated);
+        }
+    }
+
+    private String buildSource(int index) {
+        String next = className((index + 1) % classes);
+        String nested = next;
+        for (int level = 0; level < depth; level++) {
+            nested = String.format(COLLECTIONS[level % COLLECTIONS.length], nested);
+        }
+        return "package " + PACKAGE + ";\n" +
+                "\n" +
+                "import java.util.*;\n" +
+                "\n" +
+                "@org.parceler.Parcel\n" +
+                "public class " + className(index) + " {\n" +
+                "    public int count;\n" +
+                "    public String name;\n" +
+                "    public Date created;\n" +
+                "    public List<String> tags;\n" +
+                "    public Map<String, Integer> totals;\n" +
+                "    public " + next + " next;\n" +
+                "    public " + nested + " nested;\n" +
+                "}\n";
+    }
+
+    private static String className(int index) {
+        return "Synthetic" + index;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import android.os.Parcelable;
+import org.parceler.Parcels;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Object graphs measured by `ParcelBenchmark`, each built with `size` entries in its collections, links in its graph
+ * or references to its shared instances.
+ *
+ * @author John Ericksen
+ */
+public enum Scenario {
+    DEVELOPER {
+        @Override
+        public Object create(int size) {
+            return buildDeveloper(size);
+        }
+    },
+    IMMUTABLE_DEVELOPER {
+        @Override
+        public Object create(int size) {
+            List<ImmutableDeveloper.Skill> skills = new ArrayList<ImmutableDeveloper.Skill>();
+            for (int i = 0; i < size; i++) {
+                skills.add(new ImmutableDeveloper.Skill("skill " + i, i % 2 == 0));
+            }
+            return new ImmutableDeveloper("Developer", 10, skills, 3.14f);
+        }
+    },
+    /**
+     * Hand written `Parcelable` baseline, parceled without Parceler.
+     */
+    PARCELABLE_DEVELOPER {
+        @Override
+        public Object create(int size) {
+            ParcelableDeveloper developer = new ParcelableDeveloper();
+            developer.name = "Developer";
+            developer.yearsOfExperience = 10;
+            developer.favoriteFloat = 3.14f;
+            developer.skillSet = new ArrayList<ParcelableDeveloper.Skill>();
+            for (int i = 0; i < size; i++) {
+                ParcelableDeveloper.Skill skill = new ParcelableDeveloper.Skill();
+                skill.name = "skill " + i;
+                skill.programmingRelated = i % 2 == 0;
+                developer.skillSet.add(skill);
+            }
+            return developer;
+        }
+
+        @Override
+        public Parcelable wrap(Object value) {
+            return (Parcelable) value;
+        }
+
+        @Override
+        public Object unwrap(Parcelable parcelable) {
+            return parcelable;
+        }
+    },
+    DEEP_GRAPH {
+        @Override
+        public Object create(int size) {
+            Node head = null;
+            for (int i = 0; i < size; i++) {
+                Node node = new Node();
+                node.name = "node " + i;
+                node.weight = i;
+                node.next = head;
+                head = node;
+            }
+            return head;
+        }
+    },
+    BINARY_TREE {
+        @Override
+        public Object create(int size) {
+            return buildBinaryTree(0, size);
+        }
+    },
+    /**
+     * `BINARY_TREE` without identity tracking, see `PayloadSizes` for the difference in size.
+     */
+    TREE_MODE_BINARY_TREE {
+        @Override
+        public Object create(int size) {
+            return buildTreeBinaryTree(0, size);
+        }
+    },
+    SHARED_REFERENCES {
+        @Override
+        public Object create(int size) {
+            List<Developer> developers = new ArrayList<Developer>();
+            for (int i = 0; i < SHARED_INSTANCES; i++) {
+                developers.add(buildDeveloper(SHARED_INSTANCES));
+            }
+            Team team = new Team();
+            team.lead = developers.get(0);
+            team.members = new ArrayList<Developer>();
+            for (int i = 0; i < size; i++) {
+                team.members.add(developers.get(i % SHARED_INSTANCES));
+            }
+            return team;
+        }
+    },
+    LARGE_LIST {
+        @Override
+        public Object create(int size) {
+            Catalog catalog = new Catalog();
+            catalog.names = new ArrayList<String>();
+            for (int i = 0; i < size; i++) {
+                catalog.names.add("name " + i);
+            }
+            return catalog;
+        }
+    },
+    LARGE_MAP {
+        @Override
+        public Object create(int size) {
+            Catalog catalog = new Catalog();
+            catalog.prices = new HashMap<String, Long>();
+            for (int i = 0; i < size; i++) {
+                catalog.prices.put("item " + i, (long) i * 100);
+            }
+            return catalog;
+        }
+    },
+    LARGE_SET {
+        @Override
+        public Object create(int size) {
+            Catalog catalog = new Catalog();
+            catalog.ids = new HashSet<Integer>();
+            for (int i = 0; i < size; i++) {
+                catalog.ids.add(i);
+            }
+            return catalog;
+        }
+    },
+    CONVERTER {
+        @Override
+        public Object create(int size) {
+            Timeline timeline = new Timeline();
+            timeline.created = new Date(0);
+            timeline.events = new ArrayList<Date>();
+            for (int i = 0; i < size; i++) {
+                timeline.events.add(new Date(i * 1000L));
+            }
+            return timeline;
+        }
+    },
+    PRIVATE_FIELDS {
+        @Override
+        public Object create(int size) {
+            return new PrivateDeveloper("Developer", 10, 3.14f);
+        }
+    },
+    /**
+     * Top level `List` wrapped through the `NonParcelRepository`, wrapping each `Developer` in turn.
+     */
+    NON_PARCEL_LIST {
+        @Override
+        public Object create(int size) {
+            List<Developer> developers = new ArrayList<Developer>();
+            for (int i = 0; i < size; i++) {
+                developers.add(buildDeveloper(1));
+            }
+            return developers;
+        }
+    },
+    /**
+     * Top level `Map` wrapped through the `NonParcelRepository`.
+     */
+    NON_PARCEL_MAP {
+        @Override
+        public Object create(int size) {
+            Map<String, Long> prices = new HashMap<String, Long>();
+            for (int i = 0; i < size; i++) {
+                prices.put("item " + i, (long) i * 100);
+            }
+            return prices;
+        }
+    };
+
+    private static final int SHARED_INSTANCES = 10;
+
+    public abstract Object create(int size);
+
+    public Parcelable wrap(Object value) {
+        return Parcels.wrap(value);
+    }
+
+    public Object unwrap(Parcelable parcelable) {
+        return Parcels.unwrap(parcelable);
+    }
+
+    private static BinaryNode buildBinaryTree(int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        BinaryNode node = new BinaryNode();
+        node.name = "node " + middle;
+        node.weight = middle;
+        node.left = buildBinaryTree(start, middle);
+        node.right = buildBinaryTree(middle + 1, end);
+        return node;
+    }
+
+    private static TreeBinaryNode buildTreeBinaryTree(int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        int middle = (start + end) >>> 1;
+        TreeBinaryNode node = new TreeBinaryNode();
+        node.name = "node " + middle;
+        node.weight = middle;
+        node.left = buildTreeBinaryTree(start, middle);
+        node.right = buildTreeBinaryTree(middle + 1, end);
+        return node;
+    }
+
+    private static Developer buildDeveloper(int skills) {
+        Developer developer = new Developer();
+        developer.name = "Developer";
+        developer.yearsOfExperience = 10;
+        developer.favoriteFloat = 3.14f;
+        developer.skillSet = new ArrayList<Developer.Skill>();
+        for (int i = 0; i < skills; i++) {
+            Developer.Skill skill = new Developer.Skill();
+            skill.name = "skill " + i;
+            skill.programmingRelated = i % 2 == 0;
+            developer.skillSet.add(skill);
+        }
+        return developer;
+    }
+}
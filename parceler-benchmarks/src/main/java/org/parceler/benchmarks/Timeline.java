@@ -0,0 +1,62 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import android.os.Parcel;
+import org.parceler.ParcelPropertyConverter;
+import org.parceler.converter.ArrayListParcelConverter;
+import org.parceler.converter.NullableParcelConverter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Properties written through `ParcelConverter`s.
+ *
+ * @author John Ericksen
+ */
+@org.parceler.Parcel
+public class Timeline {
+
+    @ParcelPropertyConverter(DateConverter.class)
+    public Date created;
+    @ParcelPropertyConverter(DateListConverter.class)
+    public List<Date> events;
+
+    public static class DateConverter extends NullableParcelConverter<Date> {
+        @Override
+        public void nullSafeToParcel(Date input, Parcel parcel, int flags) {
+            parcel.writeLong(input.getTime());
+        }
+
+        @Override
+        public Date nullSafeFromParcel(Parcel parcel) {
+            return new Date(parcel.readLong());
+        }
+    }
+
+    public static class DateListConverter extends ArrayListParcelConverter<Date> {
+        @Override
+        public void itemToParcel(Date input, Parcel parcel, int flags) {
+            parcel.writeLong(input.getTime());
+        }
+
+        @Override
+        public Date itemFromParcel(Parcel parcel) {
+            return new Date(parcel.readLong());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.benchmarks;
+
+import org.parceler.Parcel;
+
+/**
+ * `BinaryNode` serialized as a tree, recording the null state of its children in its null bitmap instead of writing an
+ * identity for each child.
+ *
+ * @author John Ericksen
+ */
+@Parcel(tree = true)
+public class TreeBinaryNode {
+    public String name;
+    public long weight;
+    public TreeBinaryNode left;
+    public TreeBinaryNode right;
+}
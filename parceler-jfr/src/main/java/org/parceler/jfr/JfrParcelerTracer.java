@@ -0,0 +1,89 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.parceler.ParcelerTracer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * `ParcelerTracer` committing a JDK Flight Recorder `org.parceler.Parcel` event per section, with the type, operation
+ * and byte count, for tests and tools running Parceler on a JVM.  Events are only committed while a recording is
+ * enabled for them.  Registered as a `ParcelerTracer` service, so `ParcelTracing` picks it up once on the classpath.
+ *
+ * @author John Ericksen
+ */
+public class JfrParcelerTracer implements ParcelerTracer {
+
+    private static final ThreadLocal<List<ParcelEvent>> EVENTS = new ThreadLocal<List<ParcelEvent>>() {
+        @Override
+        protected List<ParcelEvent> initialValue() {
+            return new ArrayList<ParcelEvent>();
+        }
+    };
+
+    public static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return FlightRecorder.isAvailable();
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            //Flight Recorder present, but unable to initialize in this runtime
+            return false;
+        }
+    }
+
+    @Override
+    public void begin(String type, String operation) {
+        ParcelEvent event = new ParcelEvent();
+        event.type = type;
+        event.operation = operation;
+        event.begin();
+        EVENTS.get().add(event);
+    }
+
+    @Override
+    public void end(int bytes) {
+        List<ParcelEvent> events = EVENTS.get();
+        ParcelEvent event = events.remove(events.size() - 1);
+        event.end();
+        if(event.shouldCommit()) {
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    @Name("org.parceler.Parcel")
+    @Label("Parcel")
+    @Category("Parceler")
+    @Description("Write or read of a generated Parcelable")
+    static class ParcelEvent extends Event {
+        @Label("Type")
+        String type;
+        @Label("Operation")
+        String operation;
+        @Label("Bytes")
+        int bytes;
+    }
+}
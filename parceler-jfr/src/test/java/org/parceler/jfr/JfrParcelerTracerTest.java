@@ -0,0 +1,72 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.parceler.ParcelTracing;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @author John Ericksen
+ */
+public class JfrParcelerTracerTest {
+
+    private static final String EVENT_NAME = "org.parceler.Parcel";
+
+    @Test
+    public void testNestedEvents() throws Exception {
+        assumeTrue(JfrParcelerTracer.isAvailable());
+        JfrParcelerTracer tracer = new JfrParcelerTracer();
+        File dump = File.createTempFile("parceler", ".jfr");
+
+        Recording recording = new Recording();
+        try {
+            recording.enable(EVENT_NAME);
+            recording.start();
+            tracer.begin("com.example.Order", ParcelTracing.WRITE);
+            tracer.begin("com.example.Item", ParcelTracing.WRITE);
+            tracer.end(8);
+            tracer.end(12);
+            recording.stop();
+            recording.dump(dump.toPath());
+        } finally {
+            recording.close();
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump.toPath());
+        dump.delete();
+
+        assertEquals(2, events.size());
+        assertEquals("com.example.Item", events.get(0).getString("type"));
+        assertEquals(8, events.get(0).getInt("bytes"));
+        assertEquals("com.example.Order", events.get(1).getString("type"));
+        assertEquals(ParcelTracing.WRITE, events.get(1).getString("operation"));
+        assertEquals(12, events.get(1).getInt("bytes"));
+    }
+
+    @Test
+    public void testServiceRegistration() {
+        assertTrue(ParcelTracing.getTracer() instanceof JfrParcelerTracer);
+    }
+}
@@ -19,6 +19,7 @@ import com.google.auto.service.AutoService;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import org.androidtransfuse.AnnotationProcessorBase;
 import org.androidtransfuse.SupportedAnnotations;
 import org.androidtransfuse.adapter.ASTType;
@@ -26,6 +27,7 @@ import org.androidtransfuse.adapter.element.ReloadableASTElementFactory;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
 import org.androidtransfuse.scope.ScopeKey;
+import org.parceler.internal.LocalParcelRepository;
 import org.parceler.internal.ParcelProcessor;
 import org.parceler.internal.ParcelerModule;
 
@@ -51,12 +53,19 @@ import java.util.Set;
  *
  * @author John Ericksen
  */
-@SupportedAnnotations({Parcel.class, ParcelClass.class, ParcelClasses.class})
+@SupportedAnnotations({Parcel.class, ParcelClass.class, ParcelClasses.class, ParcelConverters.class})
 @Bootstrap
 @AutoService(Processor.class)
 @SupportedOptions({
         ParcelerModule.DEBUG,
-        ParcelerModule.STACKTRACE
+        ParcelerModule.STACKTRACE,
+        ParcelerModule.TREE_MODE,
+        ParcelerModule.ENUM_ORDINALS,
+        ParcelerModule.STRING_TABLE,
+        ParcelerModule.PRESIZE,
+        ParcelerModule.PROFILE,
+        ParcelerModule.TRACE,
+        ParcelerModule.CODEC
 })
 public class ParcelAnnotationProcessor extends AnnotationProcessorBase {
 
@@ -64,6 +73,8 @@ public class ParcelAnnotationProcessor extends AnnotationProcessorBase {
     private ParcelProcessor parcelProcessor;
     @Inject
     private ReloadableASTElementFactory reloadableASTElementFactory;
+    @Inject
+    private LocalParcelRepository localParcelRepository;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -77,13 +88,20 @@ public class ParcelAnnotationProcessor extends AnnotationProcessorBase {
     @Override
     public boolean process(Set<? extends TypeElement> typeElements, RoundEnvironment roundEnvironment) {
 
+        //registered up front, as a @Parcel may link to another generated later in the round
+        for (TypeElement parcelElement : getTypeElements(roundEnvironment, Parcel.class)) {
+            localParcelRepository.add(parcelElement.getQualifiedName().toString());
+        }
+
         parcelProcessor.submit(ParcelClass.class, buildASTCollection(roundEnvironment, ParcelClass.class));
         parcelProcessor.submit(ParcelClasses.class, buildASTCollection(roundEnvironment, ParcelClasses.class));
+        parcelProcessor.submit(ParcelConverters.class, buildASTCollection(roundEnvironment, ParcelConverters.class));
         parcelProcessor.submit(Parcel.class, buildASTCollection(roundEnvironment, Parcel.class));
 
         parcelProcessor.execute();
 
         if (roundEnvironment.processingOver()) {
+            parcelProcessor.writeRepositoryIndex();
             parcelProcessor.logErrors();
         }
 
@@ -91,20 +109,23 @@ public class ParcelAnnotationProcessor extends AnnotationProcessorBase {
     }
 
     private Collection<Provider<ASTType>> buildASTCollection(RoundEnvironment round, Class<? extends Annotation> annotation) {
-        return reloadableASTElementFactory.buildProviders(
-                FluentIterable.from(round.getElementsAnnotatedWith(annotation))
-                        .filter(new Predicate<Element>() {
-                            public boolean apply(Element element) {
-                                //we're only dealing with TypeElements
-                                return element instanceof TypeElement;
-                            }
-                        })
-                        .transform(new Function<Element, TypeElement>() {
-                            public TypeElement apply(Element element) {
-                                return (TypeElement)element;
-                            }
-                        })
-                        .toList());
+        return reloadableASTElementFactory.buildProviders(getTypeElements(round, annotation));
+    }
+
+    private ImmutableList<TypeElement> getTypeElements(RoundEnvironment round, Class<? extends Annotation> annotation) {
+        return FluentIterable.from(round.getElementsAnnotatedWith(annotation))
+                .filter(new Predicate<Element>() {
+                    public boolean apply(Element element) {
+                        //we're only dealing with TypeElements
+                        return element instanceof TypeElement;
+                    }
+                })
+                .transform(new Function<Element, TypeElement>() {
+                    public TypeElement apply(Element element) {
+                        return (TypeElement)element;
+                    }
+                })
+                .toList();
     }
 
     @Override
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.adapter.*;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.ClassNamer;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.util.Logger;
+import org.parceler.IdentityCollection;
+import org.parceler.ParcelCodec;
+import org.parceler.ParcelCodecs;
+import org.parceler.ParcelSink;
+import org.parceler.ParcelSource;
+import org.parceler.internal.generator.*;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Generates the `$$Codec` counterpart of a `$$Parcelable`, reusing the Parcelable read and write generation against
+ * `ParcelSink` and `ParcelSource` so the same layout may be encoded on a plain JVM.  Types with a property that may
+ * only be written to an `android.os.Parcel` (converters, Parcelables, Bundles, IBinders, etc) are skipped.
+ *
+ * @author John Ericksen
+ */
+public class CodecGenerator {
+
+    private static final Set<String> SINK_METHODS = methodNames(ParcelSink.class);
+
+    private final JCodeModel codeModel;
+    private final UniqueVariableNamer variableNamer;
+    private final ClassGenerationUtil generationUtil;
+    private final Provider<ParcelableGenerator> parcelableGeneratorProvider;
+    private final GeneratedClassContext classContext;
+    private final Generators generators;
+    private final ParcelableAnalysis analysis;
+    private final Logger logger;
+
+    @Inject
+    public CodecGenerator(JCodeModel codeModel,
+                          UniqueVariableNamer variableNamer,
+                          ClassGenerationUtil generationUtil,
+                          Provider<ParcelableGenerator> parcelableGeneratorProvider,
+                          GeneratedClassContext classContext,
+                          Generators generators,
+                          ParcelableAnalysis analysis,
+                          Logger logger) {
+        this.codeModel = codeModel;
+        this.variableNamer = variableNamer;
+        this.generationUtil = generationUtil;
+        this.parcelableGeneratorProvider = parcelableGeneratorProvider;
+        this.classContext = classContext;
+        this.generators = generators;
+        this.analysis = analysis;
+        this.logger = logger;
+    }
+
+    public void generateCodec(ASTType type, ParcelableDescriptor parcelableDescriptor) {
+        Set<ASTType> visited = new HashSet<ASTType>();
+        visited.add(type);
+        if(!isSupported(parcelableDescriptor, visited)) {
+            logger.warning("Skipping " + ParcelCodecs.CODEC_EXT + " generation for " + type.getName() + ", it contains properties which may only be written to an android.os.Parcel.");
+            return;
+        }
+
+        try {
+            JClass inputType = generationUtil.ref(type);
+            JClass sinkType = generationUtil.ref(ParcelSink.class);
+            JClass sourceType = generationUtil.ref(ParcelSource.class);
+
+            JDefinedClass codecClass = generationUtil.defineClass(ClassNamer.className(type).append(ParcelCodecs.CODEC_EXT).build());
+            codecClass._implements(generationUtil.ref(ParcelCodec.class).narrow(inputType));
+
+            classContext.begin(codecClass, parcelableDescriptor.isStringTable(), true);
+
+            ParcelableGenerator parcelableGenerator = parcelableGeneratorProvider.get();
+            ReadWriteGenerator rootGenerator = parcelableGenerator.getRootReadWriteGenerator(type);
+            //tree serialization skips identity tracking entirely
+            JExpression writeIdentityCollection = parcelableDescriptor.isTree() ? null : JExpr._new(codeModel.ref(IdentityCollection.class));
+            JExpression readIdentityCollection = parcelableDescriptor.isTree() ? null : JExpr._new(codeModel.ref(IdentityCollection.class));
+
+            //encode(input, sink)
+            JMethod encodeMethod = codecClass.method(JMod.PUBLIC, codeModel.VOID, ParcelCodec.ENCODE);
+            encodeMethod.annotate(Override.class);
+            JVar inputParam = encodeMethod.param(inputType, variableNamer.generateName(type));
+            JVar sinkParam = encodeMethod.param(sinkType, variableNamer.generateName(sinkType));
+            JBlock encodeBody = encodeMethod.body();
+            JVar flags = encodeBody.decl(codeModel.INT, variableNamer.generateName("flags"), JExpr.lit(0));
+
+            parcelableGenerator.buildWriteMethod(sinkType, codecClass, encodeBody, sinkParam, flags, type, inputParam, null, rootGenerator, writeIdentityCollection);
+
+            //decode(source)
+            JMethod decodeMethod = codecClass.method(JMod.PUBLIC, inputType, ParcelCodec.DECODE);
+            decodeMethod.annotate(Override.class);
+            JVar sourceParam = decodeMethod.param(sourceType, variableNamer.generateName(sourceType));
+
+            decodeMethod.body()._return(parcelableGenerator.buildReadMethod(sourceType, sourceParam, codecClass, type, null, rootGenerator, readIdentityCollection));
+
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Class Already Exists: " + ClassNamer.className(type).append(ParcelCodecs.CODEC_EXT).build(), e);
+        } finally {
+            classContext.end();
+        }
+    }
+
+    private boolean isSupported(ParcelableDescriptor parcelableDescriptor, Set<ASTType> visited) {
+        if(parcelableDescriptor == null || parcelableDescriptor.getParcelConverterType() != null) {
+            return false;
+        }
+
+        ConstructorReference constructorPair = parcelableDescriptor.getConstructorPair();
+        if(constructorPair != null) {
+            Collection<ASTParameter> parameters = constructorPair.getConstructor() != null ?
+                    constructorPair.getConstructor().getParameters() :
+                    constructorPair.getFactoryMethod().getParameters();
+            for (ASTParameter parameter : parameters) {
+                if(constructorPair.getConverters().containsKey(parameter) ||
+                        !isSupported(constructorPair.getWriteReference(parameter).getType(), visited)) {
+                    return false;
+                }
+            }
+        }
+        for (ReferencePair<FieldReference> fieldPair : parcelableDescriptor.getFieldPairs()) {
+            if(fieldPair.getConverter() != null || !isSupported(fieldPair.getAccessor().getType(), visited)) {
+                return false;
+            }
+        }
+        for (ReferencePair<MethodReference> methodPair : parcelableDescriptor.getMethodPairs()) {
+            if(methodPair.getConverter() != null || !isSupported(methodPair.getAccessor().getType(), visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupported(ASTType type, Set<ASTType> visited) {
+        if(type.getName().startsWith("android.")) {
+            return false;
+        }
+        ReadWriteGenerator generator = generators.getGenerator(type);
+        while(generator instanceof NullCheckReadWriteGenerator) {
+            generator = ((NullCheckReadWriteGenerator) generator).getGenerator();
+        }
+
+        if(generator instanceof ParcelReadWriteGenerator || generator instanceof LinkParcelReadWriteGenerator) {
+            //recursive references are checked once
+            return !visited.add(type) || isSupported(analysis.analyze(type), visited);
+        }
+        if(generator instanceof ListReadWriteGenerator || generator instanceof SetReadWriteGenerator || generator instanceof MapReadWriteGenerator) {
+            if(type.getGenericArgumentTypes().isEmpty()) {
+                return false;
+            }
+            for (ASTType argumentType : type.getGenericArgumentTypes()) {
+                if(!isSupported(argumentType, visited)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if(generator instanceof ArrayReadWriteGenerator) {
+            return isSupported(((ASTArrayType) type).getComponentType(), visited);
+        }
+        return generator instanceof ReadWriteGeneratorBase && SINK_METHODS.contains(((ReadWriteGeneratorBase) generator).getWriteMethod());
+    }
+
+    private static Set<String> methodNames(Class<?> type) {
+        Set<String> names = new HashSet<String>();
+        for (Method method : type.getMethods()) {
+            names.add(method.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.parceler.StatefulConverter;
+
+import javax.inject.Inject;
+
+/**
+ * Builds the converter instance referenced by generated code, shared as a `static final` field of the generated class
+ * unless the converter is annotated `@StatefulConverter`.
+ *
+ * @author John Ericksen
+ */
+public class ConverterInstanceBuilder {
+
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer variableNamer;
+    private final GeneratedClassContext classContext;
+
+    @Inject
+    public ConverterInstanceBuilder(ClassGenerationUtil generationUtil, UniqueVariableNamer variableNamer, GeneratedClassContext classContext) {
+        this.generationUtil = generationUtil;
+        this.variableNamer = variableNamer;
+        this.classContext = classContext;
+    }
+
+    public JExpression build(ASTType converter) {
+        JClass converterType = generationUtil.ref(converter);
+        if(converter.isAnnotated(StatefulConverter.class) || classContext.getHolder() == null) {
+            return JExpr._new(converterType);
+        }
+        //share a single converter instance per generated class
+        String key = "converter:" + converter.getName();
+        JFieldVar converterField = classContext.getStaticField(key);
+        if(converterField == null) {
+            converterField = classContext.getHolder().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, converterType,
+                    variableNamer.generateName(converter), JExpr._new(converterType));
+            classContext.putStaticField(key, converterField);
+        }
+        return converterField;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.ASTGenericParameterType;
+import org.androidtransfuse.adapter.ASTType;
+import org.parceler.TypeRangeParcelConverter;
+
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converters registered through `@ParcelConverters`, keyed by the types they convert.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ConverterRepository {
+
+    private static final String LOWER = "L";
+    private static final String UPPER = "U";
+
+    private final Map<ASTType, ASTType> converters = new HashMap<ASTType, ASTType>();
+
+    /**
+     * Registers the given converter for both the type it writes and the type it reads.
+     *
+     * @return false if the converted types could not be resolved from the converter's generic parameters.
+     */
+    public boolean add(ASTType converter){
+        Map<String, ASTType> rangeArguments = resolveRangeArguments(converter, Collections.<String, ASTType>emptyMap());
+
+        if(rangeArguments == null || rangeArguments.get(LOWER) == null || rangeArguments.get(UPPER) == null){
+            return false;
+        }
+        converters.put(rangeArguments.get(LOWER), converter);
+        converters.put(rangeArguments.get(UPPER), converter);
+        return true;
+    }
+
+    /**
+     * Walks the hierarchy of the given type, binding each generic parameter to its concrete argument, until
+     * TypeRangeParcelConverter is reached.
+     */
+    private Map<String, ASTType> resolveRangeArguments(ASTType type, Map<String, ASTType> bindings){
+        if(type == null){
+            return null;
+        }
+        Map<String, ASTType> typeBindings = new HashMap<String, ASTType>();
+        for(int i = 0; i < type.getGenericArguments().size() && i < type.getGenericArgumentTypes().size(); i++){
+            ASTType argument = type.getGenericArgumentTypes().get(i);
+            if(argument instanceof ASTGenericParameterType){
+                argument = bindings.get(((ASTGenericParameterType) argument).getArgument().getName());
+            }
+            typeBindings.put(type.getGenericArguments().get(i).getName(), argument);
+        }
+        if(type.getName().equals(TypeRangeParcelConverter.class.getName())){
+            return typeBindings;
+        }
+        for (ASTType implemented : type.getInterfaces()) {
+            Map<String, ASTType> resolved = resolveRangeArguments(implemented, typeBindings);
+            if(resolved != null){
+                return resolved;
+            }
+        }
+        return resolveRangeArguments(type.getSuperClass(), typeBindings);
+    }
+
+    public boolean contains(ASTType type) {
+        return converters.containsKey(type);
+    }
+
+    public ASTType get(ASTType type) {
+        return converters.get(type);
+    }
+}
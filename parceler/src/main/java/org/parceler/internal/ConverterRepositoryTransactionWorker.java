@@ -0,0 +1,59 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.ASTAnnotation;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.transaction.AbstractCompletionTransactionWorker;
+import org.androidtransfuse.validation.Validator;
+import org.parceler.ParcelConverters;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * Registers the converters declared by a `@ParcelConverters` annotated class.
+ *
+ * @author John Ericksen
+ */
+public class ConverterRepositoryTransactionWorker extends AbstractCompletionTransactionWorker<Provider<ASTType>, Provider<ASTType>> {
+
+    private final ConverterRepository repository;
+    private final Validator validator;
+
+    @Inject
+    public ConverterRepositoryTransactionWorker(ConverterRepository repository, Validator validator) {
+        this.repository = repository;
+        this.validator = validator;
+    }
+
+    @Override
+    public Provider<ASTType> innerRun(Provider<ASTType> valueProvider) {
+
+        ASTType value = valueProvider.get();
+
+        ASTAnnotation convertersAnnotation = value.getASTAnnotation(ParcelConverters.class);
+        if(convertersAnnotation != null){
+            for(ASTType converter : convertersAnnotation.getProperty("value", ASTType[].class)){
+                if(!repository.add(converter)){
+                    validator.error("Unable to determine the type converted by " + converter.getName() + ", converters registered by @ParcelConverters must declare concrete generic parameters.")
+                            .element(value).annotation(convertersAnnotation).build();
+                }
+            }
+        }
+        return valueProvider;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of the `$$Parcelable` or `$$Codec` class currently being generated, shared by the generators contributing to
+ * it between `begin()` and `end()`:
+ *
+ * * the holder, the class being generated
+ * * the `private static final` fields declared on the holder, keyed by the generator declaring them: the
+ *   `InjectionUtil` accessors of referenced private members, the shared instances of stateless converters and the
+ *   cached `values()` arrays of enums read by ordinal
+ * * whether Strings are written through the String table (`@Parcel(stringTable = true)`)
+ * * whether the holder is a `$$Codec`, targeting `ParcelSink` and `ParcelSource` rather than `android.os.Parcel`
+ *
+ * Outside of a generated class the holder is null, and generators fall back to per-call lookups and instances.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class GeneratedClassContext {
+
+    private JDefinedClass holder;
+    private Map<String, JFieldVar> staticFields = new HashMap<String, JFieldVar>();
+    private boolean stringTable;
+    private boolean codec;
+
+    public void begin(JDefinedClass holder, boolean stringTable) {
+        begin(holder, stringTable, false);
+    }
+
+    public void begin(JDefinedClass holder, boolean stringTable, boolean codec) {
+        this.holder = holder;
+        this.staticFields = new HashMap<String, JFieldVar>();
+        this.stringTable = stringTable;
+        this.codec = codec;
+    }
+
+    public void end() {
+        this.holder = null;
+        this.staticFields = new HashMap<String, JFieldVar>();
+        this.stringTable = false;
+        this.codec = false;
+    }
+
+    public boolean isStringTable() {
+        return stringTable;
+    }
+
+    public boolean isCodec() {
+        return codec;
+    }
+
+    public JDefinedClass getHolder() {
+        return holder;
+    }
+
+    public JFieldVar getStaticField(String key) {
+        return staticFields.get(key);
+    }
+
+    public void putStaticField(String key, JFieldVar field) {
+        staticFields.put(key, field);
+    }
+}
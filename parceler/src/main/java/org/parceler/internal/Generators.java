@@ -15,6 +15,7 @@
  */
 package org.parceler.internal;
 
+import org.androidtransfuse.adapter.ASTArrayType;
 import org.androidtransfuse.adapter.ASTStringType;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.adapter.classes.ASTClassFactory;
@@ -24,10 +25,16 @@ import org.parceler.ParcelerRuntimeException;
 import org.parceler.internal.generator.ReadWriteGenerator;
 import org.parceler.internal.generator.SimpleReadWriteGenerator;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
+ * Registry of the `ReadWriteGenerator` used for each property type, matched in order of registration.
+ *
+ * Resolutions, including types without a generator, are memoized by type and generic signature for the lifetime of the
+ * registry, so nested generic properties are matched once rather than once per enclosing collection.
+ *
  * @author John Ericksen
  */
 public class Generators {
@@ -35,27 +42,39 @@ public class Generators {
     private final ASTClassFactory astClassFactory;
 
     private final Map<Matcher<ASTType>, ReadWriteGenerator> generators = new LinkedHashMap<Matcher<ASTType>, ReadWriteGenerator>();
+    //null values record types without a generator
+    private final Map<TypeKey, ReadWriteGenerator> resolved = new HashMap<TypeKey, ReadWriteGenerator>();
 
     public Generators(ASTClassFactory astClassFactory) {
         this.astClassFactory = astClassFactory;
     }
 
     public boolean matches(ASTType type){
-        for (Matcher<ASTType> matcher : generators.keySet()) {
-            if(matcher.matches(type)){
-                return true;
-            }
-        }
-        return false;
+        return resolve(type) != null;
     }
 
     public ReadWriteGenerator getGenerator(ASTType type) {
+        ReadWriteGenerator generator = resolve(type);
+        if(generator == null){
+            throw new ParcelerRuntimeException("Unable to find appropriate Parcel method to write " + type.getName());
+        }
+        return generator;
+    }
+
+    private ReadWriteGenerator resolve(ASTType type) {
+        TypeKey key = new TypeKey(type);
+        if(resolved.containsKey(key)){
+            return resolved.get(key);
+        }
+        ReadWriteGenerator generator = null;
         for (Map.Entry<Matcher<ASTType>, ReadWriteGenerator> generatorEntry : generators.entrySet()) {
             if(generatorEntry.getKey().matches(type)){
-                return generatorEntry.getValue();
+                generator = generatorEntry.getValue();
+                break;
             }
         }
-        throw new ParcelerRuntimeException("Unable to find appropriate Parcel method to write " + type.getName());
+        resolved.put(key, generator);
+        return generator;
     }
 
     public void addPair(Class clazz, String readMethod, String writeMethod) {
@@ -88,9 +107,65 @@ public class Generators {
 
     public void add(Matcher<ASTType> matcher, ReadWriteGenerator generator) {
         generators.put(matcher, generator);
+        //a new matcher may change any prior resolution
+        resolved.clear();
     }
 
     protected Map<Matcher<ASTType>, ReadWriteGenerator> getGenerators() {
         return generators;
     }
+
+    /**
+     * Identifies a type along with its full generic signature, as collection matching depends on the generic arguments.
+     */
+    private static final class TypeKey {
+
+        private final ASTType type;
+        private final String signature;
+
+        private TypeKey(ASTType type) {
+            this.type = type;
+            StringBuilder builder = new StringBuilder();
+            appendSignature(builder, type);
+            this.signature = builder.toString();
+        }
+
+        private static void appendSignature(StringBuilder builder, ASTType type) {
+            if(type instanceof ASTArrayType){
+                appendSignature(builder, ((ASTArrayType) type).getComponentType());
+                builder.append("[]");
+                return;
+            }
+            builder.append(type.getName());
+            if(!type.getGenericArgumentTypes().isEmpty()){
+                builder.append('<');
+                boolean first = true;
+                for (ASTType argument : type.getGenericArgumentTypes()) {
+                    if(!first){
+                        builder.append(',');
+                    }
+                    appendSignature(builder, argument);
+                    first = false;
+                }
+                builder.append('>');
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypeKey)) {
+                return false;
+            }
+            TypeKey that = (TypeKey) o;
+            return type.equals(that.type) && signature.equals(that.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + signature.hashCode();
+        }
+    }
 }
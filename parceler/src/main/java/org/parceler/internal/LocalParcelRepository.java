@@ -0,0 +1,50 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.ASTType;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records the `@Parcel` types generated by the current compilation, as opposed to linked types whose Parcelable wrapper
+ * was compiled into a library, possibly by an older Parceler.  Processor options changing the generated signatures
+ * apply only to the former.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class LocalParcelRepository {
+
+    private final ExternalParcelRepository externalParcelRepository;
+    private Set<String> localParcels = new HashSet<String>();
+
+    @Inject
+    public LocalParcelRepository(ExternalParcelRepository externalParcelRepository) {
+        this.externalParcelRepository = externalParcelRepository;
+    }
+
+    public void add(String parcelTypeName){
+        localParcels.add(parcelTypeName);
+    }
+
+    public boolean contains(ASTType parcelType) {
+        return localParcels.contains(parcelType.getName()) || externalParcelRepository.contains(parcelType);
+    }
+}
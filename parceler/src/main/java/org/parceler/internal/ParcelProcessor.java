@@ -23,6 +23,7 @@ import org.androidtransfuse.util.Logger;
 import org.parceler.Parcel;
 import org.parceler.ParcelClass;
 import org.parceler.ParcelClasses;
+import org.parceler.ParcelConverters;
 
 import javax.inject.Provider;
 import java.lang.annotation.Annotation;
@@ -38,9 +39,13 @@ public class ParcelProcessor {
     private final TransactionProcessorPool<Provider<ASTType>, Provider<ASTType>> externalParcelRepositoryProcessor;
     private final TransactionProcessorPool<Provider<ASTType>, Void> externalParcelProcessor;
     private final TransactionProcessorPool<Provider<ASTType>, Void> parcelProcessor;
+    private final TransactionProcessorPool<Void, Void> repositoryProcessor;
     private final Provider<ExternalParcelRepositoryTransactionWorker> externalParcelRepositoryTransactionWorkerProvider;
+    private final Provider<ConverterRepositoryTransactionWorker> converterRepositoryTransactionWorkerProvider;
     private final Provider<ExternalParcelTransactionWorker> externalParcelTransactionWorkerProvider;
     private final Provider<ParcelTransactionWorker> parcelTransactionWorkerProvider;
+    private final Provider<ParcelableFactoryRepositoryGenerator> repositoryGeneratorProvider;
+    private final ParcelableFactoryIndexWriter indexWriter;
     private final ScopedTransactionBuilder scopedTransactionBuilder;
     private final Logger logger;
     private final boolean stacktrace;
@@ -49,9 +54,13 @@ public class ParcelProcessor {
                            TransactionProcessorPool<Provider<ASTType>, Provider<ASTType>> externalParcelRepositoryProcessor,
                            TransactionProcessorPool<Provider<ASTType>, Void> externalParcelProcessor,
                            TransactionProcessorPool<Provider<ASTType>, Void> parcelProcessor,
+                           TransactionProcessorPool<Void, Void> repositoryProcessor,
                            Provider<ExternalParcelRepositoryTransactionWorker> externalParcelRepositoryTransactionWorkerProvider,
+                           Provider<ConverterRepositoryTransactionWorker> converterRepositoryTransactionWorkerProvider,
                            Provider<ExternalParcelTransactionWorker> externalParcelTransactionWorkerProvider,
                            Provider<ParcelTransactionWorker> parcelTransactionWorkerProvider,
+                           Provider<ParcelableFactoryRepositoryGenerator> repositoryGeneratorProvider,
+                           ParcelableFactoryIndexWriter indexWriter,
                            ScopedTransactionBuilder scopedTransactionBuilder,
                            Logger logger,
                            boolean stacktrace) {
@@ -59,9 +68,13 @@ public class ParcelProcessor {
         this.externalParcelRepositoryProcessor = externalParcelRepositoryProcessor;
         this.externalParcelProcessor = externalParcelProcessor;
         this.parcelProcessor = parcelProcessor;
+        this.repositoryProcessor = repositoryProcessor;
         this.externalParcelRepositoryTransactionWorkerProvider = externalParcelRepositoryTransactionWorkerProvider;
+        this.converterRepositoryTransactionWorkerProvider = converterRepositoryTransactionWorkerProvider;
         this.externalParcelTransactionWorkerProvider = externalParcelTransactionWorkerProvider;
         this.parcelTransactionWorkerProvider = parcelTransactionWorkerProvider;
+        this.repositoryGeneratorProvider = repositoryGeneratorProvider;
+        this.indexWriter = indexWriter;
         this.scopedTransactionBuilder = scopedTransactionBuilder;
         this.logger = logger;
         this.stacktrace = stacktrace;
@@ -73,6 +86,10 @@ public class ParcelProcessor {
                 externalParcelRepositoryProcessor.submit(scopedTransactionBuilder.build(parcelProvider, externalParcelRepositoryTransactionWorkerProvider));
                 externalParcelProcessor.submit(scopedTransactionBuilder.build(parcelProvider, externalParcelTransactionWorkerProvider));
             }
+            if(annotation == ParcelConverters.class){
+                //registered alongside the external parcels, ahead of generation
+                externalParcelRepositoryProcessor.submit(scopedTransactionBuilder.build(parcelProvider, converterRepositoryTransactionWorkerProvider));
+            }
             if(annotation == Parcel.class){
                 parcelProcessor.submit(scopedTransactionBuilder.build(parcelProvider, parcelTransactionWorkerProvider));
             }
@@ -80,9 +97,15 @@ public class ParcelProcessor {
     }
 
     public void execute() {
+        //collects the Parcelables generated this round into a ParcelableFactory repository
+        repositoryProcessor.submit(scopedTransactionBuilder.build(repositoryGeneratorProvider));
         processor.execute();
     }
 
+    public void writeRepositoryIndex() {
+        indexWriter.write();
+    }
+
     public void logErrors() {
         if (!processor.isComplete()) {
             if (stacktrace) {
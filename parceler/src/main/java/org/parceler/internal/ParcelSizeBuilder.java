@@ -0,0 +1,229 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.google.common.collect.UnmodifiableIterator;
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.ClassNamer;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.parceler.IdentityCollection;
+import org.parceler.ParcelSizes;
+import org.parceler.Parcels;
+import org.parceler.internal.generator.*;
+
+import javax.inject.Inject;
+
+/**
+ * Builds the body of the generated `sizeOf()` methods, adding the number of bytes each value would be written as to a
+ * running size variable.  Values are dispatched on the same `ReadWriteGenerator` used to write them: primitives,
+ * strings, enums, collections and linked `@Parcel` types generated in this compilation are computed directly, while any
+ * other generator is measured by running its writer against a scratch Parcel obtained on first use.
+ *
+ * @author John Ericksen
+ */
+public class ParcelSizeBuilder {
+
+    private static final String ANDROID_PARCEL = "android.os.Parcel";
+
+    private final JCodeModel codeModel;
+    private final UniqueVariableNamer namer;
+    private final ClassGenerationUtil generationUtil;
+    private final Generators generators;
+    private final ASTClassFactory astClassFactory;
+    private final EnumReadWriteGenerator enumReadWriteGenerator;
+    private final GeneratedClassContext classContext;
+    private final LocalParcelRepository localParcelRepository;
+
+    @Inject
+    public ParcelSizeBuilder(JCodeModel codeModel, UniqueVariableNamer namer, ClassGenerationUtil generationUtil, Generators generators, ASTClassFactory astClassFactory, EnumReadWriteGenerator enumReadWriteGenerator, GeneratedClassContext classContext, LocalParcelRepository localParcelRepository) {
+        this.codeModel = codeModel;
+        this.namer = namer;
+        this.generationUtil = generationUtil;
+        this.generators = generators;
+        this.astClassFactory = astClassFactory;
+        this.enumReadWriteGenerator = enumReadWriteGenerator;
+        this.classContext = classContext;
+        this.localParcelRepository = localParcelRepository;
+    }
+
+    /**
+     * Running state of a single `sizeOf()` method.
+     */
+    public static final class SizeContext {
+        private final JBlock methodBody;
+        private final JVar size;
+        private final JVar identityMap;
+        private final JDefinedClass parcelableClass;
+        private int headerEnd;
+        private JVar scratch;
+        private JVar flags;
+
+        private SizeContext(JBlock methodBody, JVar size, JVar identityMap, JDefinedClass parcelableClass) {
+            this.methodBody = methodBody;
+            this.size = size;
+            this.identityMap = identityMap;
+            this.parcelableClass = parcelableClass;
+            this.headerEnd = methodBody.pos();
+        }
+
+        public JVar getSize() {
+            return size;
+        }
+
+        public JVar getIdentityMap() {
+            return identityMap;
+        }
+    }
+
+    /**
+     * Starts measuring within the given method body, after the declaration of the size variable.
+     *
+     * @param identityMap identities measured so far, null for tree serialization
+     */
+    public SizeContext begin(JBlock methodBody, JVar size, JVar identityMap, JDefinedClass parcelableClass) {
+        return new SizeContext(methodBody, size, identityMap, parcelableClass);
+    }
+
+    /**
+     * Releases the scratch Parcel, if one was used, and returns the accumulated size.
+     */
+    public void finish(SizeContext context) {
+        if(context.scratch != null) {
+            context.methodBody.invoke(context.scratch, "recycle");
+        }
+        context.methodBody._return(context.size);
+    }
+
+    /**
+     * Adds a fixed number of bytes to the size.
+     */
+    public void add(JBlock body, int bytes, SizeContext context) {
+        if(bytes != 0) {
+            body.assignPlus(context.size, JExpr.lit(bytes));
+        }
+    }
+
+    /**
+     * Adds the number of bytes the given generator would write for the given value.
+     */
+    public void buildSize(JBlock body, ASTType type, ReadWriteGenerator generator, JExpression value, SizeContext context) {
+        if(generator instanceof NullCheckReadWriteGenerator) {
+            add(body, ParcelSizes.INT, context);
+            JBlock nonNullBody = body._if(value.ne(JExpr._null()))._then();
+            buildSize(nonNullBody, type, ((NullCheckReadWriteGenerator) generator).getGenerator(), value, context);
+        }
+        else if(generator instanceof BooleanEntryReadWriteGenerator || generator instanceof IntEncodedReadWriteGenerator) {
+            add(body, ParcelSizes.INT, context);
+        }
+        else if(generator instanceof SimpleReadWriteGenerator && fixedSize(((SimpleReadWriteGenerator) generator).getWriteMethod()) > 0) {
+            add(body, fixedSize(((SimpleReadWriteGenerator) generator).getWriteMethod()), context);
+        }
+        else if(generator instanceof StringReadWriteGenerator) {
+            JInvocation ofString = generationUtil.ref(ParcelSizes.class).staticInvoke(ParcelSizes.OF_STRING_METHOD).arg(value);
+            if(context.identityMap != null && classContext.isStringTable()) {
+                ofString.arg(context.identityMap);
+            }
+            body.assignPlus(context.size, ofString);
+        }
+        else if(generator instanceof EnumReadWriteGenerator) {
+            if(enumReadWriteGenerator.isOrdinal(type)) {
+                add(body, ParcelSizes.INT, context);
+            }
+            else {
+                JClass enumClassRef = generationUtil.ref(type);
+                JVar enumVar = body.decl(enumClassRef, namer.generateName(enumClassRef), value);
+                body.assignPlus(context.size, generationUtil.ref(ParcelSizes.class).staticInvoke(ParcelSizes.OF_STRING_METHOD)
+                        .arg(JOp.cond(enumVar.eq(JExpr._null()), JExpr._null(), enumVar.invoke("name"))));
+            }
+        }
+        else if(generator instanceof EnumSetReadWriteGenerator) {
+            add(body, ParcelSizes.LONG, context);
+        }
+        else if(generator instanceof LinkParcelReadWriteGenerator && localParcelRepository.contains(type)) {
+            //only types generated here are known to declare sizeOf(), library types may predate it and fall through to the scratch Parcel
+            PackageClass packageClass = ClassNamer.className(type).append(Parcels.IMPL_EXT).build();
+            JExpression identityMap = context.identityMap == null ? JExpr._new(generationUtil.ref(IdentityCollection.class)) : context.identityMap;
+            body.assignPlus(context.size, generationUtil.ref(packageClass).staticInvoke(Parcels.ParcelAccessor.SIZE_OF).arg(value).arg(identityMap));
+        }
+        else if(generator instanceof ListReadWriteGenerator || generator instanceof SetReadWriteGenerator) {
+            ASTType componentType = astClassFactory.getType(Object.class);
+            if(type.getGenericArgumentTypes().size() == 1){
+                componentType = type.getGenericArgumentTypes().iterator().next();
+            }
+            add(body, ParcelSizes.INT, context);
+            JBlock nonNullBody = body._if(value.ne(JExpr._null()))._then();
+            JForEach forEach = nonNullBody.forEach(generationUtil.narrowRef(componentType), namer.generateName(componentType), value);
+            buildSize(forEach.body(), componentType, generators.getGenerator(componentType), forEach.var(), context);
+        }
+        else if(generator instanceof MapReadWriteGenerator) {
+            ASTType keyComponentType = astClassFactory.getType(Object.class);
+            ASTType valueComponentType = astClassFactory.getType(Object.class);
+            if(type.getGenericArgumentTypes().size() == 2){
+                UnmodifiableIterator<ASTType> iterator = type.getGenericArgumentTypes().iterator();
+                keyComponentType = iterator.next();
+                valueComponentType = iterator.next();
+            }
+            JClass entryType = generationUtil.ref(java.util.Map.Entry.class).narrow(generationUtil.narrowRef(keyComponentType), generationUtil.narrowRef(valueComponentType));
+            add(body, ParcelSizes.INT, context);
+            JBlock nonNullBody = body._if(value.ne(JExpr._null()))._then();
+            JForEach forEach = nonNullBody.forEach(entryType, namer.generateName(entryType), value.invoke("entrySet"));
+            buildSize(forEach.body(), keyComponentType, generators.getGenerator(keyComponentType), forEach.var().invoke("getKey"), context);
+            buildSize(forEach.body(), valueComponentType, generators.getGenerator(valueComponentType), forEach.var().invoke("getValue"), context);
+        }
+        else {
+            buildScratchSize(body, type, generator, value, context);
+        }
+    }
+
+    /**
+     * Measures the given value by writing it to the scratch Parcel.
+     */
+    public void buildScratchSize(JBlock body, ASTType type, ReadWriteGenerator generator, JExpression value, SizeContext context) {
+        JVar scratch = getScratch(context);
+        JVar start = body.decl(codeModel.INT, namer.generateName("start"), scratch.invoke("dataPosition"));
+        generator.generateWriter(body, scratch, context.flags, type, value, context.parcelableClass, context.identityMap);
+        body.assignPlus(context.size, scratch.invoke("dataPosition").minus(start));
+    }
+
+    private JVar getScratch(SizeContext context) {
+        if(context.scratch == null) {
+            //declared once at the top of the method, ahead of the statements that use it
+            JBlock methodBody = context.methodBody;
+            int tail = methodBody.pos(context.headerEnd);
+            JClass parcelRef = generationUtil.ref(ANDROID_PARCEL);
+            context.scratch = methodBody.decl(parcelRef, namer.generateName("scratch"), parcelRef.staticInvoke("obtain"));
+            context.flags = methodBody.decl(codeModel.INT, namer.generateName("flags"), JExpr.lit(0));
+            int added = methodBody.pos() - context.headerEnd;
+            context.headerEnd = methodBody.pos();
+            methodBody.pos(tail + added);
+        }
+        return context.scratch;
+    }
+
+    private static int fixedSize(String writeMethod) {
+        if("writeInt".equals(writeMethod) || "writeFloat".equals(writeMethod) || "writeByte".equals(writeMethod)) {
+            return ParcelSizes.INT;
+        }
+        if("writeLong".equals(writeMethod) || "writeDouble".equals(writeMethod)) {
+            return ParcelSizes.LONG;
+        }
+        return 0;
+    }
+}
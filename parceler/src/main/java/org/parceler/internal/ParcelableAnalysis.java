@@ -28,6 +28,7 @@ import org.androidtransfuse.validation.Validator;
 import org.parceler.*;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.lang.annotation.Annotation;
@@ -50,12 +51,18 @@ public class ParcelableAnalysis {
     private final Validator validator;
     private final Provider<Generators> generatorsProvider;
     private final ASTClassFactory astClassFactory;
+    private final LocalParcelRepository localParcelRepository;
+    private final boolean treeMode;
+    private final boolean stringTable;
 
     @Inject
-    public ParcelableAnalysis(Validator validator, Provider<Generators> generatorsProvider, ASTClassFactory astClassFactory) {
+    public ParcelableAnalysis(Validator validator, Provider<Generators> generatorsProvider, ASTClassFactory astClassFactory, LocalParcelRepository localParcelRepository, @Named(ParcelerModule.TREE_MODE) boolean treeMode, @Named(ParcelerModule.STRING_TABLE) boolean stringTable) {
         this.validator = validator;
         this.generatorsProvider = generatorsProvider;
         this.astClassFactory = astClassFactory;
+        this.localParcelRepository = localParcelRepository;
+        this.treeMode = treeMode;
+        this.stringTable = stringTable;
     }
 
     public ParcelableDescriptor analyze(ASTType astType) {
@@ -71,6 +78,28 @@ public class ParcelableAnalysis {
         return parcelableCache.get(astType);
     }
 
+    /**
+     * Determines if the given type is serialized as a tree, without identity tracking, without requiring a full analysis
+     * of the type.
+     */
+    public boolean isTree(ASTType astType) {
+        ParcelableDescriptor descriptor = parcelableCache.get(astType);
+        if(descriptor != null) {
+            return descriptor.isTree();
+        }
+        return isTree(astType, astType.getASTAnnotation(Parcel.class));
+    }
+
+    private boolean isTree(ASTType astType, ASTAnnotation parcelASTAnnotation) {
+        //the processor option only applies to types generated here, library types keep the signature they were built with
+        return (treeMode && localParcelRepository.contains(astType)) ||
+                (parcelASTAnnotation != null && Boolean.TRUE.equals(parcelASTAnnotation.getProperty("tree", boolean.class)));
+    }
+
+    private boolean isStringTable(ASTAnnotation parcelASTAnnotation) {
+        return stringTable || (parcelASTAnnotation != null && Boolean.TRUE.equals(parcelASTAnnotation.getProperty("stringTable", boolean.class)));
+    }
+
     private ParcelableDescriptor innerAnalyze(ASTType astType, ASTAnnotation parcelASTAnnotation) {
 
         ASTType converter = getConverterType(parcelASTAnnotation);
@@ -357,6 +386,10 @@ public class ParcelableAnalysis {
             return null;
         }
 
+        parcelableDescriptor.setTree(isTree(astType, parcelASTAnnotation));
+        parcelableDescriptor.setStringTable(isStringTable(parcelASTAnnotation));
+        parcelableDescriptor.setLazy(parcelASTAnnotation != null && Boolean.TRUE.equals(parcelASTAnnotation.getProperty("lazy", boolean.class)));
+
         return parcelableDescriptor;
     }
 
@@ -35,6 +35,9 @@ public class ParcelableDescriptor {
     private List<ASTMethod> wrapCallbacks = new ArrayList<ASTMethod>();
     private List<ASTMethod> unwrapCallbacks = new ArrayList<ASTMethod>();
     private final Integer describeContents;
+    private boolean tree;
+    private boolean stringTable;
+    private boolean lazy;
 
     public ParcelableDescriptor() {
         this(null, null);
@@ -87,4 +90,28 @@ public class ParcelableDescriptor {
     public Integer getDescribeContents() {
         return describeContents;
     }
+
+    public boolean isTree() {
+        return tree;
+    }
+
+    public void setTree(boolean tree) {
+        this.tree = tree;
+    }
+
+    public boolean isStringTable() {
+        return stringTable;
+    }
+
+    public void setStringTable(boolean stringTable) {
+        this.stringTable = stringTable;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
 }
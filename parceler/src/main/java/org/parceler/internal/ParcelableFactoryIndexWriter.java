@@ -0,0 +1,75 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.util.Logger;
+import org.parceler.Repository;
+
+import javax.annotation.processing.Filer;
+import javax.inject.Inject;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes the `ServiceLoader` index listing the generated `ParcelableFactory` repositories.  The Filer only allows a
+ * resource to be created once, so this is run after the final processing round.
+ *
+ * @author John Ericksen
+ */
+public class ParcelableFactoryIndexWriter {
+
+    public static final String INDEX_RESOURCE = "META-INF/services/" + Repository.class.getName();
+
+    private final ParcelableFactoryRegistry registry;
+    private final Filer filer;
+    private final Logger logger;
+
+    @Inject
+    public ParcelableFactoryIndexWriter(ParcelableFactoryRegistry registry, Filer filer, Logger logger) {
+        this.registry = registry;
+        this.filer = filer;
+        this.logger = logger;
+    }
+
+    public void write() {
+        if(registry.getRepositories().isEmpty()){
+            return;
+        }
+        Writer writer = null;
+        try {
+            FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE);
+            writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            for (PackageClass repository : registry.getRepositories()) {
+                writer.write(repository.getFullyQualifiedName());
+                writer.write("\n");
+            }
+        } catch (IOException e) {
+            logger.error("Unable to write the Parceler repository index " + INDEX_RESOURCE, e);
+        } finally {
+            if(writer != null){
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    logger.error("Unable to close the Parceler repository index " + INDEX_RESOURCE, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+
+import javax.inject.Singleton;
+import java.util.*;
+
+/**
+ * Collects the generated Parcelable wrappers awaiting a generated `ParcelableFactory` repository, along with the
+ * repositories generated so far.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ParcelableFactoryRegistry {
+
+    private Map<ASTType, PackageClass> pending = new LinkedHashMap<ASTType, PackageClass>();
+    private Map<ASTType, Boolean> accessors = new HashMap<ASTType, Boolean>();
+    private Set<PackageClass> repositories = new LinkedHashSet<PackageClass>();
+
+    public void add(ASTType parcelType, PackageClass parcelableClass){
+        pending.put(parcelType, parcelableClass);
+    }
+
+    /**
+     * Marks the given type's Parcelable wrapper as declaring the static `write()` and `read()` methods, with or without
+     * the identity collection parameter depending on tree mode.
+     */
+    public void addAccessor(ASTType parcelType, boolean tree){
+        accessors.put(parcelType, tree);
+    }
+
+    public boolean hasAccessor(ASTType parcelType){
+        return accessors.containsKey(parcelType);
+    }
+
+    public boolean isTree(ASTType parcelType){
+        return Boolean.TRUE.equals(accessors.get(parcelType));
+    }
+
+    /**
+     * Removes and returns the pending Parcelable wrappers, grouped by package.
+     */
+    public Map<String, Map<ASTType, PackageClass>> drain(){
+        Map<String, Map<ASTType, PackageClass>> packages = new TreeMap<String, Map<ASTType, PackageClass>>();
+        for (Map.Entry<ASTType, PackageClass> entry : pending.entrySet()) {
+            String packageName = entry.getValue().getPackage();
+            if(!packages.containsKey(packageName)){
+                packages.put(packageName, new LinkedHashMap<ASTType, PackageClass>());
+            }
+            packages.get(packageName).put(entry.getKey(), entry.getValue());
+        }
+        pending.clear();
+        return packages;
+    }
+
+    public void addRepository(PackageClass repositoryClass){
+        repositories.add(repositoryClass);
+    }
+
+    public Set<PackageClass> getRepositories() {
+        return repositories;
+    }
+}
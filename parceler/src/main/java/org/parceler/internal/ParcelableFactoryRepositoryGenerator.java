@@ -0,0 +1,156 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.transaction.AbstractCompletionTransactionWorker;
+import org.parceler.IdentityCollection;
+import org.parceler.Parcels;
+import org.parceler.Repository;
+
+import javax.inject.Inject;
+import java.util.*;
+
+/**
+ * Generates a `Repository<ParcelableFactory>` per package for the Parcelable wrappers generated since the last run.
+ * Each wrapper is given a direct `ParcelableFactory` implementation, which lets `Parcels` wrap without reflection.
+ * Factories of `@Parcel` types also implement `ParcelAccessor`, delegating to the static `write()` and `read()` methods
+ * of the wrapper.
+ *
+ * @author John Ericksen
+ */
+public class ParcelableFactoryRepositoryGenerator extends AbstractCompletionTransactionWorker<Void, Void> {
+
+    public static final String REPOSITORY_NAME = "Parceler$$Repository";
+    private static final String FACTORY_EXT = "$$Factory";
+    private static final String GET = "get";
+
+    private final ParcelableFactoryRegistry registry;
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+
+    @Inject
+    public ParcelableFactoryRepositoryGenerator(ParcelableFactoryRegistry registry, ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+        this.registry = registry;
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+    }
+
+    @Override
+    public Void innerRun(Void value) {
+        for (Map.Entry<String, Map<ASTType, PackageClass>> packageEntry : registry.drain().entrySet()) {
+            registry.addRepository(generate(packageEntry.getKey(), packageEntry.getValue()));
+        }
+        return null;
+    }
+
+    private PackageClass generate(String packageName, Map<ASTType, PackageClass> parcelables) {
+        PackageClass repositoryName = new PackageClass(packageName, REPOSITORY_NAME + "$$" + buildHash(parcelables.keySet()));
+        try {
+            JDefinedClass repositoryClass = generationUtil.defineClass(repositoryName);
+            repositoryClass._implements(generationUtil.ref(Repository.class).narrow(Parcels.ParcelableFactory.class));
+
+            JClass mapRef = generationUtil.ref(Map.class).narrow(Class.class, Parcels.ParcelableFactory.class);
+            JClass hashMapRef = generationUtil.ref(HashMap.class).narrow(Class.class, Parcels.ParcelableFactory.class);
+            JFieldVar factories = repositoryClass.field(JMod.PRIVATE | JMod.FINAL, mapRef, namer.generateName(mapRef), JExpr._new(hashMapRef));
+
+            JBlock constructorBody = repositoryClass.constructor(JMod.PUBLIC).body();
+            for (Map.Entry<ASTType, PackageClass> parcelableEntry : parcelables.entrySet()) {
+                JDefinedClass factoryClass = buildFactory(repositoryClass, parcelableEntry.getKey(), parcelableEntry.getValue());
+                constructorBody.invoke(factories, "put").arg(generationUtil.ref(parcelableEntry.getKey()).erasure().dotclass()).arg(JExpr._new(factoryClass));
+            }
+
+            JMethod getMethod = repositoryClass.method(JMod.PUBLIC, mapRef, GET);
+            getMethod.annotate(Override.class);
+            getMethod.body()._return(factories);
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Class Already Exists: " + repositoryName, e);
+        }
+        return repositoryName;
+    }
+
+    private JDefinedClass buildFactory(JDefinedClass repositoryClass, ASTType type, PackageClass parcelableName) throws JClassAlreadyExistsException {
+        JClass inputType = generationUtil.ref(type);
+
+        JDefinedClass factoryClass = repositoryClass._class(JMod.PUBLIC | JMod.STATIC | JMod.FINAL, parcelableName.getClassName() + FACTORY_EXT);
+        factoryClass._implements(generationUtil.ref(Parcels.ParcelableFactory.class).narrow(inputType));
+
+        JMethod buildParcelableMethod = factoryClass.method(JMod.PUBLIC, generationUtil.ref("android.os.Parcelable"), Parcels.ParcelableFactory.BUILD_PARCELABLE);
+        buildParcelableMethod.annotate(Override.class);
+        JVar inputParam = buildParcelableMethod.param(inputType, namer.generateName(type));
+        buildParcelableMethod.body()._return(JExpr._new(generationUtil.ref(parcelableName)).arg(inputParam));
+
+        if(registry.hasAccessor(type)){
+            buildAccessor(factoryClass, type, parcelableName, registry.isTree(type));
+        }
+
+        return factoryClass;
+    }
+
+    private void buildAccessor(JDefinedClass factoryClass, ASTType type, PackageClass parcelableName, boolean tree) {
+        JClass inputType = generationUtil.ref(type);
+        JClass parcelableRef = generationUtil.ref(parcelableName);
+        JClass parcelRef = generationUtil.ref("android.os.Parcel");
+        JClass identityRef = generationUtil.ref(IdentityCollection.class);
+
+        factoryClass._implements(generationUtil.ref(Parcels.ParcelAccessor.class).narrow(inputType));
+
+        //write(input, parcel, flags, identityMap)
+        JMethod writeMethod = factoryClass.method(JMod.PUBLIC, Void.TYPE, Parcels.ParcelAccessor.WRITE);
+        writeMethod.annotate(Override.class);
+        JVar writeInputParam = writeMethod.param(inputType, namer.generateName(type));
+        JVar writeParcelParam = writeMethod.param(parcelRef, namer.generateName(parcelRef));
+        JVar flagsParam = writeMethod.param(int.class, "flags");
+        JVar writeIdentityParam = writeMethod.param(identityRef, namer.generateName(identityRef));
+        JInvocation writeInvocation = parcelableRef.staticInvoke(Parcels.ParcelAccessor.WRITE).arg(writeInputParam).arg(writeParcelParam).arg(flagsParam);
+        if(!tree){
+            writeInvocation.arg(writeIdentityParam);
+        }
+        writeMethod.body().add(writeInvocation);
+
+        //read(parcel, identityMap)
+        JMethod readMethod = factoryClass.method(JMod.PUBLIC, inputType, Parcels.ParcelAccessor.READ);
+        readMethod.annotate(Override.class);
+        JVar readParcelParam = readMethod.param(parcelRef, namer.generateName(parcelRef));
+        JVar readIdentityParam = readMethod.param(identityRef, namer.generateName(identityRef));
+        JInvocation readInvocation = parcelableRef.staticInvoke(Parcels.ParcelAccessor.READ).arg(readParcelParam);
+        if(!tree){
+            readInvocation.arg(readIdentityParam);
+        }
+        readMethod.body()._return(readInvocation);
+
+        //sizeOf(input, identityMap)
+        JMethod sizeOfMethod = factoryClass.method(JMod.PUBLIC, int.class, Parcels.ParcelAccessor.SIZE_OF);
+        sizeOfMethod.annotate(Override.class);
+        JVar sizeOfInputParam = sizeOfMethod.param(inputType, namer.generateName(type));
+        JVar sizeOfIdentityParam = sizeOfMethod.param(identityRef, namer.generateName(identityRef));
+        sizeOfMethod.body()._return(parcelableRef.staticInvoke(Parcels.ParcelAccessor.SIZE_OF).arg(sizeOfInputParam).arg(sizeOfIdentityParam));
+    }
+
+    private String buildHash(Set<ASTType> types) {
+        List<String> names = new ArrayList<String>();
+        for (ASTType type : types) {
+            names.add(type.getName());
+        }
+        Collections.sort(names);
+        return Integer.toHexString(names.hashCode());
+    }
+}
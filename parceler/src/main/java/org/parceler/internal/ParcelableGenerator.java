@@ -24,12 +24,18 @@ import org.androidtransfuse.gen.InvocationBuilder;
 import org.androidtransfuse.gen.UniqueVariableNamer;
 import org.androidtransfuse.model.TypedExpression;
 import org.parceler.*;
+import org.parceler.internal.generator.BooleanEntryReadWriteGenerator;
 import org.parceler.internal.generator.ConverterWrapperReadWriteGenerator;
 import org.parceler.internal.generator.EnumReadWriteGenerator;
+import org.parceler.internal.generator.ListReadWriteGenerator;
+import org.parceler.internal.generator.MapReadWriteGenerator;
+import org.parceler.internal.generator.NullCheckReadWriteGenerator;
 import org.parceler.internal.generator.ParcelReadWriteGenerator;
 import org.parceler.internal.generator.ReadWriteGenerator;
+import org.parceler.internal.generator.SetReadWriteGenerator;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -59,7 +65,15 @@ public class ParcelableGenerator {
     private final Generators generators;
     private final EnumReadWriteGenerator enumReadWriteGenerator;
     private final ParcelReadWriteGenerator parcelReadWriteGenerator;
-
+    private final ParcelableFactoryRegistry factoryRegistry;
+    private final GeneratedClassContext classContext;
+    private final ConverterInstanceBuilder converterInstanceBuilder;
+    private final ParcelSizeBuilder sizeBuilder;
+    private final boolean presize;
+    private final boolean profile;
+    private final boolean trace;
+    private final CodecGenerator codecGenerator;
+    private final boolean codec;
 
     @Inject
     public ParcelableGenerator(JCodeModel codeModel,
@@ -69,7 +83,16 @@ public class ParcelableGenerator {
                                WriteReferenceVisitor writeToParcelVisitor,
                                InvocationBuilder invocationBuilder,
                                Generators generators,
-                               EnumReadWriteGenerator enumReadWriteGenerator, ParcelReadWriteGenerator parcelReadWriteGenerator) {
+                               EnumReadWriteGenerator enumReadWriteGenerator, ParcelReadWriteGenerator parcelReadWriteGenerator,
+                               ParcelableFactoryRegistry factoryRegistry,
+                               GeneratedClassContext classContext,
+                               ConverterInstanceBuilder converterInstanceBuilder,
+                               ParcelSizeBuilder sizeBuilder,
+                               @Named(ParcelerModule.PRESIZE) boolean presize,
+                               @Named(ParcelerModule.PROFILE) boolean profile,
+                               @Named(ParcelerModule.TRACE) boolean trace,
+                               CodecGenerator codecGenerator,
+                               @Named(ParcelerModule.CODEC) boolean codec) {
         this.codeModel = codeModel;
         this.variableNamer = variableNamer;
         this.generationUtil = generationUtil;
@@ -79,19 +102,34 @@ public class ParcelableGenerator {
         this.generators = generators;
         this.enumReadWriteGenerator = enumReadWriteGenerator;
         this.parcelReadWriteGenerator = parcelReadWriteGenerator;
+        this.factoryRegistry = factoryRegistry;
+        this.classContext = classContext;
+        this.converterInstanceBuilder = converterInstanceBuilder;
+        this.sizeBuilder = sizeBuilder;
+        this.presize = presize;
+        this.profile = profile;
+        this.trace = trace;
+        this.codecGenerator = codecGenerator;
+        this.codec = codec;
     }
 
     public void generateParcelable(final ASTType type, ParcelableDescriptor parcelableDescriptor) {
         try {
             JType inputType = generationUtil.ref(type);
 
-            JDefinedClass parcelableClass = generationUtil.defineClass(ClassNamer.className(type).append(Parcels.IMPL_EXT).build());
+            PackageClass parcelableName = ClassNamer.className(type).append(Parcels.IMPL_EXT).build();
+            JDefinedClass parcelableClass = generationUtil.defineClass(parcelableName);
+            factoryRegistry.add(type, parcelableName);
+            factoryRegistry.addAccessor(type, parcelableDescriptor.isTree());
+            classContext.begin(parcelableClass, parcelableDescriptor.isStringTable());
             parcelableClass._implements(generationUtil.ref("android.os.Parcelable"))
                     ._implements(generationUtil.ref(ParcelWrapper.class).narrow(inputType));
 
             for (ASTType extension : parcelableDescriptor.getExtraImplementations()) {
-                JDefinedClass extensionClass = generationUtil.defineClass(ClassNamer.className(extension).append(Parcels.IMPL_EXT).build())
+                PackageClass extensionName = ClassNamer.className(extension).append(Parcels.IMPL_EXT).build();
+                JDefinedClass extensionClass = generationUtil.defineClass(extensionName)
                         ._extends(parcelableClass);
+                factoryRegistry.add(extension, extensionName);
 
                 JMethod extensionConstructor = extensionClass.constructor(JMod.PUBLIC);
                 JVar inputParam = extensionConstructor.param(generationUtil.ref(extension), variableNamer.generateName(type));
@@ -101,22 +139,64 @@ public class ParcelableGenerator {
             //wrapped @Parcel
             JFieldVar wrapped = parcelableClass.field(JMod.PRIVATE, inputType, variableNamer.generateName(type));
 
+            //lazy wrappers hold the undecoded frame until unwrapped
+            boolean lazy = parcelableDescriptor.isLazy();
+            JClass parcelRef = generationUtil.ref(ANDROID_PARCEL);
+            JClass parcelFramesRef = generationUtil.ref(ParcelFrames.class);
+            JFieldVar frame = lazy ? parcelableClass.field(JMod.PRIVATE, parcelRef, variableNamer.generateName("frame")) : null;
+            int lazyMods = lazy ? JMod.SYNCHRONIZED : 0;
+
             //writeToParcel(android.os.Parcel,int)
-            JMethod writeToParcelMethod = parcelableClass.method(JMod.PUBLIC, codeModel.VOID, WRITE_TO_PARCEL);
+            JMethod writeToParcelMethod = parcelableClass.method(JMod.PUBLIC | lazyMods, codeModel.VOID, WRITE_TO_PARCEL);
             writeToParcelMethod.annotate(Override.class);
             JVar wtParcelParam = writeToParcelMethod.param(generationUtil.ref("android.os.Parcel"), variableNamer.generateName("android.os.Parcel"));
             JVar flags = writeToParcelMethod.param(codeModel.INT, "flags");
 
             ReadWriteGenerator rootGenerator = getRootReadWriteGenerator(type);
-
-            JBlock writeToParcelMethodBody = writeToParcelMethod.body();
-            buildWriteMethod(parcelableClass, writeToParcelMethodBody, wtParcelParam, flags, type, wrapped, parcelableDescriptor.getParcelConverterType(), rootGenerator, JExpr._new(codeModel.ref(IdentityCollection.class)));
+            //tree serialization skips identity tracking entirely
+            JExpression writeIdentityCollection = parcelableDescriptor.isTree() ? null : JExpr._new(codeModel.ref(IdentityCollection.class));
+            JExpression readIdentityCollection = parcelableDescriptor.isTree() ? null : JExpr._new(codeModel.ref(IdentityCollection.class));
+
+            //sizeOf(input, identityMap)
+            JMethod sizeOfMethod = buildSizeOfMethod(parcelableClass, type, parcelableDescriptor, rootGenerator);
+
+            JBlock writeToParcelRoot = buildTraced(writeToParcelMethod.body(), wtParcelParam, type, ParcelTracing.WRITE);
+            JBlock writeToParcelMethodBody = writeToParcelRoot;
+            JVar writeSample = buildStatsBegin(writeToParcelMethodBody, wtParcelParam);
+            JExpression writeStatsIdentity = JExpr._null();
+            if(lazy) {
+                JConditional frameConditional = writeToParcelMethodBody._if(frame.ne(JExpr._null()));
+                frameConditional._then().add(parcelFramesRef.staticInvoke(ParcelFrames.APPEND_METHOD).arg(wtParcelParam).arg(frame));
+
+                writeToParcelMethodBody = frameConditional._else();
+                JVar start = writeToParcelMethodBody.decl(codeModel.INT, variableNamer.generateName("start"), parcelFramesRef.staticInvoke(ParcelFrames.BEGIN_METHOD).arg(wtParcelParam));
+                buildPresize(writeToParcelMethodBody, wtParcelParam, sizeOfMethod, wrapped);
+                buildWriteMethod(parcelableClass, buildProfiled(writeToParcelMethodBody, wtParcelParam, type), wtParcelParam, flags, type, wrapped, parcelableDescriptor.getParcelConverterType(), rootGenerator, writeIdentityCollection);
+                writeToParcelMethodBody.add(parcelFramesRef.staticInvoke(ParcelFrames.END_METHOD).arg(wtParcelParam).arg(start));
+            }
+            else {
+                if(writeIdentityCollection != null) {
+                    JVar writeIdentityVar = writeToParcelMethodBody.decl(codeModel.ref(IdentityCollection.class), variableNamer.generateName("identityMap"), writeIdentityCollection);
+                    writeIdentityCollection = writeIdentityVar;
+                    writeStatsIdentity = writeIdentityVar;
+                }
+                buildPresize(writeToParcelMethodBody, wtParcelParam, sizeOfMethod, wrapped);
+                buildWriteMethod(parcelableClass, buildProfiled(writeToParcelMethodBody, wtParcelParam, type), wtParcelParam, flags, type, wrapped, parcelableDescriptor.getParcelConverterType(), rootGenerator, writeIdentityCollection);
+            }
+            buildStatsEnd(writeToParcelRoot, writeSample, ParcelerStatsSample.END_WRITE_METHOD, type, wtParcelParam, writeStatsIdentity);
 
             //@Parcel input
             JMethod inputConstructor = parcelableClass.constructor(JMod.PUBLIC);
             JVar inputParam = inputConstructor.param(inputType, variableNamer.generateName(type));
             inputConstructor.body().assign(wrapped, inputParam);
 
+            if(lazy) {
+                //frame input
+                JMethod frameConstructor = parcelableClass.constructor(JMod.PRIVATE);
+                JVar frameParam = frameConstructor.param(parcelRef, variableNamer.generateName("frame"));
+                frameConstructor.body().assign(frame, frameParam);
+            }
+
             //describeContents()
             JMethod describeContentsMethod = parcelableClass.method(JMod.PUBLIC, codeModel.INT, DESCRIBE_CONTENTS);
             describeContentsMethod.annotate(Override.class);
@@ -128,8 +208,15 @@ public class ParcelableGenerator {
             }
 
             //ParcelWrapper.getParcel()
-            JMethod getWrappedMethod = parcelableClass.method(JMod.PUBLIC, inputType, ParcelWrapper.GET_PARCEL);
+            JMethod getWrappedMethod = parcelableClass.method(JMod.PUBLIC | lazyMods, inputType, ParcelWrapper.GET_PARCEL);
             getWrappedMethod.annotate(Override.class);
+            if(lazy) {
+                //decode the frame on first access, then release it
+                JBlock decodeBlock = getWrappedMethod.body()._if(frame.ne(JExpr._null()))._then();
+                decodeBlock.assign(wrapped, buildReadMethod(frame, parcelableClass, type, parcelableDescriptor.getParcelConverterType(), rootGenerator, readIdentityCollection));
+                decodeBlock.invoke(frame, "recycle");
+                decodeBlock.assign(frame, JExpr._null());
+            }
             getWrappedMethod.body()._return(wrapped);
 
             //public static final CREATOR = ...
@@ -140,9 +227,26 @@ public class ParcelableGenerator {
             createFromParcelMethod.annotate(Override.class);
             JVar cfpParcelParam = createFromParcelMethod.param(generationUtil.ref("android.os.Parcel"), variableNamer.generateName(generationUtil.ref("android.os.Parcel")));
 
-            createFromParcelMethod.body()._return(
-                    JExpr._new(parcelableClass).arg(
-                            buildReadMethod(cfpParcelParam, parcelableClass, type, parcelableDescriptor.getParcelConverterType(), rootGenerator, JExpr._new(codeModel.ref(IdentityCollection.class)))));
+            JBlock createFromParcelBody = buildTraced(createFromParcelMethod.body(), cfpParcelParam, type, ParcelTracing.READ);
+            JVar readSample = buildStatsBegin(createFromParcelBody, cfpParcelParam);
+            JExpression readStatsIdentity = JExpr._null();
+            JExpression created;
+            if(lazy) {
+                created = JExpr._new(parcelableClass).arg(parcelFramesRef.staticInvoke(ParcelFrames.COPY_METHOD).arg(cfpParcelParam));
+            }
+            else {
+                JExpression cfpIdentityCollection = readIdentityCollection;
+                if(readIdentityCollection != null) {
+                    JVar readIdentityVar = createFromParcelBody.decl(codeModel.ref(IdentityCollection.class), variableNamer.generateName("identityMap"), readIdentityCollection);
+                    cfpIdentityCollection = readIdentityVar;
+                    readStatsIdentity = readIdentityVar;
+                }
+                created = JExpr._new(parcelableClass).arg(
+                        buildReadMethod(cfpParcelParam, parcelableClass, type, parcelableDescriptor.getParcelConverterType(), rootGenerator, cfpIdentityCollection));
+            }
+            JVar createdVar = createFromParcelBody.decl(parcelableClass, variableNamer.generateName(parcelableClass), created);
+            buildStatsEnd(createFromParcelBody, readSample, ParcelerStatsSample.END_READ_METHOD, type, cfpParcelParam, readStatsIdentity);
+            createFromParcelBody._return(createdVar);
 
             //newArray method
             JMethod newArrayMethod = creatorClass.method(JMod.PUBLIC, parcelableClass.array(), NEW_ARRAY);
@@ -157,11 +261,18 @@ public class ParcelableGenerator {
 
         } catch (JClassAlreadyExistsException e) {
             throw new TransfuseAnalysisException("Class Already Exists: " + ClassNamer.className(type).append(Parcels.IMPL_EXT).build(), e);
+        } finally {
+            classContext.end();
+        }
+
+        if(codec) {
+            codecGenerator.generateCodec(type, parcelableDescriptor);
         }
     }
 
     public void buildParcelRead(ParcelableDescriptor parcelableDescriptor, JDefinedClass parcelableClass, JVar wrapped, ASTType type, JType inputType, JVar identity, JVar parcelParam, JBlock readFromParcelBody, JVar writeIdentityMap) {
         if (parcelableDescriptor.getParcelConverterType() == null) {
+            PropertyBitmap bitmap = PropertyBitmap.reader(codeModel, variableNamer, readFromParcelBody, parcelParam);
 
             //constructor
             ConstructorReference constructorPair = parcelableDescriptor.getConstructorPair();
@@ -170,30 +281,33 @@ public class ParcelableGenerator {
                 readFromParcelBody.assign(wrapped, constructorInvocation);
             }
             else {
-                JVar reservationId = readFromParcelBody.decl(codeModel.INT, variableNamer.generateName("reservation"), writeIdentityMap.invoke("reserve"));
+                JVar reservationId = null;
+                if(writeIdentityMap != null) {
+                    reservationId = readFromParcelBody.decl(codeModel.INT, variableNamer.generateName("reservation"), writeIdentityMap.invoke("reserve"));
+                }
                 if(constructorPair.getConstructor() != null){
-                    buildReadFromParcelConstructor(parcelableClass, readFromParcelBody, wrapped, constructorPair, type, parcelParam, identity, writeIdentityMap);
+                    buildReadFromParcelConstructor(parcelableClass, readFromParcelBody, wrapped, constructorPair, type, parcelParam, identity, writeIdentityMap, bitmap);
                 }
                 else if(constructorPair.getFactoryMethod() != null){
-                    buildReadFromParcelFactoryMethod(parcelableClass, readFromParcelBody, wrapped, constructorPair, type, parcelParam, identity, writeIdentityMap);
+                    buildReadFromParcelFactoryMethod(parcelableClass, readFromParcelBody, wrapped, constructorPair, type, parcelParam, identity, writeIdentityMap, bitmap);
                 }
                 //add to identity map
-                readFromParcelBody.add(writeIdentityMap.invoke("put").arg(reservationId).arg(wrapped));
+                if(writeIdentityMap != null) {
+                    readFromParcelBody.add(writeIdentityMap.invoke("put").arg(reservationId).arg(wrapped));
+                }
             }
             //field
             for (ReferencePair<FieldReference> fieldPair : parcelableDescriptor.getFieldPairs()) {
-                buildReadFromParcel(parcelableClass, readFromParcelBody, type, wrapped, fieldPair.getAccessor().getType(), fieldPair.getReference(), parcelParam, fieldPair.getConverter(), identity, writeIdentityMap);
+                buildReadFromParcel(parcelableClass, readFromParcelBody, type, wrapped, fieldPair.getAccessor().getType(), fieldPair.getReference(), parcelParam, fieldPair.getConverter(), identity, writeIdentityMap, bitmap);
             }
             //method
             for (ReferencePair<MethodReference> methodPair : parcelableDescriptor.getMethodPairs()) {
-                buildReadFromParcel(parcelableClass, readFromParcelBody, type, wrapped, methodPair.getAccessor().getType(), methodPair.getReference(), parcelParam, methodPair.getConverter(), identity, writeIdentityMap);
+                buildReadFromParcel(parcelableClass, readFromParcelBody, type, wrapped, methodPair.getAccessor().getType(), methodPair.getReference(), parcelParam, methodPair.getConverter(), identity, writeIdentityMap, bitmap);
             }
         } else {
-            JClass converterType = generationUtil.ref(parcelableDescriptor.getParcelConverterType());
-            JFieldVar converterField = parcelableClass.field(JMod.PRIVATE, converterType,
-                    variableNamer.generateName(parcelableDescriptor.getParcelConverterType()), JExpr._new(converterType));
+            JExpression converter = converterInstanceBuilder.build(parcelableDescriptor.getParcelConverterType());
 
-            readFromParcelBody.assign(wrapped, JExpr.invoke(converterField, ParcelConverter.CONVERT_FROM_PARCEL).arg(parcelParam));
+            readFromParcelBody.assign(wrapped, converter.invoke(ParcelConverter.CONVERT_FROM_PARCEL).arg(parcelParam));
         }
 
         for (ASTMethod unwrapMethod : parcelableDescriptor.getUnwrapCallbacks()) {
@@ -208,6 +322,7 @@ public class ParcelableGenerator {
         }
 
         if (parcelableDescriptor.getParcelConverterType() == null) {
+            PropertyBitmap bitmap = PropertyBitmap.writer(codeModel, variableNamer, writeToParcelBody, wtParcelParam);
 
             //constructor
             ConstructorReference constructorPair = parcelableDescriptor.getConstructorPair();
@@ -216,44 +331,43 @@ public class ParcelableGenerator {
                     for(ASTParameter parameter : constructorPair.getConstructor().getParameters()){
                         AccessibleReference reference = constructorPair.getWriteReference(parameter);
                         ASTType converter = constructorPair.getConverters().containsKey(parameter) ? constructorPair.getConverters().get(parameter) : null;
-                        buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, reference, type, wrapped, converter, writeIdentityMap);
+                        buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, reference, type, wrapped, converter, writeIdentityMap, bitmap);
                     }
                 }
                 else if(constructorPair.getFactoryMethod() != null){
                     for(ASTParameter parameter : constructorPair.getFactoryMethod().getParameters()){
                         AccessibleReference reference = constructorPair.getWriteReference(parameter);
                         ASTType converter = constructorPair.getConverters().containsKey(parameter) ? constructorPair.getConverters().get(parameter) : null;
-                        buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, reference, type, wrapped, converter, writeIdentityMap);
+                        buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, reference, type, wrapped, converter, writeIdentityMap, bitmap);
                     }
                 }
             }
             //field
             for (ReferencePair<FieldReference> fieldPair : parcelableDescriptor.getFieldPairs()) {
-                buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, fieldPair.getAccessor(), type, wrapped, fieldPair.getConverter(), writeIdentityMap);
+                buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, fieldPair.getAccessor(), type, wrapped, fieldPair.getConverter(), writeIdentityMap, bitmap);
             }
             //method
             for (ReferencePair<MethodReference> methodPair : parcelableDescriptor.getMethodPairs()) {
-                buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, methodPair.getAccessor(), type, wrapped, methodPair.getConverter(), writeIdentityMap);
+                buildWriteToParcel(parcelableClass, writeToParcelBody, wtParcelParam, flags, methodPair.getAccessor(), type, wrapped, methodPair.getConverter(), writeIdentityMap, bitmap);
             }
+            bitmap.finish();
         } else {
-            JClass converterType = generationUtil.ref(parcelableDescriptor.getParcelConverterType());
-            JFieldVar converterField = parcelableClass.field(JMod.PRIVATE, converterType,
-                    variableNamer.generateName(parcelableDescriptor.getParcelConverterType()), JExpr._new(converterType));
+            JExpression converter = converterInstanceBuilder.build(parcelableDescriptor.getParcelConverterType());
 
-            writeToParcelBody.invoke(converterField, ParcelConverter.CONVERT_TO_PARCEL).arg(wrapped).arg(wtParcelParam);
+            writeToParcelBody.invoke(converter, ParcelConverter.CONVERT_TO_PARCEL).arg(wrapped).arg(wtParcelParam);
         }
     }
 
-    private void buildReadFromParcel(JDefinedClass parcelableClass, JBlock parcelConstructorBody, ASTType type, JVar wrapped, ASTType propertyType, AccessibleReference propertyAccessor, JVar parcelParam, ASTType converter, JVar identity, JVar writeIdentityMap) {
+    private void buildReadFromParcel(JDefinedClass parcelableClass, JBlock parcelConstructorBody, ASTType type, JVar wrapped, ASTType propertyType, AccessibleReference propertyAccessor, JVar parcelParam, ASTType converter, JVar identity, JVar writeIdentityMap, PropertyBitmap bitmap) {
         //invocation
         propertyAccessor.accept(readFromParcelVisitor,
                 new ReadContext(new ASTJDefinedClassType(parcelableClass),
                         parcelConstructorBody,
                         new TypedExpression(type, wrapped),
-                        buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, propertyType, converter, identity, writeIdentityMap)));
+                        buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, propertyType, converter, null, identity, writeIdentityMap, bitmap)));
     }
 
-    private void buildReadFromParcelFactoryMethod(JDefinedClass parcelableClass, JBlock parcelConstructorBody, JVar wrapped, ConstructorReference propertyAccessor, ASTType wrappedType, JVar parcelParam, JVar identity, JVar writeIdentityMap){
+    private void buildReadFromParcelFactoryMethod(JDefinedClass parcelableClass, JBlock parcelConstructorBody, JVar wrapped, ConstructorReference propertyAccessor, ASTType wrappedType, JVar parcelParam, JVar identity, JVar writeIdentityMap, PropertyBitmap bitmap){
 
         ASTMethod factoryMethod = propertyAccessor.getFactoryMethod();
         Map<ASTParameter, ASTType> converters = propertyAccessor.getConverters();
@@ -265,14 +379,14 @@ public class ParcelableGenerator {
             ASTType converter = converters.containsKey(parameter) ? converters.get(parameter) : null;
             JVar var = parcelConstructorBody.decl(generationUtil.ref(type),
                     variableNamer.generateName(type),
-                    buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, type, converter, identity, writeIdentityMap).getExpression());
+                    buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, type, converter, null, identity, writeIdentityMap, bitmap).getExpression());
             invocation.arg(var);
         }
 
         parcelConstructorBody.assign(wrapped, invocation);
     }
 
-    private void buildReadFromParcelConstructor(JDefinedClass parcelableClass, JBlock parcelConstructorBody, JVar wrapped, ConstructorReference propertyAccessor, ASTType wrappedType, JVar parcelParam, JVar identity, JVar writeIdentityMap){
+    private void buildReadFromParcelConstructor(JDefinedClass parcelableClass, JBlock parcelConstructorBody, JVar wrapped, ConstructorReference propertyAccessor, ASTType wrappedType, JVar parcelParam, JVar identity, JVar writeIdentityMap, PropertyBitmap bitmap){
 
         ASTConstructor constructor = propertyAccessor.getConstructor();
         List<JExpression> inputExpression = new ArrayList<JExpression>();
@@ -283,23 +397,19 @@ public class ParcelableGenerator {
             ASTType converter = converters.containsKey(parameter) ? converters.get(parameter) : null;
             JVar var = parcelConstructorBody.decl(generationUtil.ref(type),
                     variableNamer.generateName(type),
-                    buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, type, converter, identity, writeIdentityMap).getExpression());
+                    buildReadFromParcelExpression(parcelConstructorBody, parcelParam, parcelableClass, type, converter, null, identity, writeIdentityMap, bitmap).getExpression());
             inputExpression.add(var);
         }
 
         parcelConstructorBody.assign(wrapped, invocationBuilder.buildConstructorCall(new ASTJDefinedClassType(parcelableClass), constructor, wrappedType, inputExpression));
     }
 
-    private TypedExpression buildReadFromParcelExpression(JBlock body, JVar parcelParam, JDefinedClass parcelableClass, ASTType type, ASTType converter, JVar identity, JVar writeIdentityMap){
-        return buildReadFromParcelExpression(body, parcelParam, parcelableClass, type, converter, null, identity, writeIdentityMap);
-    }
-
-    private TypedExpression buildReadFromParcelExpression(JBlock body, JVar parcelParam, JDefinedClass parcelableClass, ASTType type, ASTType converter, ReadWriteGenerator overrideGenerator, JVar identity, JVar readIdentityMap){
+    private TypedExpression buildReadFromParcelExpression(JBlock body, JVar parcelParam, JDefinedClass parcelableClass, ASTType type, ASTType converter, ReadWriteGenerator overrideGenerator, JVar identity, JVar readIdentityMap, PropertyBitmap bitmap){
         JClass returnJClassRef = generationUtil.ref(type);
 
         ReadWriteGenerator generator;
         if(converter != null){
-            generator = new ConverterWrapperReadWriteGenerator(generationUtil.ref(converter));
+            generator = new ConverterWrapperReadWriteGenerator(converterInstanceBuilder.build(converter));
         }
         else if(overrideGenerator != null) {
             generator = overrideGenerator;
@@ -308,33 +418,242 @@ public class ParcelableGenerator {
             generator = generators.getGenerator(type);
         }
 
+        if(bitmap != null && generator instanceof BooleanEntryReadWriteGenerator) {
+            //booleans are packed into the bitmap header
+            return new TypedExpression(type, bitmap.readFlag());
+        }
+        if(bitmap != null && generator instanceof NullCheckReadWriteGenerator) {
+            //null state is read from the bitmap header instead of a per-property marker
+            NullCheckReadWriteGenerator nullCheckGenerator = (NullCheckReadWriteGenerator) generator;
+            JExpression isNull = bitmap.readFlag();
+            if(nullCheckGenerator.getGenerator() instanceof BooleanEntryReadWriteGenerator) {
+                return new TypedExpression(type, JOp.cond(isNull, JExpr._null(), bitmap.readFlag()));
+            }
+            return new TypedExpression(type, nullCheckGenerator.generateReader(body, parcelParam, type, returnJClassRef, parcelableClass, identity, readIdentityMap, isNull));
+        }
+
         return new TypedExpression(type, generator.generateReader(body, parcelParam, type, returnJClassRef, parcelableClass, identity, readIdentityMap));
     }
 
-    private void buildWriteToParcel(JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, AccessibleReference reference, ASTType wrappedType, JExpression wrapped, ASTType converter, JVar writeIdentityMap) {
+    private void buildWriteToParcel(JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, AccessibleReference reference, ASTType wrappedType, JExpression wrapped, ASTType converter, JVar writeIdentityMap, PropertyBitmap bitmap) {
         ASTType type = reference.getType();
         JExpression getExpression = reference.accept(writeToParcelVisitor, new WriteContext(new ASTJDefinedClassType(parcelableClass), new TypedExpression(wrappedType, wrapped)));
 
-        buildWriteToParcelExpression(parcelableClass, body, parcel, flags, type, getExpression, converter, null, writeIdentityMap);
+        ReadWriteGenerator generator = converter == null ? generators.getGenerator(type) : null;
+        if(profile && !classContext.isCodec() && !isHeaderOnly(generator)) {
+            //record the bytes written by this property under its declaring type
+            JClass profileRef = generationUtil.ref(ParcelProfile.class);
+            String property = isCollection(type, generator) ? reference.getName() + ParcelProfile.COLLECTION_SUFFIX : reference.getName();
+            JVar start = body.decl(codeModel.INT, variableNamer.generateName("start"), profileRef.staticInvoke(ParcelProfile.ENTER_METHOD).arg(parcel).arg(wrappedType.getName()).arg(property));
+            //exited even if the write throws, so the frame does not outlive it
+            JTryBlock profiledBlock = body._try();
+            buildWriteToParcelExpression(parcelableClass, profiledBlock.body(), parcel, flags, type, getExpression, converter, null, writeIdentityMap, bitmap);
+            profiledBlock._finally().add(profileRef.staticInvoke(ParcelProfile.EXIT_METHOD).arg(parcel).arg(start));
+        }
+        else {
+            buildWriteToParcelExpression(parcelableClass, body, parcel, flags, type, getExpression, converter, null, writeIdentityMap, bitmap);
+        }
+    }
+
+    /**
+     * @return true if the given generator writes a property entirely into the bitmap header.
+     */
+    private boolean isHeaderOnly(ReadWriteGenerator generator) {
+        return generator instanceof BooleanEntryReadWriteGenerator ||
+                (generator instanceof NullCheckReadWriteGenerator && ((NullCheckReadWriteGenerator) generator).getGenerator() instanceof BooleanEntryReadWriteGenerator);
     }
 
-    private void buildWriteToParcelExpression(JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression targetExpression, ASTType converter, ReadWriteGenerator overrideGenerator, JVar writeIdentitySet) {
+    private boolean isCollection(ASTType type, ReadWriteGenerator generator) {
+        while(generator instanceof NullCheckReadWriteGenerator) {
+            generator = ((NullCheckReadWriteGenerator) generator).getGenerator();
+        }
+        //arrays of primitives and Strings are written by bulk Parcel calls rather than the ArrayReadWriteGenerator
+        return type instanceof ASTArrayType || generator instanceof ListReadWriteGenerator ||
+                generator instanceof SetReadWriteGenerator || generator instanceof MapReadWriteGenerator;
+    }
 
-        ReadWriteGenerator generator;
+    private JVar buildStatsBegin(JBlock body, JVar parcel) {
+        return body.decl(generationUtil.ref(ParcelerStatsSample.class), variableNamer.generateName("sample"),
+                generationUtil.ref(ParcelerStatsSample.class).staticInvoke(ParcelerStatsSample.BEGIN_METHOD).arg(parcel));
+    }
+
+    private void buildStatsEnd(JBlock body, JVar sample, String endMethod, ASTType type, JVar parcel, JExpression identityMap) {
+        //only reported while a ParcelerStats is registered
+        body._if(sample.ne(JExpr._null()))._then().add(sample.invoke(endMethod).arg(generationUtil.ref(type).dotclass()).arg(parcel).arg(identityMap));
+    }
+
+    private JBlock buildTraced(JBlock body, JVar parcel, ASTType type, String operation) {
+        if(!trace) {
+            return body;
+        }
+        JVar traceStart = body.decl(codeModel.INT, variableNamer.generateName("trace"),
+                generationUtil.ref(ParcelTracing.class).staticInvoke(ParcelTracing.BEGIN_METHOD).arg(parcel).arg(type.getName()).arg(operation));
+        JTryBlock tracedBlock = body._try();
+        tracedBlock._finally().add(generationUtil.ref(ParcelTracing.class).staticInvoke(ParcelTracing.END_METHOD).arg(parcel).arg(traceStart));
+        return tracedBlock.body();
+    }
+
+    private JBlock buildProfiled(JBlock body, JVar parcel, ASTType type) {
+        if(!profile) {
+            return body;
+        }
+        JVar profileStart = body.decl(codeModel.INT, variableNamer.generateName("profile"),
+                generationUtil.ref(ParcelProfile.class).staticInvoke(ParcelProfile.BEGIN_METHOD).arg(parcel).arg(type.getName()));
+        JTryBlock profiledBlock = body._try();
+        profiledBlock._finally().add(generationUtil.ref(ParcelProfile.class).staticInvoke(ParcelProfile.END_METHOD).arg(parcel).arg(profileStart));
+        return profiledBlock.body();
+    }
+
+    private void buildWriteToParcelExpression(JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression targetExpression, ASTType converter, ReadWriteGenerator overrideGenerator, JVar writeIdentitySet, PropertyBitmap bitmap) {
+
+        ReadWriteGenerator generator = getWriteGenerator(type, converter, overrideGenerator);
+
+        if(bitmap != null && generator instanceof BooleanEntryReadWriteGenerator) {
+            //booleans are packed into the bitmap header
+            bitmap.writeFlag(targetExpression);
+        }
+        else if(bitmap != null && generator instanceof NullCheckReadWriteGenerator) {
+            //null state is recorded in the bitmap header instead of a per-property marker
+            NullCheckReadWriteGenerator nullCheckGenerator = (NullCheckReadWriteGenerator) generator;
+            bitmap.writeFlag(targetExpression.eq(JExpr._null()));
+            if(nullCheckGenerator.getGenerator() instanceof BooleanEntryReadWriteGenerator) {
+                bitmap.writeFlag(codeModel.ref(Boolean.class).staticRef("TRUE").invoke("equals").arg(targetExpression));
+            }
+            else {
+                nullCheckGenerator.generateNonNullWriter(body, parcel, flags, type, targetExpression, parcelableClass, writeIdentitySet);
+            }
+        }
+        else {
+            generator.generateWriter(body, parcel, flags, type, targetExpression, parcelableClass, writeIdentitySet);
+        }
+    }
+
+    private ReadWriteGenerator getWriteGenerator(ASTType type, ASTType converter, ReadWriteGenerator overrideGenerator) {
         if(converter != null){
-            generator = new ConverterWrapperReadWriteGenerator(generationUtil.ref(converter));
+            return new ConverterWrapperReadWriteGenerator(converterInstanceBuilder.build(converter));
         }
         else if(overrideGenerator != null) {
-            generator = overrideGenerator;
+            return overrideGenerator;
         }
-        else{
-            generator = generators.getGenerator(type);
+        return generators.getGenerator(type);
+    }
+
+    private JMethod buildSizeOfMethod(JDefinedClass parcelableClass, ASTType type, ParcelableDescriptor parcelableDescriptor, ReadWriteGenerator rootGenerator) {
+        JType inputType = generationUtil.ref(type);
+        JMethod sizeOfMethod = parcelableClass.method(JMod.PUBLIC | JMod.STATIC, codeModel.INT, Parcels.ParcelAccessor.SIZE_OF);
+        JBlock sizeOfMethodBody = sizeOfMethod.body();
+
+        JVar sizeOfInputVar = sizeOfMethod.param(inputType, variableNamer.generateName(inputType));
+        JVar identityParam = sizeOfMethod.param(codeModel.ref(IdentityCollection.class), variableNamer.generateName("identityMap"));
+
+        JVar identityMap = null;
+        int identitySize = 0;
+        if(parcelableDescriptor.isTree()) {
+            buildRejectNull(sizeOfMethodBody, sizeOfInputVar, type, "measure");
+        }
+        else {
+            //instances already written are referenced by identity only
+            identityMap = identityParam;
+            identitySize = ParcelSizes.INT;
+            sizeOfMethodBody._if(identityParam.invoke("getKey").arg(sizeOfInputVar).ne(JExpr.lit(-1)))._then()._return(JExpr.lit(identitySize));
+            sizeOfMethodBody.invoke(identityParam, "put").arg(sizeOfInputVar);
+        }
+
+        JVar size = sizeOfMethodBody.decl(codeModel.INT, variableNamer.generateName("size"), JExpr.lit(identitySize));
+        ParcelSizeBuilder.SizeContext context = sizeBuilder.begin(sizeOfMethodBody, size, identityMap, parcelableClass);
+
+        if(parcelableDescriptor.getParcelConverterType() != null) {
+            sizeBuilder.buildScratchSize(sizeOfMethodBody, type, getWriteGenerator(type, parcelableDescriptor.getParcelConverterType(), null), sizeOfInputVar, context);
+        }
+        else if(rootGenerator == parcelReadWriteGenerator) {
+            buildParcelSize(parcelableDescriptor, parcelableClass, sizeOfInputVar, type, sizeOfMethodBody, context);
+        }
+        else {
+            sizeBuilder.buildSize(sizeOfMethodBody, type, rootGenerator, sizeOfInputVar, context);
+        }
+
+        sizeBuilder.finish(context);
+
+        return sizeOfMethod;
+    }
+
+    private void buildParcelSize(ParcelableDescriptor parcelableDescriptor, JDefinedClass parcelableClass, JExpression wrapped, ASTType type, JBlock body, ParcelSizeBuilder.SizeContext context) {
+        int bits = 0;
+
+        //constructor
+        ConstructorReference constructorPair = parcelableDescriptor.getConstructorPair();
+        if(constructorPair != null){
+            List<ASTParameter> parameters = null;
+            if(constructorPair.getConstructor() != null){
+                parameters = constructorPair.getConstructor().getParameters();
+            }
+            else if(constructorPair.getFactoryMethod() != null){
+                parameters = constructorPair.getFactoryMethod().getParameters();
+            }
+            if(parameters != null){
+                for(ASTParameter parameter : parameters){
+                    ASTType converter = constructorPair.getConverters().containsKey(parameter) ? constructorPair.getConverters().get(parameter) : null;
+                    bits += buildPropertySize(parcelableClass, body, constructorPair.getWriteReference(parameter), type, wrapped, converter, context);
+                }
+            }
+        }
+        //field
+        for (ReferencePair<FieldReference> fieldPair : parcelableDescriptor.getFieldPairs()) {
+            bits += buildPropertySize(parcelableClass, body, fieldPair.getAccessor(), type, wrapped, fieldPair.getConverter(), context);
+        }
+        //method
+        for (ReferencePair<MethodReference> methodPair : parcelableDescriptor.getMethodPairs()) {
+            bits += buildPropertySize(parcelableClass, body, methodPair.getAccessor(), type, wrapped, methodPair.getConverter(), context);
         }
 
-        generator.generateWriter(body, parcel, flags, type, targetExpression, parcelableClass, writeIdentitySet);
+        sizeBuilder.add(body, PropertyBitmap.headerSize(bits), context);
     }
 
-    private ReadWriteGenerator getRootReadWriteGenerator(ASTType type) {
+    /**
+     * Adds the size of the given property, mirroring `buildWriteToParcelExpression()`.
+     *
+     * @return the number of bitmap header bits used by the property
+     */
+    private int buildPropertySize(JDefinedClass parcelableClass, JBlock body, AccessibleReference reference, ASTType wrappedType, JExpression wrapped, ASTType converter, ParcelSizeBuilder.SizeContext context) {
+        ASTType type = reference.getType();
+        JExpression getExpression = reference.accept(writeToParcelVisitor, new WriteContext(new ASTJDefinedClassType(parcelableClass), new TypedExpression(wrappedType, wrapped)));
+
+        ReadWriteGenerator generator = getWriteGenerator(type, converter, null);
+
+        if(generator instanceof BooleanEntryReadWriteGenerator) {
+            return 1;
+        }
+        if(generator instanceof NullCheckReadWriteGenerator) {
+            ReadWriteGenerator nonNullGenerator = ((NullCheckReadWriteGenerator) generator).getGenerator();
+            if(nonNullGenerator instanceof BooleanEntryReadWriteGenerator) {
+                return 2;
+            }
+            sizeBuilder.buildSize(body._if(getExpression.ne(JExpr._null()))._then(), type, nonNullGenerator, getExpression, context);
+            return 1;
+        }
+        sizeBuilder.buildSize(body, type, generator, getExpression, context);
+        return 0;
+    }
+
+    private void buildPresize(JBlock body, JVar parcel, JMethod sizeOfMethod, JExpression wrapped) {
+        if(presize) {
+            //grow the parcel once up front rather than as each value is written
+            body.invoke(parcel, "setDataCapacity").arg(parcel.invoke("dataPosition")
+                    .plus(JExpr.invoke(sizeOfMethod).arg(wrapped).arg(JExpr._new(codeModel.ref(IdentityCollection.class)))));
+        }
+    }
+
+    /**
+     * Tree serialization writes no marker for a null root, as nested references record their null state in the
+     * enclosing property.  A null passed directly to the generated static methods is rejected rather than left to fail
+     * with a NullPointerException part way through.
+     */
+    private void buildRejectNull(JBlock body, JVar input, ASTType type, String action) {
+        body._if(input.eq(JExpr._null()))._then()._throw(JExpr._new(generationUtil.ref(ParcelerRuntimeException.class))
+                .arg("Unable to " + action + " a null " + type.getName() + ", types serialized as a tree record null only within an enclosing @Parcel property."));
+    }
+
+    ReadWriteGenerator getRootReadWriteGenerator(ASTType type) {
         if(type.isEnum()){
             return enumReadWriteGenerator;
         }
@@ -344,13 +663,26 @@ public class ParcelableGenerator {
     }
 
     public JExpression buildReadMethod(JVar inputParcelParam, JDefinedClass parcelableClass, ASTType type, ASTType converter, ReadWriteGenerator overrideGenerator, JExpression readIdentityMap) {
-        JType parcelType = generationUtil.ref(ANDROID_PARCEL);
+        return buildReadMethod(generationUtil.ref(ANDROID_PARCEL), inputParcelParam, parcelableClass, type, converter, overrideGenerator, readIdentityMap);
+    }
+
+    public JExpression buildReadMethod(JType parcelType, JVar inputParcelParam, JDefinedClass parcelableClass, ASTType type, ASTType converter, ReadWriteGenerator overrideGenerator, JExpression readIdentityMap) {
         //write method
         JClass typeRef = generationUtil.ref(type);
         JMethod readMethod = parcelableClass.method(JMod.PUBLIC | JMod.STATIC, typeRef, READ_METHOD);
         JBlock readMethodBody = readMethod.body();
 
         JVar parcelParam = readMethod.param(parcelType, variableNamer.generateName(parcelType));
+
+        if(readIdentityMap == null) {
+            //tree serialization, nothing is written in place of the identity as the null state is recorded by the caller
+            JVar expressionVariable = readMethodBody.decl(typeRef, variableNamer.generateName(typeRef), buildReadFromParcelExpression(readMethodBody, parcelParam, parcelableClass, type, converter, overrideGenerator, null, null, null).getExpression());
+
+            readMethodBody._return(expressionVariable);
+
+            return JExpr.invoke(readMethod).arg(inputParcelParam);
+        }
+
         JVar identityParam = readMethod.param(codeModel.ref(IdentityCollection.class), variableNamer.generateName("identityMap"));
 
         JVar identity = readMethodBody.decl(codeModel.INT, variableNamer.generateName("identity"), parcelParam.invoke("readInt"));
@@ -365,7 +697,7 @@ public class ParcelableGenerator {
 
         JBlock doesntContainBlock = containsKeyConditional._else();
 
-        JVar expressionVariable = doesntContainBlock.decl(typeRef, variableNamer.generateName(typeRef), buildReadFromParcelExpression(doesntContainBlock, parcelParam, parcelableClass, type, converter, overrideGenerator, identity, identityParam).getExpression());
+        JVar expressionVariable = doesntContainBlock.decl(typeRef, variableNamer.generateName(typeRef), buildReadFromParcelExpression(doesntContainBlock, parcelParam, parcelableClass, type, converter, overrideGenerator, identity, identityParam, null).getExpression());
 
         doesntContainBlock.invoke(identityParam, "put").arg(identity).arg(expressionVariable);
 
@@ -375,8 +707,10 @@ public class ParcelableGenerator {
     }
 
     public void buildWriteMethod(JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression targetExpression, ASTType converter, ReadWriteGenerator overrideGenerator, JExpression writeIdentitySet) {
+        buildWriteMethod(generationUtil.ref(ANDROID_PARCEL), parcelableClass, body, parcel, flags, type, targetExpression, converter, overrideGenerator, writeIdentitySet);
+    }
 
-        JType parcelType = generationUtil.ref(ANDROID_PARCEL);
+    public void buildWriteMethod(JType parcelType, JDefinedClass parcelableClass, JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression targetExpression, ASTType converter, ReadWriteGenerator overrideGenerator, JExpression writeIdentitySet) {
         //write method
         JType inputType = generationUtil.ref(type);
         JMethod writeMethod = parcelableClass.method(JMod.PUBLIC | JMod.STATIC, Void.TYPE, WRITE_METHOD);
@@ -385,6 +719,16 @@ public class ParcelableGenerator {
         JVar writeInputVar = writeMethod.param(inputType, variableNamer.generateName(inputType));
         JVar parcelParam = writeMethod.param(parcelType, variableNamer.generateName(parcelType));
         JVar flagsParam = writeMethod.param(int.class, variableNamer.generateName("flags"));
+
+        if(writeIdentitySet == null) {
+            //tree serialization, nothing is written in place of the identity as the null state is recorded by the caller
+            buildRejectNull(writeMethodBody, writeInputVar, type, "write");
+            buildWriteToParcelExpression(parcelableClass, writeMethodBody, parcelParam, flagsParam, type, writeInputVar, converter, overrideGenerator, null, null);
+
+            body.invoke(writeMethod).arg(targetExpression).arg(parcel).arg(flags);
+            return;
+        }
+
         JVar identityParam = writeMethod.param(codeModel.ref(IdentityCollection.class), variableNamer.generateName("identityMap"));
 
         JVar identityKey = writeMethodBody.decl(codeModel.INT, variableNamer.generateName("identity"), identityParam.invoke("getKey").arg(writeInputVar));
@@ -397,7 +741,7 @@ public class ParcelableGenerator {
 
         notContainsBlock.invoke(parcelParam, "writeInt").arg(identityParam.invoke("put").arg(writeInputVar));
 
-        buildWriteToParcelExpression(parcelableClass, notContainsBlock, parcelParam, flagsParam, type, writeInputVar, converter, overrideGenerator, identityParam);
+        buildWriteToParcelExpression(parcelableClass, notContainsBlock, parcelParam, flagsParam, type, writeInputVar, converter, overrideGenerator, identityParam, null);
 
         //invoke this generated method
         body.invoke(writeMethod).arg(targetExpression).arg(parcel).arg(flags).arg(writeIdentitySet);
@@ -53,6 +53,9 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.lang.model.util.Elements;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
 import java.util.*;
 
 @BootstrapModule
@@ -69,6 +72,13 @@ public class ParcelerModule {
 
     public static final String STACKTRACE = "parcelerStacktrace";
     public static final String DEBUG = "parcelerDebugLogging";
+    public static final String TREE_MODE = "parcelerTreeMode";
+    public static final String ENUM_ORDINALS = "parcelerEnumOrdinals";
+    public static final String STRING_TABLE = "parcelerStringTable";
+    public static final String PRESIZE = "parcelerPresize";
+    public static final String PROFILE = "parcelerProfile";
+    public static final String TRACE = "parcelerTrace";
+    public static final String CODEC = "parcelerCodec";
 
     @Provides
     public ClassGenerationStrategy getClassGenerationStrategy(){
@@ -129,6 +139,48 @@ public class ParcelerModule {
         return processingEnvironment.getOptions().containsKey(DEBUG);
     }
 
+    @Provides
+    @Named(TREE_MODE)
+    public boolean getTreeModeOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(TREE_MODE);
+    }
+
+    @Provides
+    @Named(ENUM_ORDINALS)
+    public boolean getEnumOrdinalsOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(ENUM_ORDINALS);
+    }
+
+    @Provides
+    @Named(STRING_TABLE)
+    public boolean getStringTableOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(STRING_TABLE);
+    }
+
+    @Provides
+    @Named(PRESIZE)
+    public boolean getPresizeOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(PRESIZE);
+    }
+
+    @Provides
+    @Named(PROFILE)
+    public boolean getProfileOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(PROFILE);
+    }
+
+    @Provides
+    @Named(TRACE)
+    public boolean getTraceOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(TRACE);
+    }
+
+    @Provides
+    @Named(CODEC)
+    public boolean getCodecOption(ProcessingEnvironment processingEnvironment){
+        return processingEnvironment.getOptions().containsKey(CODEC);
+    }
+
     @Provides
     @Named("namespace")
     public String getNamespace() {
@@ -139,7 +191,10 @@ public class ParcelerModule {
     public ParcelProcessor getParcelProcessor(Provider<ParcelTransactionWorker> parcelTransactionWorkerProvider,
                                               Provider<ExternalParcelTransactionWorker> externalParcelTransactionWorkerProvider,
                                               Provider<ExternalParcelRepositoryTransactionWorker> externalParcelRepositoryTransactionWorkerProvider,
+                                              Provider<ConverterRepositoryTransactionWorker> converterRepositoryTransactionWorkerProvider,
                                               Provider<PackageHelperGeneratorAdapter> packageHelperGeneratorAdapterProvider,
+                                              Provider<ParcelableFactoryRepositoryGenerator> repositoryGeneratorProvider,
+                                              ParcelableFactoryIndexWriter indexWriter,
                                               ScopedTransactionBuilder scopedTransactionBuilder,
                                               Logger logger,
                                               @Named(STACKTRACE) boolean stacktrace) {
@@ -149,18 +204,22 @@ public class ParcelerModule {
         TransactionProcessorPool<Provider<ASTType>, Void> externalParcelProcessor =
                 new TransactionProcessorPool<Provider<ASTType>, Void>();
         TransactionProcessorPool<Provider<ASTType>, Void> parcelProcessor = new TransactionProcessorPool<Provider<ASTType>, Void>();
+        TransactionProcessorPool<Void, Void> repositoryProcessor = new TransactionProcessorPool<Void, Void>();
 
         TransactionProcessor processor = new TransactionProcessorComposite(ImmutableSet.of(externalParcelRepositoryProcessor,
                                 externalParcelProcessor,
                                 parcelProcessor));
 
         TransactionProcessor processorChain = new TransactionProcessorChain(processor,
-                        new TransactionProcessorPredefined(ImmutableSet.of(scopedTransactionBuilder.build(packageHelperGeneratorAdapterProvider))));
+                        new TransactionProcessorComposite(ImmutableSet.of(repositoryProcessor,
+                                new TransactionProcessorPredefined(ImmutableSet.of(scopedTransactionBuilder.build(packageHelperGeneratorAdapterProvider))))));
 
-        return new ParcelProcessor(processorChain, externalParcelRepositoryProcessor, externalParcelProcessor, parcelProcessor, externalParcelRepositoryTransactionWorkerProvider, externalParcelTransactionWorkerProvider, parcelTransactionWorkerProvider, scopedTransactionBuilder, logger, stacktrace);
+        return new ParcelProcessor(processorChain, externalParcelRepositoryProcessor, externalParcelProcessor, parcelProcessor, repositoryProcessor, externalParcelRepositoryTransactionWorkerProvider, converterRepositoryTransactionWorkerProvider, externalParcelTransactionWorkerProvider, parcelTransactionWorkerProvider, repositoryGeneratorProvider, indexWriter, scopedTransactionBuilder, logger, stacktrace);
     }
 
+    //one registry, and its resolution cache, per code generation scope rather than per injection
     @Provides
+    @CodeGenerationScope
     public Generators getGenerators(ASTClassFactory astClassFactory,
                                     ClassGenerationUtil generationUtil,
                                     ExternalParcelRepository externalParcelRepository,
@@ -169,9 +228,14 @@ public class ParcelerModule {
                                     SerializableReadWriteGenerator serializableReadWriteGenerator,
                                     NullCheckFactory nullCheckFactory,
                                     LinkParcelReadWriteGenerator parcelReadWriteGenerator,
-                                    EnumReadWriteGenerator enumReadWriteGenerator){
+                                    EnumReadWriteGenerator enumReadWriteGenerator,
+                                    StringReadWriteGenerator stringReadWriteGenerator,
+                                    ConverterRepository converterRepository,
+                                    ConverterInstanceBuilder converterInstanceBuilder,
+                                    ParcelableAnalysis analysis,
+                                    Elements elements){
 
-        return addGenerators(new Generators(astClassFactory), astClassFactory, generationUtil, externalParcelRepository, namer, codeModel, serializableReadWriteGenerator, nullCheckFactory, parcelReadWriteGenerator, enumReadWriteGenerator);
+        return addGenerators(new Generators(astClassFactory), astClassFactory, generationUtil, externalParcelRepository, namer, codeModel, serializableReadWriteGenerator, nullCheckFactory, parcelReadWriteGenerator, enumReadWriteGenerator, stringReadWriteGenerator, converterRepository, converterInstanceBuilder, analysis, elements);
     }
     
     public static Generators addGenerators(Generators generators,
@@ -183,8 +247,15 @@ public class ParcelerModule {
                                            SerializableReadWriteGenerator serializableReadWriteGenerator,
                                            NullCheckFactory nullCheckFactory,
                                            LinkParcelReadWriteGenerator parcelReadWriteGenerator,
-                                           EnumReadWriteGenerator enumReadWriteGenerator){
+                                           EnumReadWriteGenerator enumReadWriteGenerator,
+                                           StringReadWriteGenerator stringReadWriteGenerator,
+                                           ConverterRepository converterRepository,
+                                           ConverterInstanceBuilder converterInstanceBuilder,
+                                           ParcelableAnalysis analysis,
+                                           Elements elements){
 
+        //converters registered through @ParcelConverters take precedence over the built in mappings
+        generators.add(new ConverterMatcher(converterRepository), new RegisteredConverterReadWriteGenerator(converterRepository, converterInstanceBuilder));
         generators.addPair(byte.class, "readByte", "writeByte");
         generators.addPair(Byte.class, nullCheckFactory.get(generators, byte.class));
         generators.addPair(double.class, "readDouble", "writeDouble");
@@ -195,14 +266,22 @@ public class ParcelerModule {
         generators.addPair(Integer.class, nullCheckFactory.get(generators, int.class));
         generators.addPair(long.class, "readLong", "writeLong");
         generators.addPair(Long.class, nullCheckFactory.get(generators, long.class));
-        generators.addPair(char.class, new SingleEntryArrayReadWriteGenerator("createCharArray", "writeCharArray", char.class, codeModel));
+        generators.addPair(char.class, new IntEncodedReadWriteGenerator(char.class, codeModel));
         generators.addPair(Character.class, nullCheckFactory.get(generators, char.class));
+        generators.addPair(short.class, new IntEncodedReadWriteGenerator(short.class, codeModel));
+        generators.addPair(Short.class, nullCheckFactory.get(generators, short.class));
         generators.addPair(boolean.class, new BooleanEntryReadWriteGenerator(codeModel));
         generators.addPair(Boolean.class, nullCheckFactory.get(generators, boolean.class));
         generators.addPair(byte[].class, "createByteArray", "writeByteArray");
         generators.addPair(char[].class, "createCharArray", "writeCharArray");
         generators.addPair(boolean[].class, "createBooleanArray", "writeBooleanArray");
-        generators.addPair(String.class, "readString", "writeString");
+        generators.addPair(int[].class, "createIntArray", "writeIntArray");
+        generators.addPair(long[].class, "createLongArray", "writeLongArray");
+        generators.addPair(float[].class, "createFloatArray", "writeFloatArray");
+        generators.addPair(double[].class, "createDoubleArray", "writeDoubleArray");
+        generators.addPair(short[].class, new ShortArrayReadWriteGenerator(namer, codeModel));
+        generators.addPair(String[].class, "createStringArray", "writeStringArray");
+        generators.addPair(String.class, stringReadWriteGenerator);
         generators.addPair("android.os.IBinder", "readStrongBinder", "writeStrongBinder");
         generators.add(Matchers.type(new ASTStringType("android.os.Bundle")).ignoreGenerics().build(), new BundleReadWriteGenerator("readBundle", "writeBundle", "android.os.Bundle"));
         generators.add(new ObservableFieldMatcher(generators), nullCheckFactory.get(new ObservableFieldReadWriteGenerator(generators, generationUtil)));
@@ -210,7 +289,10 @@ public class ParcelerModule {
         generators.add(Matchers.type(new ASTStringType("android.util.SparseArray")).ignoreGenerics().build(), new SparseArrayReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel));
         generators.add(new InheritsMatcher(new ASTStringType("android.os.Parcelable")), new ParcelableReadWriteGenerator("readParcelable", "writeParcelable", "android.os.Parcelable"));
         generators.add(new EnumMatcher(), enumReadWriteGenerator);
-        generators.add(new ParcelMatcher(externalParcelRepository), parcelReadWriteGenerator);
+        generators.add(new EnumSetMatcher(elements), nullCheckFactory.get(new EnumSetReadWriteGenerator(generationUtil, namer, codeModel, enumReadWriteGenerator)));
+        ParcelMatcher parcelMatcher = new ParcelMatcher(externalParcelRepository);
+        generators.add(new TreeParcelMatcher(parcelMatcher, analysis), nullCheckFactory.get(parcelReadWriteGenerator));
+        generators.add(parcelMatcher, parcelReadWriteGenerator);
         generators.add(new ASTArrayMatcher(), new ArrayReadWriteGenerator(generationUtil, namer, generators, codeModel));
         generators.add(new GenericCollectionMatcher(astClassFactory.getType(List.class), generators, 1), new ListReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel, ArrayList.class, true));
         generators.add(new GenericCollectionMatcher(astClassFactory.getType(ArrayList.class), generators, 1), new ListReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel, ArrayList.class, true));
@@ -227,6 +309,13 @@ public class ParcelerModule {
         generators.add(new GenericCollectionMatcher(astClassFactory.getType(SortedSet.class), generators, 1), new SetReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel, TreeSet.class, false));
         generators.add(new GenericCollectionMatcher(astClassFactory.getType(TreeSet.class), generators, 1), new SetReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel, TreeSet.class, false));
         generators.add(new GenericCollectionMatcher(astClassFactory.getType(LinkedHashSet.class), generators, 1), new SetReadWriteGenerator(generationUtil, namer, generators, astClassFactory, codeModel, LinkedHashSet.class, false));
+        generators.addPair(UUID.class, nullCheckFactory.get(new UUIDReadWriteGenerator(generationUtil, namer)));
+        generators.addPair(Date.class, nullCheckFactory.get(new DateReadWriteGenerator(generationUtil, namer)));
+        generators.addPair(BigInteger.class, nullCheckFactory.get(new BigIntegerReadWriteGenerator(generationUtil, namer)));
+        generators.addPair(BigDecimal.class, nullCheckFactory.get(new BigDecimalReadWriteGenerator(generationUtil, namer, codeModel)));
+        generators.addPair(URI.class, nullCheckFactory.get(new URIReadWriteGenerator(generationUtil)));
+        generators.addPair(Locale.class, nullCheckFactory.get(new LocaleReadWriteGenerator(generationUtil, namer)));
+        generators.addPair(Currency.class, nullCheckFactory.get(new CurrencyReadWriteGenerator(generationUtil)));
         generators.add(new InheritsMatcher(astClassFactory.getType(Serializable.class)), serializableReadWriteGenerator);
 
         return generators;
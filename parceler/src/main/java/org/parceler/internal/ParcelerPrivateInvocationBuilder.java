@@ -18,6 +18,7 @@ package org.parceler.internal;
 import com.sun.codemodel.*;
 import org.androidtransfuse.adapter.*;
 import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
 import org.androidtransfuse.gen.invocationBuilder.ModifiedInvocationBuilder;
 import org.androidtransfuse.model.TypedExpression;
 import org.parceler.InjectionUtil;
@@ -28,19 +29,38 @@ import java.util.List;
 /**
  * Injection Builder for building privately scoped elements.
  *
+ * Within a generated class each private member is resolved once into a `static final` accessor field and reused,
+ * otherwise the member is looked up reflectively on each call.
+ *
  * @author John Ericksen
  */
 public class ParcelerPrivateInvocationBuilder implements ModifiedInvocationBuilder {
 
     private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer variableNamer;
+    private final GeneratedClassContext classContext;
 
     @Inject
-    public ParcelerPrivateInvocationBuilder(ClassGenerationUtil generationUtil) {
+    public ParcelerPrivateInvocationBuilder(ClassGenerationUtil generationUtil, UniqueVariableNamer variableNamer, GeneratedClassContext classContext) {
         this.generationUtil = generationUtil;
+        this.variableNamer = variableNamer;
+        this.classContext = classContext;
     }
 
     @Override
     public JExpression buildConstructorCall(ASTConstructor constructor, ASTType type, List<? extends JExpression> parameters) {
+        if(classContext.getHolder() != null) {
+            String key = "constructor:" + type.getName() + parameterKey(constructor.getParameters());
+            JFieldVar accessor = classContext.getStaticField(key);
+            if(accessor == null) {
+                JClass accessorType = generationUtil.ref(InjectionUtil.ConstructorAccessor.class).narrow(accessorTypeParameter(type));
+                accessor = defineAccessor(key, accessorType, type.getName(),
+                        JExpr._new(accessorType)
+                                .arg(generationUtil.ref(type).dotclass())
+                                .arg(buildClassArray(constructor.getParameters())));
+            }
+            return accessor.invoke(InjectionUtil.ConstructorAccessor.NEW_INSTANCE).arg(buildArgsArray(parameters));
+        }
 
         //InjectionUtil.setConstructor(Class<T> targetClass, Class[] argClasses,Object[] args)
         JInvocation constructorInvocation = generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.CALL_CONSTRUCTOR_METHOD)
@@ -63,6 +83,21 @@ public class ParcelerPrivateInvocationBuilder implements ModifiedInvocationBuild
     public JInvocation buildMethodCall(boolean cast, ASTMethod method, List<? extends JExpression> parameters, TypedExpression expression) {
 
         JClass targetType = generationUtil.ref(expression.getType());
+        if(classContext.getHolder() != null) {
+            String key = "method:" + expression.getType().getName() + "." + method.getName() + parameterKey(method.getParameters());
+            JFieldVar accessor = classContext.getStaticField(key);
+            if(accessor == null) {
+                JClass accessorType = generationUtil.ref(InjectionUtil.MethodAccessor.class).narrow(accessorTypeParameter(method.getReturnType()));
+                accessor = defineAccessor(key, accessorType, method.getName(),
+                        JExpr._new(accessorType)
+                                .arg(targetType.dotclass())
+                                .arg(method.getName())
+                                .arg(buildClassArray(method.getParameters())));
+            }
+            return accessor.invoke(InjectionUtil.MethodAccessor.INVOKE)
+                    .arg(expression.getExpression())
+                    .arg(buildArgsArray(parameters));
+        }
         //InjectionUtil.getInstance().setMethod(Class targetClass, Object target, String method, Class[] argClasses,Object[] args)
         JInvocation methodInvocation = generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.CALL_METHOD_METHOD)
                 .arg(buildTargetType(method.getReturnType()))
@@ -85,6 +120,10 @@ public class ParcelerPrivateInvocationBuilder implements ModifiedInvocationBuild
 
     @Override
     public JExpression buildFieldGet(boolean cast, ASTField field, TypedExpression targetExpression) {
+        if(classContext.getHolder() != null) {
+            return getFieldAccessor(field, targetExpression.getType()).invoke(InjectionUtil.FieldAccessor.GET)
+                    .arg(targetExpression.getExpression());
+        }
         //InjectionUtil.getInstance().getField(Class returnType, Class targetClass, Object target, String field)
         return generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.GET_FIELD_METHOD)
                 .arg(buildTargetType(field.getASTType()))
@@ -95,6 +134,11 @@ public class ParcelerPrivateInvocationBuilder implements ModifiedInvocationBuild
 
     @Override
     public JStatement buildFieldSet(boolean cast, ASTField field, TypedExpression expression, TypedExpression containingType) {
+        if(classContext.getHolder() != null) {
+            return getFieldAccessor(field, containingType.getType()).invoke(InjectionUtil.FieldAccessor.SET)
+                    .arg(containingType.getExpression())
+                    .arg(expression.getExpression());
+        }
         //InjectionUtil.getInstance().setField(Class targetClass, Object target, String field, Object value)
         return generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.SET_FIELD_METHOD)
                 .arg(generationUtil.ref(containingType.getType()).dotclass())
@@ -103,6 +147,49 @@ public class ParcelerPrivateInvocationBuilder implements ModifiedInvocationBuild
                 .arg(expression.getExpression());
     }
 
+    private JFieldVar getFieldAccessor(ASTField field, ASTType containingType) {
+        String key = "field:" + containingType.getName() + "." + field.getName();
+        JFieldVar accessor = classContext.getStaticField(key);
+        if(accessor == null) {
+            JClass accessorType = generationUtil.ref(InjectionUtil.FieldAccessor.class).narrow(accessorTypeParameter(field.getASTType()));
+            accessor = defineAccessor(key, accessorType, field.getName(),
+                    JExpr._new(accessorType)
+                            .arg(generationUtil.ref(containingType).dotclass())
+                            .arg(field.getName()));
+        }
+        return accessor;
+    }
+
+    private JFieldVar defineAccessor(String key, JClass accessorType, String name, JExpression initialization) {
+        JFieldVar accessor = classContext.getHolder().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, accessorType,
+                variableNamer.generateName(name + "Accessor"), initialization);
+        classContext.putStaticField(key, accessor);
+        return accessor;
+    }
+
+    private String parameterKey(List<ASTParameter> parameters) {
+        StringBuilder builder = new StringBuilder("(");
+        for (ASTParameter parameter : parameters) {
+            builder.append(parameter.getASTType().getName()).append(',');
+        }
+        return builder.append(')').toString();
+    }
+
+    private JClass accessorTypeParameter(ASTType type) {
+        if(type.getGenericArguments().isEmpty()) {
+            return generationUtil.type(type).boxify();
+        }
+        return generationUtil.narrowRef(type);
+    }
+
+    private JExpression buildClassArray(List<ASTParameter> parameters) {
+        JArray classArray = JExpr.newArray(generationUtil.ref(Class.class));
+        for (ASTParameter parameter : parameters) {
+            classArray.add(generationUtil.ref(parameter.getASTType()).dotclass());
+        }
+        return classArray;
+    }
+
     private JExpression buildArgsArray(Iterable<? extends JExpression> parameters) {
         JArray argArray = JExpr.newArray(generationUtil.ref(Object.class));
         for (JExpression parameter : parameters) {
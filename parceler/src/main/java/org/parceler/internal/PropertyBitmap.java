@@ -0,0 +1,128 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs per-property flags, such as null states and boolean values, into int words written as a header before the
+ * properties of a `@Parcel` class.  The header statements are inserted at the position the body had when the bitmap
+ * was created, ahead of any property statements added afterwards.  Bits are handed out in the order they are
+ * requested, so the read and write sides must visit properties in the same order.
+ *
+ * @author John Ericksen
+ */
+public class PropertyBitmap {
+
+    private static final int WORD_SIZE = 32;
+
+    private final JCodeModel codeModel;
+    private final UniqueVariableNamer namer;
+    private final JExpression parcel;
+    private final boolean read;
+    private final JBlock body;
+    private int headerEnd;
+    private final List<JVar> words = new ArrayList<JVar>();
+    private int bits = 0;
+
+    private PropertyBitmap(JCodeModel codeModel, UniqueVariableNamer namer, JBlock body, JExpression parcel, boolean read) {
+        this.codeModel = codeModel;
+        this.namer = namer;
+        this.parcel = parcel;
+        this.read = read;
+        this.body = body;
+        this.headerEnd = body.pos();
+    }
+
+    public static PropertyBitmap reader(JCodeModel codeModel, UniqueVariableNamer namer, JBlock body, JExpression parcel) {
+        return new PropertyBitmap(codeModel, namer, body, parcel, true);
+    }
+
+    public static PropertyBitmap writer(JCodeModel codeModel, UniqueVariableNamer namer, JBlock body, JExpression parcel) {
+        return new PropertyBitmap(codeModel, namer, body, parcel, false);
+    }
+
+    /**
+     * @return the number of bytes the header occupies for the given number of bits.
+     */
+    public static int headerSize(int bits) {
+        return 4 * ((bits + WORD_SIZE - 1) / WORD_SIZE);
+    }
+
+    /**
+     * Records the given condition in the next bit of the header.
+     */
+    public void writeFlag(JExpression condition) {
+        int bit = bits % WORD_SIZE;
+        JVar word = nextWord();
+        int tail = beginHeader();
+        body._if(condition)._then().assign(word, word.bor(JExpr.lit(1 << bit)));
+        endHeader(tail);
+    }
+
+    /**
+     * @return an expression testing the next bit of the header.
+     */
+    public JExpression readFlag() {
+        int bit = bits % WORD_SIZE;
+        JVar word = nextWord();
+        return JOp.band(word, JExpr.lit(1 << bit)).ne(JExpr.lit(0));
+    }
+
+    /**
+     * Writes the accumulated header words, called after every property has been visited.
+     */
+    public void finish() {
+        if (!read) {
+            int tail = beginHeader();
+            for (JVar word : words) {
+                body.invoke(parcel, "writeInt").arg(word);
+            }
+            endHeader(tail);
+        }
+    }
+
+    private JVar nextWord() {
+        if (bits % WORD_SIZE == 0) {
+            JExpression init = read ? parcel.invoke("readInt") : JExpr.lit(0);
+            int tail = beginHeader();
+            words.add(body.decl(codeModel.INT, namer.generateName("bitmap"), init));
+            endHeader(tail);
+        }
+        bits++;
+        return words.get(words.size() - 1);
+    }
+
+    /**
+     * Moves the insertion point of the body to the end of the header, returning the previous insertion point.
+     */
+    private int beginHeader() {
+        return body.pos(headerEnd);
+    }
+
+    /**
+     * Restores the insertion point of the body, shifted by the statements added to the header.
+     */
+    private void endHeader(int tail) {
+        int added = body.pos() - headerEnd;
+        headerEnd = body.pos();
+        body.pos(tail + added);
+    }
+}
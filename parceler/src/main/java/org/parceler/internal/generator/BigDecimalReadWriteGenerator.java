@@ -0,0 +1,63 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Writes a BigDecimal as its scale followed by the two's-complement bytes of its unscaled value.  Subclasses are
+ * serialized instead.
+ *
+ * @author John Ericksen
+ */
+public class BigDecimalReadWriteGenerator extends SerializableFallbackReadWriteGenerator {
+
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+    private final JCodeModel codeModel;
+
+    public BigDecimalReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer, JCodeModel codeModel) {
+        super(generationUtil, namer, "createByteArray", new Class[0], "writeByteArray", new Class[]{byte[].class});
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+        this.codeModel = codeModel;
+    }
+
+    @Override
+    protected JExpression isCompact(JVar value) {
+        return isExactly(value, BigDecimal.class);
+    }
+
+    @Override
+    protected JExpression generateCompactReader(JBlock body, JVar parcelParam) {
+        JVar scaleVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke("readInt"));
+
+        return JExpr._new(generationUtil.ref(BigDecimal.class))
+                .arg(JExpr._new(generationUtil.ref(BigInteger.class)).arg(parcelParam.invoke(getReadMethod())))
+                .arg(scaleVar);
+    }
+
+    @Override
+    protected void generateCompactWriter(JBlock body, JExpression parcel, JVar value) {
+        body.invoke(parcel, "writeInt").arg(value.invoke("scale"));
+        body.invoke(parcel, getWriteMethod()).arg(value.invoke("unscaledValue").invoke("toByteArray"));
+    }
+}
@@ -24,19 +24,19 @@ import org.parceler.ParcelConverter;
  */
 public class ConverterWrapperReadWriteGenerator implements ReadWriteGenerator {
 
-    private final JClass converter;
+    private final JExpression converter;
 
-    public ConverterWrapperReadWriteGenerator(JClass converter) {
+    public ConverterWrapperReadWriteGenerator(JExpression converter) {
         this.converter = converter;
     }
 
     @Override
     public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
-        return JExpr._new(converter).invoke(ParcelConverter.CONVERT_FROM_PARCEL).arg(parcelParam);
+        return converter.invoke(ParcelConverter.CONVERT_FROM_PARCEL).arg(parcelParam);
     }
 
     @Override
     public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
-        body.invoke(JExpr._new(converter), ParcelConverter.CONVERT_TO_PARCEL).arg(getExpression).arg(parcel).arg(flags);
+        body.invoke(converter, ParcelConverter.CONVERT_TO_PARCEL).arg(getExpression).arg(parcel).arg(flags);
     }
 }
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.util.Date;
+
+/**
+ * Writes a Date as its epoch milliseconds.  Subclasses carrying more state, such as `java.sql.Timestamp`, are
+ * serialized instead.
+ *
+ * @author John Ericksen
+ */
+public class DateReadWriteGenerator extends SerializableFallbackReadWriteGenerator {
+
+    private final ClassGenerationUtil generationUtil;
+
+    public DateReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+        super(generationUtil, namer, "readLong", new Class[0], "writeLong", new Class[]{long.class});
+        this.generationUtil = generationUtil;
+    }
+
+    @Override
+    protected JExpression isCompact(JVar value) {
+        return isExactly(value, Date.class);
+    }
+
+    @Override
+    protected JExpression generateCompactReader(JBlock body, JVar parcelParam) {
+        return JExpr._new(generationUtil.ref(Date.class)).arg(parcelParam.invoke(getReadMethod()));
+    }
+
+    @Override
+    protected void generateCompactWriter(JBlock body, JExpression parcel, JVar value) {
+        body.invoke(parcel, getWriteMethod()).arg(value.invoke("getTime"));
+    }
+}
@@ -19,28 +19,47 @@ import com.sun.codemodel.*;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.gen.ClassGenerationUtil;
 import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.parceler.ParcelOrdinal;
+import org.parceler.internal.GeneratedClassContext;
+import org.parceler.internal.ParcelerModule;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 
 /**
+ * Writes enums by name, or by ordinal when the enum is annotated with `@ParcelOrdinal` or the ordinal option is set.
+ *
  * @author John Ericksen
  */
 public class EnumReadWriteGenerator extends ReadWriteGeneratorBase {
 
     private final ClassGenerationUtil generationUtil;
     private final UniqueVariableNamer namer;
+    private final JCodeModel codeModel;
+    private final GeneratedClassContext classContext;
+    private final boolean ordinals;
 
     @Inject
-    public EnumReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+    public EnumReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer, JCodeModel codeModel, GeneratedClassContext classContext, @Named(ParcelerModule.ENUM_ORDINALS) boolean ordinals) {
         super("readString", new Class[0], "writeString", new Class[]{String.class});
         this.generationUtil = generationUtil;
         this.namer = namer;
+        this.codeModel = codeModel;
+        this.classContext = classContext;
+        this.ordinals = ordinals;
     }
 
     @Override
     public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
         JClass enumRef = generationUtil.ref(Enum.class);
         JClass enumClassRef = generationUtil.ref(type);
+
+        if(isOrdinal(type)) {
+            JVar ordinalVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke("readInt"));
+
+            return JOp.cond(ordinalVar.lt(JExpr.lit(0)), JExpr._null(), buildValues(type).component(ordinalVar));
+        }
+
         JClass stringRef = generationUtil.ref(String.class);
 
         JVar localVar = body.decl(stringRef, namer.generateName(enumClassRef), parcelParam.invoke(getReadMethod()));
@@ -53,7 +72,38 @@ public class EnumReadWriteGenerator extends ReadWriteGeneratorBase {
         JClass enumClassRef = generationUtil.ref(type);
 
         JVar localVar = body.decl(enumClassRef, namer.generateName(enumClassRef), getExpression);
-        
-        body.invoke(parcel, getWriteMethod()).arg(JOp.cond(localVar.eq(JExpr._null()), JExpr._null(), localVar.invoke("name")));
+
+        if(isOrdinal(type)) {
+            body.invoke(parcel, "writeInt").arg(JOp.cond(localVar.eq(JExpr._null()), JExpr.lit(-1), localVar.invoke("ordinal")));
+        }
+        else {
+            body.invoke(parcel, getWriteMethod()).arg(JOp.cond(localVar.eq(JExpr._null()), JExpr._null(), localVar.invoke("name")));
+        }
+    }
+
+    /**
+     * @return true if the given enum is written by ordinal rather than by name.
+     */
+    public boolean isOrdinal(ASTType type) {
+        return ordinals || type.isAnnotated(ParcelOrdinal.class);
+    }
+
+    /**
+     * Builds an expression for the constants of the given enum, indexed by ordinal.  Within a generated class the
+     * constants are cached in a `static final` field, avoiding the array copy made by each call to `values()`.
+     */
+    public JExpression buildValues(ASTType type) {
+        JClass enumClassRef = generationUtil.ref(type);
+        if(classContext.getHolder() == null) {
+            return enumClassRef.staticInvoke("values");
+        }
+        String key = "values:" + type.getName();
+        JFieldVar valuesField = classContext.getStaticField(key);
+        if(valuesField == null) {
+            valuesField = classContext.getHolder().field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, enumClassRef.array(),
+                    namer.generateName(type.getName() + "Values"), enumClassRef.staticInvoke("values"));
+            classContext.putStaticField(key, valuesField);
+        }
+        return valuesField;
     }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.util.EnumSet;
+
+/**
+ * Writes an EnumSet as a long bitmask indexed by ordinal.
+ *
+ * @author John Ericksen
+ */
+public class EnumSetReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+    private final JCodeModel codeModel;
+    private final EnumReadWriteGenerator enumReadWriteGenerator;
+
+    public EnumSetReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer, JCodeModel codeModel, EnumReadWriteGenerator enumReadWriteGenerator) {
+        super("readLong", new Class[0], "writeLong", new Class[]{long.class});
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+        this.codeModel = codeModel;
+        this.enumReadWriteGenerator = enumReadWriteGenerator;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        ASTType enumType = type.getGenericArgumentTypes().iterator().next();
+        JClass enumClassRef = generationUtil.ref(enumType);
+
+        JVar maskVar = body.decl(codeModel.LONG, namer.generateName(codeModel.LONG), parcelParam.invoke(getReadMethod()));
+        JVar outputVar = body.decl(generationUtil.ref(EnumSet.class).narrow(enumClassRef), namer.generateName(EnumSet.class),
+                generationUtil.ref(EnumSet.class).staticInvoke("noneOf").arg(enumClassRef.dotclass()));
+
+        //for(E value : values) if((mask & (1L << value.ordinal())) != 0) set.add(value);
+        JForEach forEach = body.forEach(enumClassRef, namer.generateName(enumClassRef), enumReadWriteGenerator.buildValues(enumType));
+        forEach.body()._if(JOp.band(maskVar, JOp.shl(JExpr.lit(1L), forEach.var().invoke("ordinal"))).ne(JExpr.lit(0L)))._then()
+                .invoke(outputVar, "add").arg(forEach.var());
+
+        return outputVar;
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        ASTType enumType = type.getGenericArgumentTypes().iterator().next();
+        JClass enumClassRef = generationUtil.ref(enumType);
+
+        JVar maskVar = body.decl(codeModel.LONG, namer.generateName(codeModel.LONG), JExpr.lit(0L));
+
+        //for(E value : set) mask |= 1L << value.ordinal();
+        JForEach forEach = body.forEach(enumClassRef, namer.generateName(enumClassRef), getExpression);
+        forEach.body().assign(maskVar, maskVar.bor(JOp.shl(JExpr.lit(1L), forEach.var().invoke("ordinal"))));
+
+        body.invoke(parcel, getWriteMethod()).arg(maskVar);
+    }
+}
@@ -18,29 +18,30 @@ package org.parceler.internal.generator;
 import com.sun.codemodel.*;
 import org.androidtransfuse.adapter.ASTType;
 
-import java.lang.reflect.Array;
-
 /**
+ * Writes a narrow primitive (char, short) widened to a single int, avoiding the intermediate array otherwise needed
+ * for types without a dedicated `Parcel` method.
+ *
  * @author John Ericksen
  */
-public class SingleEntryArrayReadWriteGenerator extends ReadWriteGeneratorBase {
+public class IntEncodedReadWriteGenerator extends ReadWriteGeneratorBase {
 
     private final JCodeModel codeModel;
-    private final Class writeMethodParam;
+    private final Class primitive;
 
-    public SingleEntryArrayReadWriteGenerator(String readMethod, String writeMethod, Class writeMethodParam, JCodeModel codeModel) {
-        super(readMethod, new Class[0], writeMethod, new Class[]{Array.newInstance(writeMethodParam, 0).getClass()});
+    public IntEncodedReadWriteGenerator(Class primitive, JCodeModel codeModel) {
+        super("readInt", new Class[0], "writeInt", new Class[]{int.class});
         this.codeModel = codeModel;
-        this.writeMethodParam = writeMethodParam;
+        this.primitive = primitive;
     }
 
     @Override
     public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
-        return JExpr.component(parcelParam.invoke(getReadMethod()), JExpr.lit(0));
+        return JExpr.cast(codeModel._ref(primitive), parcelParam.invoke(getReadMethod()));
     }
 
     @Override
     public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
-        body.invoke(parcel, getWriteMethod()).arg(JExpr.newArray(codeModel._ref(writeMethodParam)).add(getExpression));
+        body.invoke(parcel, getWriteMethod()).arg(getExpression);
     }
 }
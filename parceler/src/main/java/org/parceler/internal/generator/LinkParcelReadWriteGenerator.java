@@ -21,7 +21,11 @@ import org.androidtransfuse.adapter.PackageClass;
 import org.androidtransfuse.gen.ClassGenerationUtil;
 import org.androidtransfuse.gen.ClassNamer;
 import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.parceler.IdentityCollection;
+import org.parceler.ParcelCodecs;
 import org.parceler.Parcels;
+import org.parceler.internal.GeneratedClassContext;
+import org.parceler.internal.ParcelableAnalysis;
 
 import javax.inject.Inject;
 
@@ -35,25 +39,50 @@ public class LinkParcelReadWriteGenerator extends ReadWriteGeneratorBase {
 
     private final ClassGenerationUtil generationUtil;
     private final UniqueVariableNamer variableNamer;
+    private final ParcelableAnalysis analysis;
+    private final GeneratedClassContext classContext;
 
     @Inject
-    public LinkParcelReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer variableNamer) {
+    public LinkParcelReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer variableNamer, ParcelableAnalysis analysis, GeneratedClassContext classContext) {
         super("readParcelable", new String[]{ClassLoader.class.getName()}, "writeParcelable", new String[]{"android.os.Parcelable", int.class.getName()});
         this.generationUtil = generationUtil;
         this.variableNamer = variableNamer;
+        this.analysis = analysis;
+        this.classContext = classContext;
     }
 
     @Override
     public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
-        PackageClass packageClass = ClassNamer.className(type).append(Parcels.IMPL_EXT).build();
+        PackageClass packageClass = linkedClass(type);
         JType inputType = generationUtil.ref(type);
-        JVar wrapped = body.decl(inputType, variableNamer.generateName(type), generationUtil.ref(packageClass).staticInvoke(READ_METHOD).arg(parcelParam).arg(readIdentityMap));
+        JInvocation readInvocation = generationUtil.ref(packageClass).staticInvoke(READ_METHOD).arg(parcelParam);
+        if(!analysis.isTree(type)) {
+            readInvocation.arg(identityCollection(readIdentityMap));
+        }
+        JVar wrapped = body.decl(inputType, variableNamer.generateName(type), readInvocation);
         return wrapped;
     }
 
     @Override
     public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
-        PackageClass packageClass = ClassNamer.className(type).append(Parcels.IMPL_EXT).build();
-        body.add(generationUtil.ref(packageClass).staticInvoke(WRITE_METHOD).arg(getExpression).arg(parcel).arg(flags).arg(writeIdentitySet));
+        PackageClass packageClass = linkedClass(type);
+        JInvocation writeInvocation = generationUtil.ref(packageClass).staticInvoke(WRITE_METHOD).arg(getExpression).arg(parcel).arg(flags);
+        if(!analysis.isTree(type)) {
+            writeInvocation.arg(identityCollection(writeIdentitySet));
+        }
+        body.add(writeInvocation);
+    }
+
+    private PackageClass linkedClass(ASTType type) {
+        //codecs link to the codec of the referenced type
+        return ClassNamer.className(type).append(classContext.isCodec() ? ParcelCodecs.CODEC_EXT : Parcels.IMPL_EXT).build();
+    }
+
+    private JExpression identityCollection(JVar identityCollection) {
+        if(identityCollection == null) {
+            //linked from a tree serialized parent, start a fresh identity scope
+            return JExpr._new(generationUtil.ref(IdentityCollection.class));
+        }
+        return identityCollection;
     }
 }
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.util.Locale;
+
+/**
+ * Writes a Locale as its language, country and variant, the fields of the `Locale(language, country, variant)`
+ * constructor available on every Android version.  Locales carrying a script or extensions are serialized instead.
+ * Their presence is detected through the `#` separator `Locale.toString()` emits for them, as `getScript()` and
+ * `getExtensionKeys()` are not available before Java 7 and API 21.
+ *
+ * @author John Ericksen
+ */
+public class LocaleReadWriteGenerator extends SerializableFallbackReadWriteGenerator {
+
+    private final ClassGenerationUtil generationUtil;
+
+    public LocaleReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+        super(generationUtil, namer, "readString", new Class[0], "writeString", new Class[]{String.class});
+        this.generationUtil = generationUtil;
+    }
+
+    @Override
+    protected JExpression isCompact(JVar value) {
+        return value.invoke("toString").invoke("indexOf").arg(JExpr.lit('#')).lt(JExpr.lit(0));
+    }
+
+    @Override
+    protected JExpression generateCompactReader(JBlock body, JVar parcelParam) {
+        return JExpr._new(generationUtil.ref(Locale.class))
+                .arg(parcelParam.invoke(getReadMethod()))
+                .arg(parcelParam.invoke(getReadMethod()))
+                .arg(parcelParam.invoke(getReadMethod()));
+    }
+
+    @Override
+    protected void generateCompactWriter(JBlock body, JExpression parcel, JVar value) {
+        body.invoke(parcel, getWriteMethod()).arg(value.invoke("getLanguage"));
+        body.invoke(parcel, getWriteMethod()).arg(value.invoke("getCountry"));
+        body.invoke(parcel, getWriteMethod()).arg(value.invoke("getVariant"));
+    }
+}
@@ -40,9 +40,17 @@ public abstract class NullCheckReadWriteGenerator implements ReadWriteGenerator
 
         JVar sizeVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke("readInt"));
 
+        return generateReader(body, parcelParam, type, returnJClassRef, parcelableClass, identity, readIdentityMap, sizeVar.lt(JExpr.lit(0)));
+    }
+
+    /**
+     * Reads the value without a leading null marker, using the given expression to determine if the value is null.
+     */
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap, JExpression isNull) {
+
         JVar value = body.decl(generationUtil.ref(type), namer.generateName(type));
 
-        JConditional nullInputConditional = body._if(sizeVar.lt(JExpr.lit(0)));
+        JConditional nullInputConditional = body._if(isNull);
 
         JBlock nullBody = nullInputConditional._then();
 
@@ -67,5 +75,15 @@ public abstract class NullCheckReadWriteGenerator implements ReadWriteGenerator
         getGenerator().generateWriter(writeBody, parcel, flags, type, getExpression, parcelableClass, writeIdentitySet);
     }
 
-    protected abstract ReadWriteGenerator getGenerator();
+    /**
+     * Writes the value without a leading null marker, leaving the null state to be recorded by the caller.
+     */
+    public void generateNonNullWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+
+        JBlock writeBody = body._if(getExpression.ne(JExpr._null()))._then();
+
+        getGenerator().generateWriter(writeBody, parcel, flags, type, getExpression, parcelableClass, writeIdentitySet);
+    }
+
+    public abstract ReadWriteGenerator getGenerator();
 }
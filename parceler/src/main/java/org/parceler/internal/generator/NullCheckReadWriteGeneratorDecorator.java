@@ -32,7 +32,7 @@ public class NullCheckReadWriteGeneratorDecorator extends NullCheckReadWriteGene
     }
 
     @Override
-    protected ReadWriteGenerator getGenerator() {
+    public ReadWriteGenerator getGenerator() {
         return generator;
     }
 }
@@ -36,7 +36,7 @@ public class NullCheckReadWriteLazyLookupGenerator extends NullCheckReadWriteGen
     }
 
     @Override
-    protected ReadWriteGenerator getGenerator() {
+    public ReadWriteGenerator getGenerator() {
         return generators.getGenerator(unboxedType);
     }
 }
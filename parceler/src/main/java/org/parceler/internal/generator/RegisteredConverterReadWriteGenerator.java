@@ -0,0 +1,51 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.parceler.internal.ConverterInstanceBuilder;
+import org.parceler.internal.ConverterRepository;
+
+/**
+ * Reads and writes a type through the converter registered for it by `@ParcelConverters`.
+ *
+ * @author John Ericksen
+ */
+public class RegisteredConverterReadWriteGenerator implements ReadWriteGenerator {
+
+    private final ConverterRepository converterRepository;
+    private final ConverterInstanceBuilder converterInstanceBuilder;
+
+    public RegisteredConverterReadWriteGenerator(ConverterRepository converterRepository, ConverterInstanceBuilder converterInstanceBuilder) {
+        this.converterRepository = converterRepository;
+        this.converterInstanceBuilder = converterInstanceBuilder;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        return buildGenerator(type).generateReader(body, parcelParam, type, returnJClassRef, parcelableClass, identity, readIdentityMap);
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        buildGenerator(type).generateWriter(body, parcel, flags, type, getExpression, parcelableClass, writeIdentitySet);
+    }
+
+    private ReadWriteGenerator buildGenerator(ASTType type) {
+        return new ConverterWrapperReadWriteGenerator(converterInstanceBuilder.build(converterRepository.get(type)));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+/**
+ * Writes a compact encoding for values the subclass can represent exactly, and falls back to `writeSerializable()`
+ * for everything else, such as subclasses of the declared type (`java.sql.Timestamp` in a `Date` property).  An int
+ * tag ahead of the value records which of the two encodings follows.
+ *
+ * @author John Ericksen
+ */
+public abstract class SerializableFallbackReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    public static final int COMPACT = 1;
+    public static final int SERIALIZED = 0;
+
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+
+    public SerializableFallbackReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer, String readMethod, Class[] readMethodParams, String writeMethod, Class[] writeMethodParams) {
+        super(readMethod, readMethodParams, writeMethod, writeMethodParams);
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        JClass typeRef = generationUtil.ref(type);
+        JVar value = body.decl(typeRef, namer.generateName(type));
+
+        JConditional compactConditional = body._if(parcelParam.invoke("readInt").eq(JExpr.lit(COMPACT)));
+
+        JBlock compactBody = compactConditional._then();
+        compactBody.assign(value, generateCompactReader(compactBody, parcelParam));
+
+        compactConditional._else().assign(value, JExpr.cast(typeRef, parcelParam.invoke("readSerializable")));
+
+        return value;
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        JVar localVar = body.decl(generationUtil.ref(type), namer.generateName(type), getExpression);
+
+        JConditional compactConditional = body._if(isCompact(localVar));
+
+        JBlock compactBody = compactConditional._then();
+        compactBody.invoke(parcel, "writeInt").arg(JExpr.lit(COMPACT));
+        generateCompactWriter(compactBody, parcel, localVar);
+
+        JBlock serializedBody = compactConditional._else();
+        serializedBody.invoke(parcel, "writeInt").arg(JExpr.lit(SERIALIZED));
+        serializedBody.invoke(parcel, "writeSerializable").arg(localVar);
+    }
+
+    /**
+     * Builds the expression determining if the given non-null value survives the compact encoding unchanged.
+     */
+    protected JExpression isExactly(JExpression value, Class<?> type) {
+        return value.invoke("getClass").eq(generationUtil.ref(type).dotclass());
+    }
+
+    protected abstract JExpression isCompact(JVar value);
+
+    protected abstract JExpression generateCompactReader(JBlock body, JVar parcelParam);
+
+    protected abstract void generateCompactWriter(JBlock body, JExpression parcel, JVar value);
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import javax.inject.Inject;
+
+/**
+ * Writes a short[] as its length followed by the values packed two per int, matching
+ * `org.parceler.converter.ShortArrayParcelConverter`.
+ *
+ * @author John Ericksen
+ */
+public class ShortArrayReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    private final UniqueVariableNamer namer;
+    private final JCodeModel codeModel;
+
+    @Inject
+    public ShortArrayReadWriteGenerator(UniqueVariableNamer namer, JCodeModel codeModel) {
+        super("readInt", new Class[0], "writeInt", new Class[]{int.class});
+        this.namer = namer;
+        this.codeModel = codeModel;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+
+        JVar sizeVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke(getReadMethod()));
+
+        JVar outputVar = body.decl(codeModel.SHORT.array(), namer.generateName(codeModel.SHORT));
+
+        JConditional nullInputConditional = body._if(sizeVar.lt(JExpr.lit(0)));
+
+        nullInputConditional._then().assign(outputVar, JExpr._null());
+
+        JBlock nonNullBody = nullInputConditional._else();
+
+        nonNullBody.assign(outputVar, JExpr.newArray(codeModel.SHORT, sizeVar));
+
+        //for(int i = 0; i < size; i += 2)
+        JForLoop forLoop = nonNullBody._for();
+        JVar nVar = forLoop.init(codeModel.INT, namer.generateName(codeModel.INT), JExpr.lit(0));
+        forLoop.test(nVar.lt(sizeVar));
+        forLoop.update(JExpr.assignPlus(nVar, JExpr.lit(2)));
+        JBlock readLoopBody = forLoop.body();
+
+        JVar packedVar = readLoopBody.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke(getReadMethod()));
+        readLoopBody.assign(outputVar.component(nVar), JExpr.cast(codeModel.SHORT, packedVar));
+        readLoopBody._if(nVar.plus(JExpr.lit(1)).lt(sizeVar))._then()
+                .assign(outputVar.component(nVar.plus(JExpr.lit(1))), JExpr.cast(codeModel.SHORT, packedVar.shr(JExpr.lit(16))));
+
+        return outputVar;
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+
+        JConditional nullConditional = body._if(getExpression.eq(JExpr._null()));
+        nullConditional._then().invoke(parcel, getWriteMethod()).arg(JExpr.lit(-1));
+
+        JBlock writeBody = nullConditional._else();
+
+        JVar arrayVar = writeBody.decl(codeModel.SHORT.array(), namer.generateName(codeModel.SHORT), getExpression);
+        writeBody.invoke(parcel, getWriteMethod()).arg(arrayVar.ref("length"));
+
+        //for(int i = 0; i < array.length; i += 2)
+        JForLoop forLoop = writeBody._for();
+        JVar nVar = forLoop.init(codeModel.INT, namer.generateName(codeModel.INT), JExpr.lit(0));
+        forLoop.test(nVar.lt(arrayVar.ref("length")));
+        forLoop.update(JExpr.assignPlus(nVar, JExpr.lit(2)));
+        JBlock writeLoopBody = forLoop.body();
+
+        JVar packedVar = writeLoopBody.decl(codeModel.INT, namer.generateName(codeModel.INT), JOp.band(arrayVar.component(nVar), JExpr.lit(0xFFFF)));
+        writeLoopBody._if(nVar.plus(JExpr.lit(1)).lt(arrayVar.ref("length")))._then()
+                .assign(packedVar, packedVar.bor(JOp.shl(arrayVar.component(nVar.plus(JExpr.lit(1))), JExpr.lit(16))));
+        writeLoopBody.invoke(parcel, getWriteMethod()).arg(packedVar);
+    }
+}
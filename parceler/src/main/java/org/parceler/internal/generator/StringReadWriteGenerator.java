@@ -0,0 +1,82 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.parceler.internal.GeneratedClassContext;
+
+import javax.inject.Inject;
+
+/**
+ * Writes Strings directly, or through the String table of the identity collection when the class being generated has
+ * the String table enabled.  A String already written is replaced by its table id, otherwise -1 is written followed by
+ * the String itself.  Tree serialization has no identity collection, so it always writes Strings directly.
+ *
+ * @author John Ericksen
+ */
+public class StringReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    private final UniqueVariableNamer namer;
+    private final JCodeModel codeModel;
+    private final GeneratedClassContext classContext;
+
+    @Inject
+    public StringReadWriteGenerator(UniqueVariableNamer namer, JCodeModel codeModel, GeneratedClassContext classContext) {
+        super("readString", new Class[0], "writeString", new Class[]{String.class});
+        this.namer = namer;
+        this.codeModel = codeModel;
+        this.classContext = classContext;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        if(readIdentityMap == null || !classContext.isStringTable()) {
+            return parcelParam.invoke(getReadMethod());
+        }
+        JClass stringRef = codeModel.ref(String.class);
+
+        JVar keyVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), parcelParam.invoke("readInt"));
+        JVar stringVar = body.decl(stringRef, namer.generateName(stringRef));
+
+        JConditional newStringConditional = body._if(keyVar.eq(JExpr.lit(-1)));
+        JBlock newStringBody = newStringConditional._then();
+        newStringBody.assign(stringVar, parcelParam.invoke(getReadMethod()));
+        newStringBody.invoke(readIdentityMap, "putString").arg(stringVar);
+
+        newStringConditional._else().assign(stringVar, readIdentityMap.invoke("getString").arg(keyVar));
+
+        return stringVar;
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        if(writeIdentitySet == null || !classContext.isStringTable()) {
+            body.invoke(parcel, getWriteMethod()).arg(getExpression);
+            return;
+        }
+        JClass stringRef = codeModel.ref(String.class);
+
+        JVar stringVar = body.decl(stringRef, namer.generateName(stringRef), getExpression);
+        JVar keyVar = body.decl(codeModel.INT, namer.generateName(codeModel.INT), writeIdentitySet.invoke("getStringKey").arg(stringVar));
+        body.invoke(parcel, "writeInt").arg(keyVar);
+
+        JBlock newStringBody = body._if(keyVar.eq(JExpr.lit(-1)))._then();
+        newStringBody.invoke(writeIdentitySet, "putString").arg(stringVar);
+        newStringBody.invoke(parcel, getWriteMethod()).arg(stringVar);
+    }
+}
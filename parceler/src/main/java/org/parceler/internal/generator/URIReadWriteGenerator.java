@@ -0,0 +1,47 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+
+import java.net.URI;
+
+/**
+ * Writes a URI as its string form.
+ *
+ * @author John Ericksen
+ */
+public class URIReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    private final ClassGenerationUtil generationUtil;
+
+    public URIReadWriteGenerator(ClassGenerationUtil generationUtil) {
+        super("readString", new Class[0], "writeString", new Class[]{String.class});
+        this.generationUtil = generationUtil;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        return generationUtil.ref(URI.class).staticInvoke("create").arg(parcelParam.invoke(getReadMethod()));
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        body.invoke(parcel, getWriteMethod()).arg(getExpression.invoke("toString"));
+    }
+}
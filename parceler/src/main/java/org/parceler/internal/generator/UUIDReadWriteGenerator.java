@@ -0,0 +1,53 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.generator;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+
+import java.util.UUID;
+
+/**
+ * Writes a UUID as its most and least significant bits.
+ *
+ * @author John Ericksen
+ */
+public class UUIDReadWriteGenerator extends ReadWriteGeneratorBase {
+
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+
+    public UUIDReadWriteGenerator(ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+        super("readLong", new Class[0], "writeLong", new Class[]{long.class});
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+    }
+
+    @Override
+    public JExpression generateReader(JBlock body, JVar parcelParam, ASTType type, JClass returnJClassRef, JDefinedClass parcelableClass, JVar identity, JVar readIdentityMap) {
+        return JExpr._new(generationUtil.ref(UUID.class)).arg(parcelParam.invoke(getReadMethod())).arg(parcelParam.invoke(getReadMethod()));
+    }
+
+    @Override
+    public void generateWriter(JBlock body, JExpression parcel, JVar flags, ASTType type, JExpression getExpression, JDefinedClass parcelableClass, JVar writeIdentitySet) {
+        JVar localVar = body.decl(generationUtil.ref(UUID.class), namer.generateName(UUID.class), getExpression);
+
+        body.invoke(parcel, getWriteMethod()).arg(localVar.invoke("getMostSignificantBits"));
+        body.invoke(parcel, getWriteMethod()).arg(localVar.invoke("getLeastSignificantBits"));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.matcher;
+
+import org.androidtransfuse.adapter.ASTField;
+import org.androidtransfuse.adapter.ASTStringType;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.util.matcher.Matcher;
+import org.androidtransfuse.util.matcher.Matchers;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.EnumSet;
+
+/**
+ * Matches an EnumSet of an enum with few enough constants to be encoded as a long bitmask.
+ *
+ * @author John Ericksen
+ */
+public class EnumSetMatcher implements Matcher<ASTType> {
+
+    private static final int MAX_CONSTANTS = 64;
+
+    private final Matcher<ASTType> enumSetMatcher = Matchers.type(new ASTStringType(EnumSet.class.getName())).ignoreGenerics().build();
+    private final Elements elements;
+
+    public EnumSetMatcher(Elements elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public boolean matches(ASTType input) {
+        if(!enumSetMatcher.matches(input) || input.getGenericArgumentTypes().size() != 1) {
+            return false;
+        }
+        ASTType enumType = input.getGenericArgumentTypes().iterator().next();
+
+        return enumType.isEnum() && countConstants(enumType) <= MAX_CONSTANTS;
+    }
+
+    /**
+     * Counts the constants of the given enum, excluding any other static fields of the enum's own type.  The
+     * `ASTField` adapter does not distinguish the two, so the count is taken from the source element or the loaded
+     * class, falling back to every static field of the enum's type when neither is available.
+     */
+    private int countConstants(ASTType enumType) {
+        TypeElement typeElement = elements.getTypeElement(enumType.getName().replace('$', '.'));
+        if(typeElement != null) {
+            int count = 0;
+            for (Element enclosed : typeElement.getEnclosedElements()) {
+                if(enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        try {
+            return Class.forName(enumType.getName(), false, EnumSetMatcher.class.getClassLoader()).getEnumConstants().length;
+        } catch (ClassNotFoundException e) {
+            int count = 0;
+            for (ASTField field : enumType.getFields()) {
+                if(field.isStatic() && field.getASTType().getName().equals(enumType.getName())) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
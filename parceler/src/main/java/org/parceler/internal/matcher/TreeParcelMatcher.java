@@ -0,0 +1,42 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal.matcher;
+
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.util.matcher.Matcher;
+import org.parceler.internal.ParcelableAnalysis;
+
+/**
+ * Matches linked `@Parcel` types serialized as a tree.  These write no identity, so their null state is recorded by
+ * the referencing property instead.
+ *
+ * @author John Ericksen
+ */
+public class TreeParcelMatcher implements Matcher<ASTType> {
+
+    private final ParcelMatcher parcelMatcher;
+    private final ParcelableAnalysis analysis;
+
+    public TreeParcelMatcher(ParcelMatcher parcelMatcher, ParcelableAnalysis analysis) {
+        this.parcelMatcher = parcelMatcher;
+        this.analysis = analysis;
+    }
+
+    @Override
+    public boolean matches(ASTType type) {
+        return parcelMatcher.matches(type) && analysis.isTree(type);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated by the current thread while running a given action, as reported by
+ * `com.sun.management.ThreadMXBean.getThreadAllocatedBytes()`.  Actions are warmed up before being measured, and the
+ * smallest of several samples is reported to keep JIT compilation and other one-off costs out of the result.
+ *
+ * @author John Ericksen
+ */
+public final class AllocationMeter {
+
+    private static final int WARMUP_ROUNDS = 20000;
+    private static final int ROUNDS = 2000;
+    private static final int SAMPLES = 5;
+
+    private AllocationMeter() {
+        //private utility class constructor
+    }
+
+    /**
+     * Thrown when an action allocates more than its budget, distinguishing an exceeded budget from other assertion
+     * failures so known allocators may be pinned with `@Test(expected = BudgetExceededError.class)`.
+     */
+    public static class BudgetExceededError extends AssertionError {
+        public BudgetExceededError(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @return true if the running JVM reports per-thread allocations.
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return true;
+    }
+
+    /**
+     * @param round action to measure, run repeatedly on the current thread
+     * @return the steady-state number of bytes allocated by a single run of the given action
+     */
+    public static long bytesPerRound(Runnable round) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+
+        long smallest = Long.MAX_VALUE;
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            long start = threadBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ROUNDS; i++) {
+                round.run();
+            }
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - start;
+            smallest = Math.min(smallest, allocated / ROUNDS);
+        }
+        return smallest;
+    }
+
+    /**
+     * @throws BudgetExceededError if the given number of bytes exceeds the budget
+     */
+    public static void assertWithinBudget(String name, long allocated, long budget) {
+        if (allocated > budget) {
+            throw new BudgetExceededError(name + " allocated " + allocated + " bytes per round, exceeding its budget of " + budget + " bytes");
+        }
+    }
+}
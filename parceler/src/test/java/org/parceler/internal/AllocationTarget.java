@@ -0,0 +1,92 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelOrdinal;
+import org.parceler.ParcelPropertyConverter;
+
+import java.util.List;
+
+/**
+ * Models measured by `WriteAllocationTest`, one per kind of property.
+ *
+ * @author John Ericksen
+ */
+public class AllocationTarget {
+
+    public static final int PRIVATE_COUNT = 1000;
+
+    @ParcelOrdinal
+    public enum Size {
+        SMALL, MEDIUM, LARGE
+    }
+
+    @Parcel(tree = true)
+    public static class Primitives {
+        public int count;
+        public long total;
+        public double ratio;
+        public float scale;
+        public byte tag;
+        public char initial;
+        public short delta;
+        public boolean flag;
+    }
+
+    @Parcel(tree = true)
+    public static class Boxed {
+        public Integer count;
+        public Long total;
+        public Double ratio;
+        public Character initial;
+        public Boolean flag;
+        public Integer missing;
+    }
+
+    @Parcel(tree = true)
+    public static class Enums {
+        public Size size;
+        public Size missingSize;
+    }
+
+    @Parcel(tree = true)
+    public static class SharedConverterField {
+        @ParcelPropertyConverter(CountingStringConverter.class)
+        public String value;
+    }
+
+    @Parcel(tree = true)
+    public static class StatefulConverterField {
+        @ParcelPropertyConverter(StatefulStringConverter.class)
+        public String value;
+    }
+
+    @Parcel(tree = true)
+    public static class ListField {
+        public List<Integer> values;
+    }
+
+    @Parcel
+    public static class Identity {
+        public int count;
+    }
+
+    @Parcel(tree = true)
+    public static class PrivateField {
+        private int count = PRIVATE_COUNT;
+    }
+}
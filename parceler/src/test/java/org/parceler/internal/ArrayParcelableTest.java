@@ -0,0 +1,94 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.NonParcelRepository;
+import org.parceler.Parcels;
+import org.parceler.converter.ShortArrayParcelConverter;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trips the arrays wrapped by `NonParcelRepository` through a real Parcel.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+public class ArrayParcelableTest {
+
+    @Test
+    public void testArrayRoundTrip() {
+        assertArrayEquals(new int[]{1, -2, Integer.MAX_VALUE}, (int[]) Parcels.unwrap(roundTrip(Parcels.wrap(new int[]{1, -2, Integer.MAX_VALUE}))));
+        assertArrayEquals(new long[]{3L, Long.MIN_VALUE}, (long[]) Parcels.unwrap(roundTrip(Parcels.wrap(new long[]{3L, Long.MIN_VALUE}))));
+        assertArrayEquals(new float[]{4.5f, -0f}, (float[]) Parcels.unwrap(roundTrip(Parcels.wrap(new float[]{4.5f, -0f}))), 0);
+        assertArrayEquals(new double[]{Math.PI, Double.MAX_VALUE}, (double[]) Parcels.unwrap(roundTrip(Parcels.wrap(new double[]{Math.PI, Double.MAX_VALUE}))), 0);
+        assertArrayEquals(new short[]{5, -6, Short.MAX_VALUE}, (short[]) Parcels.unwrap(roundTrip(Parcels.wrap(new short[]{5, -6, Short.MAX_VALUE}))));
+        assertArrayEquals(new String[]{"seven", null, ""}, (String[]) Parcels.unwrap(roundTrip(Parcels.wrap(new String[]{"seven", null, ""}))));
+    }
+
+    @Test
+    public void testEmptyArrayRoundTrip() {
+        assertEquals(0, ((int[]) Parcels.unwrap(roundTrip(Parcels.wrap(new int[0])))).length);
+        assertEquals(0, ((short[]) Parcels.unwrap(roundTrip(Parcels.wrap(new short[0])))).length);
+        assertEquals(0, ((String[]) Parcels.unwrap(roundTrip(Parcels.wrap(new String[0])))).length);
+    }
+
+    @Test
+    public void testNullArrayRoundTrip() {
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.IntArrayParcelable((int[]) null))));
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.LongArrayParcelable((long[]) null))));
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.FloatArrayParcelable((float[]) null))));
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.DoubleArrayParcelable((double[]) null))));
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.ShortArrayParcelable((short[]) null))));
+        assertNull(Parcels.unwrap(roundTrip(new NonParcelRepository.StringArrayParcelable((String[]) null))));
+    }
+
+    @Test
+    public void testShortArrayConverter() {
+        ShortArrayParcelConverter converter = new ShortArrayParcelConverter();
+        short[] odd = new short[]{1, -1, Short.MIN_VALUE, Short.MAX_VALUE, 0};
+
+        Parcel parcel = Parcel.obtain();
+        converter.toParcel(odd, parcel, 0);
+        converter.toParcel(null, parcel, 0);
+        converter.toParcel(new short[0], parcel, 0);
+
+        // the length followed by three packed ints, then the null and empty lengths
+        assertEquals((1 + 3 + 1 + 1) * 4, parcel.dataSize());
+
+        parcel.setDataPosition(0);
+        assertArrayEquals(odd, converter.fromParcel(parcel));
+        assertNull(converter.fromParcel(parcel));
+        assertEquals(0, converter.fromParcel(parcel).length);
+        parcel.recycle();
+    }
+
+    private Parcelable roundTrip(Parcelable parcelable) {
+        Parcel parcel = Parcel.obtain();
+        parcel.writeParcelable(parcelable, 0);
+        parcel.setDataPosition(0);
+        Parcelable output = parcel.readParcelable(ArrayParcelableTest.class.getClassLoader());
+        parcel.recycle();
+        return output;
+    }
+}
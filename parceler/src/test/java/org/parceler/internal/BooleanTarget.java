@@ -0,0 +1,139 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelConstructor;
+import org.parceler.ParcelFactory;
+import org.parceler.ParcelProperty;
+
+/**
+ * @author John Ericksen
+ */
+public class BooleanTarget {
+
+    @Parcel
+    public static class FieldTarget {
+        public boolean flag0;
+        public boolean flag1;
+        public boolean flag2;
+        public boolean flag3;
+        public boolean flag4;
+        public boolean flag5;
+        public boolean flag6;
+        public boolean flag7;
+        public boolean flag8;
+        public boolean flag9;
+        public boolean flag10;
+        public boolean flag11;
+        public boolean flag12;
+        public boolean flag13;
+        public boolean flag14;
+        public boolean flag15;
+        public boolean flag16;
+        public boolean flag17;
+        public boolean flag18;
+        public boolean flag19;
+        public boolean flag20;
+        public boolean flag21;
+        public boolean flag22;
+        public boolean flag23;
+        public boolean flag24;
+        public boolean flag25;
+        public boolean flag26;
+        public boolean flag27;
+        public boolean flag28;
+        public boolean flag29;
+        public boolean flag30;
+        public boolean flag31;
+        public boolean flag32;
+        public Boolean boxedTrue;
+        public Boolean boxedFalse;
+        public Boolean boxedNull;
+    }
+
+    @Parcel(Parcel.Serialization.BEAN)
+    public static class BeanTarget {
+        private boolean first;
+        private Boolean second;
+
+        public boolean isFirst() {
+            return first;
+        }
+
+        public void setFirst(boolean first) {
+            this.first = first;
+        }
+
+        public Boolean getSecond() {
+            return second;
+        }
+
+        public void setSecond(Boolean second) {
+            this.second = second;
+        }
+    }
+
+    @Parcel(Parcel.Serialization.VALUE)
+    public static class ValueTarget {
+        private boolean first;
+        private Boolean second;
+
+        public boolean first() {
+            return first;
+        }
+
+        public void first(boolean first) {
+            this.first = first;
+        }
+
+        public Boolean second() {
+            return second;
+        }
+
+        public void second(Boolean second) {
+            this.second = second;
+        }
+    }
+
+    @Parcel
+    public static class ConstructorTarget {
+        public final boolean first;
+        public final Boolean second;
+
+        @ParcelConstructor
+        public ConstructorTarget(@ParcelProperty("first") boolean first, @ParcelProperty("second") Boolean second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    @Parcel
+    public static class FactoryTarget {
+        public final boolean first;
+        public final Boolean second;
+
+        private FactoryTarget(boolean first, Boolean second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @ParcelFactory
+        public static FactoryTarget build(@ParcelProperty("first") boolean first, @ParcelProperty("second") Boolean second) {
+            return new FactoryTarget(first, second);
+        }
+    }
+}
@@ -15,9 +15,15 @@
  */
 package org.parceler.internal;
 
+import android.os.Parcelable;
 import com.sun.codemodel.JCodeModel;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.gen.ClassNamer;
+import org.parceler.Parcels;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.io.IOException;
 import java.util.Map;
 
@@ -29,12 +35,48 @@ public class CodeGenerationUtil {
     private final JCodeModel codeModel;
     private final StringCodeWriter stringCodeWriter;
     private final MemoryClassLoader classLoader;
+    private final ASTClassFactory astClassFactory;
+    private final Provider<ParcelableGenerator> generatorProvider;
+    private final Provider<ParcelableAnalysis> analysisProvider;
+    private final LocalParcelRepository localParcelRepository;
 
     @Inject
-    public CodeGenerationUtil(JCodeModel codeModel, StringCodeWriter stringCodeWriter, MemoryClassLoader classLoader) {
+    public CodeGenerationUtil(JCodeModel codeModel,
+                              StringCodeWriter stringCodeWriter,
+                              MemoryClassLoader classLoader,
+                              ASTClassFactory astClassFactory,
+                              Provider<ParcelableGenerator> generatorProvider,
+                              Provider<ParcelableAnalysis> analysisProvider,
+                              LocalParcelRepository localParcelRepository) {
         this.codeModel = codeModel;
         this.stringCodeWriter = stringCodeWriter;
         this.classLoader = classLoader;
+        this.astClassFactory = astClassFactory;
+        this.generatorProvider = generatorProvider;
+        this.analysisProvider = analysisProvider;
+        this.localParcelRepository = localParcelRepository;
+    }
+
+    /**
+     * Analyzes and generates the Parcelable wrapper of the given `@Parcel` type, as the processor would for a type of the
+     * current compilation, without building the code model.
+     */
+    public ASTType generate(Class<?> inputType) {
+        ASTType inputASTType = astClassFactory.getType(inputType);
+        localParcelRepository.add(inputASTType.getName());
+        generatorProvider.get().generateParcelable(inputASTType, analysisProvider.get().analyze(inputASTType));
+        return inputASTType;
+    }
+
+    /**
+     * Generates the Parcelable wrapper of the given `@Parcel` type, then builds the code model and loads the wrapper.  As
+     * the code model may only be built once, any other type must be generated beforehand with `generate()`.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Class<Parcelable> generateWrapper(Class<T> inputType) throws IOException, ClassNotFoundException {
+        ASTType inputASTType = generate(inputType);
+
+        return (Class<Parcelable>) build().loadClass(ClassNamer.className(inputASTType).append(Parcels.IMPL_EXT).build().toString());
     }
 
     public ClassLoader build() throws IOException {
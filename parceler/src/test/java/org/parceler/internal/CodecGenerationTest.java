@@ -0,0 +1,148 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.ClassNamer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.ParcelCodec;
+import org.parceler.ParcelCodecs;
+import org.parceler.Parcels;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trips classes generated with the `parcelerCodec` option through `ParcelCodecs`.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class CodecGenerationTest {
+
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+
+    private ClassLoader classLoader;
+    private ASTType convertedType;
+
+    @Before
+    public void setup() throws Exception {
+        TestParcelerModule.OPTIONS.add(ParcelerModule.CODEC);
+        Bootstraps.inject(this);
+
+        ASTType childType = codeGenerationUtil.generate(CodecTarget.Child.class);
+        ASTType targetType = codeGenerationUtil.generate(CodecTarget.class);
+        convertedType = codeGenerationUtil.generate(CodecTarget.Converted.class);
+
+        classLoader = codeGenerationUtil.build();
+
+        // the generated codecs are not visible to the class loader of the @Parcel types, where ParcelCodecs looks them up
+        register(CodecTarget.Child.class, childType);
+        register(CodecTarget.class, targetType);
+    }
+
+    @After
+    public void tearDown() {
+        TestParcelerModule.OPTIONS.clear();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        CodecTarget target = new CodecTarget();
+        target.name = "shared";
+        target.repeated = "shared";
+        target.size = CodecTarget.Size.LARGE;
+        target.tags = Arrays.asList("shared", "tag", null);
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        counts.put("one", 1);
+        counts.put("none", null);
+        target.counts = counts;
+        target.child = new CodecTarget.Child();
+        target.child.label = "child";
+        target.child.value = Long.MAX_VALUE;
+        target.children = Arrays.asList(target.child, null);
+
+        byte[] bytes = ParcelCodecs.toByteArray(target);
+        CodecTarget output = ParcelCodecs.fromByteArray(bytes, CodecTarget.class);
+
+        assertEquals("shared", output.name);
+        // the string table writes a repeated value once, reading back the same instance
+        assertSame(output.name, output.repeated);
+        assertEquals(CodecTarget.Size.LARGE, output.size);
+        assertEquals(Arrays.asList("shared", "tag", null), output.tags);
+        assertEquals(counts, output.counts);
+        assertEquals("child", output.child.label);
+        assertEquals(Long.MAX_VALUE, output.child.value);
+        assertEquals(2, output.children.size());
+        // identities are tracked across the nested codecs
+        assertSame(output.child, output.children.get(0));
+        assertNull(output.children.get(1));
+    }
+
+    @Test
+    public void testEmptyRoundTrip() {
+        CodecTarget output = ParcelCodecs.fromByteArray(ParcelCodecs.toByteArray(new CodecTarget()), CodecTarget.class);
+
+        assertNull(output.name);
+        assertNull(output.size);
+        assertNull(output.tags);
+        assertNull(output.counts);
+        assertNull(output.child);
+        assertNull(output.children);
+    }
+
+    @Test
+    public void testNestedRoundTrip() {
+        CodecTarget.Child child = new CodecTarget.Child();
+        child.label = "child";
+
+        CodecTarget.Child output = ParcelCodecs.fromByteArray(ParcelCodecs.toByteArray(child), CodecTarget.Child.class);
+
+        assertEquals("child", output.label);
+        assertEquals(0, output.value);
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testConverterSkipped() throws Exception {
+        // the Parcelable is generated as usual
+        assertNotNull(classLoader.loadClass(ClassNamer.className(convertedType).append(Parcels.IMPL_EXT).build().toString()));
+
+        classLoader.loadClass(ClassNamer.className(convertedType).append(ParcelCodecs.CODEC_EXT).build().toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void register(Class<?> type, ASTType astType) throws Exception {
+        ParcelCodec<?> codec = (ParcelCodec<?>) classLoader.loadClass(ClassNamer.className(astType).append(ParcelCodecs.CODEC_EXT).build().toString()).newInstance();
+        Field codecsField = ParcelCodecs.class.getDeclaredField("CODECS");
+        codecsField.setAccessible(true);
+        ((Map<Class, ParcelCodec>) codecsField.get(null)).put(type, codec);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelConverter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel
+public class ConverterRegistryTarget {
+
+    public static class Money {
+        public final long cents;
+
+        public Money(long cents) {
+            this.cents = cents;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Money && ((Money) o).cents == cents;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) cents;
+        }
+    }
+
+    public static class MoneyConverter implements ParcelConverter<Money> {
+
+        public static int instances = 0;
+
+        public MoneyConverter() {
+            instances++;
+        }
+
+        @Override
+        public void toParcel(Money input, android.os.Parcel parcel, int flags) {
+            parcel.writeLong(input == null ? Long.MIN_VALUE : input.cents);
+        }
+
+        @Override
+        public Money fromParcel(android.os.Parcel parcel) {
+            long cents = parcel.readLong();
+            return cents == Long.MIN_VALUE ? null : new Money(cents);
+        }
+    }
+
+    public Money price;
+    public Money missing;
+    public List<Money> history;
+    public Money[] quotes;
+    public Map<String, Money> byCurrency;
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelPropertyConverter;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel
+public class ConverterTarget {
+
+    @ParcelPropertyConverter(CountingStringConverter.class)
+    public String first;
+    @ParcelPropertyConverter(CountingStringConverter.class)
+    public String second;
+    @ParcelPropertyConverter(StatefulStringConverter.class)
+    public String stateful;
+
+    public ConverterTarget() {}
+
+    public ConverterTarget(String first, String second, String stateful) {
+        this.first = first;
+        this.second = second;
+        this.stateful = stateful;
+    }
+
+    public String getFirst() {
+        return first;
+    }
+
+    public String getSecond() {
+        return second;
+    }
+
+    public String getStateful() {
+        return stateful;
+    }
+}
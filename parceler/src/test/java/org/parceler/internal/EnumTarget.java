@@ -0,0 +1,43 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelOrdinal;
+
+import java.util.EnumSet;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel
+public class EnumTarget {
+
+    @ParcelOrdinal
+    public enum Size {
+        SMALL, MEDIUM, LARGE
+    }
+
+    public enum Flag {
+        ONE, TWO, THREE, FOUR
+    }
+
+    public Size size;
+    public Size missingSize;
+    public EnumSet<Flag> flags;
+    public EnumSet<Flag> emptyFlags;
+    public EnumSet<Flag> missingFlags;
+}
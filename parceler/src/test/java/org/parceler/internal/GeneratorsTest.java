@@ -17,19 +17,29 @@ package org.parceler.internal;
 
 import android.os.Parcel;
 import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
 import org.androidtransfuse.util.matcher.Matcher;
 import org.junit.Before;
 import org.junit.Test;
+import org.parceler.ParcelerRuntimeException;
 import org.parceler.internal.generator.ReadWriteGenerator;
 import org.parceler.internal.generator.ReadWriteGeneratorBase;
+import org.parceler.internal.generator.SimpleReadWriteGenerator;
+import org.parceler.internal.matcher.EnumSetMatcher;
 
 import javax.inject.Inject;
 import java.lang.reflect.Method;
+import java.util.EnumSet;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author John Ericksen
@@ -39,6 +49,8 @@ public class GeneratorsTest {
     
     @Inject
     private Generators generators;
+    @Inject
+    private ASTClassFactory astClassFactory;
     
     @Before
     public void setup(){
@@ -58,5 +70,67 @@ public class GeneratorsTest {
             }
         }
     }
-    
+
+    @Test
+    public void testMemoizedResolution() {
+        CountingMatcher matcher = new CountingMatcher();
+        generators.add(matcher, new SimpleReadWriteGenerator("readInt", new String[0], "writeInt", new String[]{"int"}));
+        ASTType objectType = astClassFactory.getType(Object.class);
+
+        assertFalse(generators.matches(objectType));
+        assertFalse(generators.matches(objectType));
+        try {
+            generators.getGenerator(objectType);
+            fail();
+        } catch (ParcelerRuntimeException e) {
+            //expected
+        }
+        assertEquals(1, matcher.count);
+
+        ASTType stringType = astClassFactory.getType(String.class);
+        assertSame(generators.getGenerator(stringType), generators.getGenerator(stringType));
+    }
+
+    @Test
+    public void testRegistrationClearsResolution() {
+        ASTType objectType = astClassFactory.getType(Object.class);
+        assertFalse(generators.matches(objectType));
+
+        ReadWriteGenerator generator = new SimpleReadWriteGenerator("readInt", new String[0], "writeInt", new String[]{"int"});
+        generators.addPair(objectType, generator);
+
+        assertSame(generator, generators.getGenerator(objectType));
+    }
+
+    @Test
+    public void testEnumSetMatchesOnlyConstants() {
+        ASTType wideSetType = astClassFactory.getType(WideHolder.class).getFields().iterator().next().getASTType();
+
+        // DEFAULT is a static field of the enum's own type, but not a 65th constant
+        assertTrue(new EnumSetMatcher(new NoOpElements()).matches(wideSetType));
+    }
+
+    public enum Wide {
+        C0, C1, C2, C3, C4, C5, C6, C7, C8, C9, C10, C11, C12, C13, C14, C15,
+        C16, C17, C18, C19, C20, C21, C22, C23, C24, C25, C26, C27, C28, C29, C30, C31,
+        C32, C33, C34, C35, C36, C37, C38, C39, C40, C41, C42, C43, C44, C45, C46, C47,
+        C48, C49, C50, C51, C52, C53, C54, C55, C56, C57, C58, C59, C60, C61, C62, C63;
+
+        public static final Wide DEFAULT = C0;
+    }
+
+    public static class WideHolder {
+        public EnumSet<Wide> wide;
+    }
+
+    private static final class CountingMatcher implements Matcher<ASTType> {
+
+        private int count = 0;
+
+        @Override
+        public boolean matches(ASTType input) {
+            count++;
+            return false;
+        }
+    }
 }
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Currency;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel
+public class JdkTypesTarget {
+
+    public UUID uuid;
+    public Date date;
+    public BigInteger bigInteger;
+    public BigDecimal bigDecimal;
+    public URI uri;
+    public Locale locale;
+    public Locale extendedLocale;
+    public Currency currency;
+    public UUID nullUuid;
+    public BigDecimal nullBigDecimal;
+}
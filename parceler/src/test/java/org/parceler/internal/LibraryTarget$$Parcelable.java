@@ -0,0 +1,37 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import org.parceler.IdentityCollection;
+
+/**
+ * Stands in for the `LibraryTarget` wrapper of a library built before the generated `sizeOf()` existed.
+ *
+ * @author John Ericksen
+ */
+public class LibraryTarget$$Parcelable {
+
+    public static void write(LibraryTarget input, Parcel parcel, int flags, IdentityCollection identityMap) {
+        parcel.writeString(input.value);
+    }
+
+    public static LibraryTarget read(Parcel parcel, IdentityCollection identityMap) {
+        LibraryTarget target = new LibraryTarget();
+        target.value = parcel.readString();
+        return target;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+
+/**
+ * A `@Parcel` treated as if it were built into a library by an earlier Parceler, see `LibraryTarget$$Parcelable`.
+ *
+ * @author John Ericksen
+ */
+@Parcel
+public class LibraryTarget {
+
+    public String value;
+
+    @Parcel
+    public static class Linking {
+        public String name;
+        public LibraryTarget library;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import org.parceler.Parcel;
+import org.parceler.ParcelConstructor;
+import org.parceler.ParcelProperty;
+
+/**
+ * @author John Ericksen
+ */
+@Parcel
+public class NullableTarget {
+
+    public Integer one;
+    public Integer two;
+    public Long three;
+    public Long four;
+    public Double five;
+    public Double six;
+    public Float seven;
+    public Float eight;
+    public Byte nine;
+    public Character ten;
+    public Boolean eleven;
+    public Integer twelve;
+    private final Integer constructorValue;
+
+    @ParcelConstructor
+    public NullableTarget(@ParcelProperty("constructorValue") Integer constructorValue) {
+        this.constructorValue = constructorValue;
+    }
+
+    public Integer getConstructorValue() {
+        return constructorValue;
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.IdentityCollection;
+import org.parceler.Parcels;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+public class ParcelSnapshotTest {
+
+    public static class SnapshotTarget {
+        public String value;
+        public int count;
+    }
+
+    /**
+     * Stands in for the generated `SnapshotTarget$$Parcelable`, resolved by name by `Parcels`.
+     */
+    public static class SnapshotTarget$$Parcelable {
+
+        public static int reads = 0;
+
+        public SnapshotTarget$$Parcelable(SnapshotTarget input) {}
+
+        public static void write(SnapshotTarget input, Parcel parcel, int flags, IdentityCollection identityMap) {
+            parcel.writeString(input.value);
+            parcel.writeInt(input.count);
+        }
+
+        public static SnapshotTarget read(Parcel parcel, IdentityCollection identityMap) {
+            reads++;
+            SnapshotTarget target = new SnapshotTarget();
+            target.value = parcel.readString();
+            target.count = parcel.readInt();
+            return target;
+        }
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() {
+        SnapshotTarget input = new SnapshotTarget();
+        input.value = "test";
+        input.count = 42;
+
+        Parcelable snapshot = Parcels.snapshot(input);
+        assertSame(input, Parcels.unwrap(snapshot));
+
+        // changes after the snapshot is taken are not parceled
+        input.count = 7;
+
+        SnapshotTarget$$Parcelable.reads = 0;
+        Parcelable output = roundTrip(snapshot);
+
+        // decoding is deferred until unwrapped
+        assertEquals(0, SnapshotTarget$$Parcelable.reads);
+        SnapshotTarget unwrapped = Parcels.unwrap(output);
+        assertEquals("test", unwrapped.value);
+        assertEquals(42, unwrapped.count);
+        assertSame(unwrapped, Parcels.unwrap(output));
+        assertEquals(1, SnapshotTarget$$Parcelable.reads);
+    }
+
+    @Test
+    public void testSnapshotExecutor() throws Exception {
+        SnapshotTarget input = new SnapshotTarget();
+        input.value = "test";
+
+        final int[] executed = new int[1];
+        Future<Parcelable> future = Parcels.snapshot(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executed[0]++;
+                command.run();
+            }
+        }, input);
+
+        assertEquals(1, executed[0]);
+        SnapshotTarget unwrapped = Parcels.unwrap(roundTrip(future.get()));
+        assertEquals("test", unwrapped.value);
+    }
+
+    @Test
+    public void testLazyWrapRoundTrip() {
+        SnapshotTarget input = new SnapshotTarget();
+        input.value = "test";
+        input.count = 42;
+
+        Parcelable lazy = Parcels.wrapLazy(input);
+        assertSame(input, Parcels.unwrap(lazy));
+
+        SnapshotTarget$$Parcelable.reads = 0;
+        // parceled again before being unwrapped, copying the frame
+        Parcelable output = roundTrip(roundTrip(lazy));
+
+        assertEquals(0, SnapshotTarget$$Parcelable.reads);
+        SnapshotTarget unwrapped = Parcels.unwrap(output);
+        assertEquals("test", unwrapped.value);
+        assertEquals(42, unwrapped.count);
+        assertSame(unwrapped, Parcels.unwrap(output));
+        assertEquals(1, SnapshotTarget$$Parcelable.reads);
+    }
+
+    @Test
+    public void testNullSnapshot() {
+        assertNull(Parcels.snapshot(null));
+    }
+
+    private Parcelable roundTrip(Parcelable parcelable) {
+        Parcel parcel = Parcel.obtain();
+        parcel.writeParcelable(parcelable, 0);
+        parcel.setDataPosition(0);
+        Parcelable output = parcel.readParcelable(ParcelSnapshotTest.class.getClassLoader());
+        parcel.recycle();
+        return output;
+    }
+}
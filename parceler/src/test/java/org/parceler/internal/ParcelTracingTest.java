@@ -0,0 +1,143 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.ParcelTracing;
+import org.parceler.ParcelerTracer;
+import org.parceler.Parcels;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writes and reads classes generated with the `parcelerTrace` option.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class ParcelTracingTest {
+
+    private static final String TYPE = TraceTarget.class.getName();
+
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+
+    private final ParcelerTracer defaultTracer = ParcelTracing.getTracer();
+    private final List<String> sections = new ArrayList<String>();
+    private Class<Parcelable> parcelableClass;
+
+    @Before
+    public void setup() throws Exception {
+        TestParcelerModule.OPTIONS.add(ParcelerModule.TRACE);
+        Bootstraps.inject(this);
+
+        parcelableClass = codeGenerationUtil.generateWrapper(TraceTarget.class);
+
+        ParcelTracing.setTracer(new ParcelerTracer() {
+            @Override
+            public void begin(String type, String operation) {
+                sections.add("begin " + operation + " " + type);
+            }
+
+            @Override
+            public void end(int bytes) {
+                sections.add("end " + bytes);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        TestParcelerModule.OPTIONS.clear();
+        ParcelTracing.setTracer(defaultTracer);
+    }
+
+    @Test
+    public void testSections() throws Exception {
+        TraceTarget target = new TraceTarget();
+        target.name = "name";
+        target.count = 42;
+        target.checked = "checked";
+
+        Parcel parcel = Parcel.obtain();
+        parcelableClass.getConstructor(TraceTarget.class).newInstance(target).writeToParcel(parcel, 0);
+        int written = parcel.dataSize();
+        parcel.setDataPosition(0);
+        TraceTarget output = Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(parcel));
+        parcel.recycle();
+
+        assertEquals("name", output.name);
+        assertEquals(42, output.count);
+        assertEquals("checked", output.checked);
+
+        assertEquals(4, sections.size());
+        assertEquals("begin " + ParcelTracing.WRITE + " " + TYPE, sections.get(0));
+        assertEquals("end " + written, sections.get(1));
+        assertEquals("begin " + ParcelTracing.READ + " " + TYPE, sections.get(2));
+        assertEquals("end " + written, sections.get(3));
+    }
+
+    @Test
+    public void testSectionEndedWhenWriteThrows() throws Exception {
+        TraceTarget target = new TraceTarget();
+        target.name = "name";
+
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcelableClass.getConstructor(TraceTarget.class).newInstance(target).writeToParcel(parcel, 0);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("checked", e.getMessage());
+        }
+        int written = parcel.dataSize();
+        parcel.recycle();
+
+        assertEquals(2, sections.size());
+        assertEquals("begin " + ParcelTracing.WRITE + " " + TYPE, sections.get(0));
+        // the bytes written up to the failure
+        assertEquals("end " + written, sections.get(1));
+    }
+
+    @Test
+    public void testNoTracer() throws Exception {
+        ParcelTracing.setTracer(null);
+        assertNotNull(ParcelTracing.getTracer());
+
+        TraceTarget target = new TraceTarget();
+        target.checked = "checked";
+
+        Parcel parcel = Parcel.obtain();
+        parcelableClass.getConstructor(TraceTarget.class).newInstance(target).writeToParcel(parcel, 0);
+        parcel.recycle();
+
+        assertTrue(sections.isEmpty());
+    }
+}
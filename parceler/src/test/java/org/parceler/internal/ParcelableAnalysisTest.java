@@ -21,12 +21,14 @@ import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.validation.Validator;
 import org.junit.Before;
 import org.junit.Test;
 import org.parceler.*;
 import org.parceler.Parcel.Serialization;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +43,12 @@ public class ParcelableAnalysisTest {
     private ASTClassFactory astClassFactory;
     @Inject
     private ErrorCheckingMessager messager;
+    @Inject
+    private Validator validator;
+    @Inject
+    private Provider<Generators> generatorsProvider;
+    @Inject
+    private LocalParcelRepository localParcelRepository;
     private ASTType converterAst;
 
     @Before
@@ -112,6 +120,29 @@ public class ParcelableAnalysisTest {
         errors(InterfaceParcel.class);
     }
 
+    @Parcel
+    static class LocalParcel {}
+
+    @Parcel
+    static class LibraryParcel {}
+
+    @Parcel(tree = true)
+    static class LibraryTreeParcel {}
+
+    @Test
+    public void testTreeModeOptionLocality() {
+        ParcelableAnalysis treeModeAnalysis = new ParcelableAnalysis(validator, generatorsProvider, astClassFactory, localParcelRepository, true, false);
+        ASTType localType = astClassFactory.getType(LocalParcel.class);
+        localParcelRepository.add(localType.getName());
+
+        assertTrue(treeModeAnalysis.isTree(localType));
+        assertTrue(treeModeAnalysis.analyze(localType).isTree());
+        // linked types compiled into a library keep the signature they were built with
+        assertFalse(treeModeAnalysis.isTree(astClassFactory.getType(LibraryParcel.class)));
+        assertFalse(treeModeAnalysis.analyze(astClassFactory.getType(LibraryParcel.class)).isTree());
+        assertTrue(treeModeAnalysis.isTree(astClassFactory.getType(LibraryTreeParcel.class)));
+    }
+
     @Parcel(describeContents = 42)
     static class DescribedContents {}
 
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.IdentityCollection;
+import org.parceler.Parcels;
+import org.parceler.Repository;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class ParcelableFactoryRepositoryGeneratorTest {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private ParcelableGenerator parcelableGenerator;
+    @Inject
+    private ParcelableAnalysis parcelableAnalysis;
+    @Inject
+    private ParcelableFactoryRepositoryGenerator repositoryGenerator;
+    @Inject
+    private ParcelableFactoryRegistry registry;
+
+    private Repository<Parcels.ParcelableFactory> repository;
+
+    @Before
+    public void setup() throws Exception {
+        Bootstraps.inject(this);
+
+        ASTType parcelASTType = astClassFactory.getType(ParcelTarget.class);
+        ASTType parcelTwoASTType = astClassFactory.getType(ParcelSecondTarget.class);
+
+        parcelableGenerator.generateParcelable(parcelASTType, parcelableAnalysis.analyze(parcelASTType));
+        parcelableGenerator.generateParcelable(parcelTwoASTType, parcelableAnalysis.analyze(parcelTwoASTType));
+
+        repositoryGenerator.run(null);
+
+        ClassLoader classLoader = codeGenerationUtil.build();
+
+        PackageClass repositoryName = null;
+        for (PackageClass generated : registry.getRepositories()) {
+            repositoryName = generated;
+        }
+        assertNotNull(repositoryName);
+        repository = (Repository<Parcels.ParcelableFactory>) classLoader.loadClass(repositoryName.getFullyQualifiedName()).newInstance();
+    }
+
+    @Test
+    public void testRepositoryFactories() {
+        Map<Class, Parcels.ParcelableFactory> factories = repository.get();
+
+        assertTrue(factories.containsKey(ParcelTarget.class));
+        assertTrue(factories.containsKey(ParcelSecondTarget.class));
+
+        ParcelTarget target = new ParcelTarget();
+        Parcelable parcelable = factories.get(ParcelTarget.class).buildParcelable(target);
+
+        assertTrue(parcelable.getClass().getName().endsWith("$$" + Parcels.IMPL_EXT));
+        assertSame(target, Parcels.unwrap(parcelable));
+    }
+
+    @Test
+    public void testRepositoryAccessors() {
+        Map<Class, Parcels.ParcelableFactory> factories = repository.get();
+
+        assertTrue(factories.get(ParcelTarget.class) instanceof Parcels.ParcelAccessor);
+        Parcels.ParcelAccessor<ParcelTarget> accessor = (Parcels.ParcelAccessor<ParcelTarget>) factories.get(ParcelTarget.class);
+
+        ParcelTarget target = new ParcelTarget();
+        target.setStringValue("test");
+        target.setDoubleValue(42d);
+
+        Parcel parcel = Parcel.obtain();
+        IdentityCollection writeIdentities = new IdentityCollection();
+        accessor.write(target, parcel, 0, writeIdentities);
+        accessor.write(target, parcel, 0, writeIdentities);
+        parcel.setDataPosition(0);
+
+        IdentityCollection readIdentities = new IdentityCollection();
+        ParcelTarget first = accessor.read(parcel, readIdentities);
+        ParcelTarget second = accessor.read(parcel, readIdentities);
+
+        assertEquals(target, first);
+        assertSame(first, second);
+    }
+}
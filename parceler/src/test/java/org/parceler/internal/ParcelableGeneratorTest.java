@@ -23,17 +23,42 @@ import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
 import org.androidtransfuse.gen.ClassNamer;
+import org.apache.commons.lang.builder.EqualsBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.parceler.IdentityCollection;
+import org.parceler.ParcelerStatsRecorder;
 import org.parceler.Parcels;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
-
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author John Ericksen
@@ -44,6 +69,9 @@ import static org.junit.Assert.assertEquals;
 public class ParcelableGeneratorTest {
 
     private static final String TEST_VALUE = "test";
+    private static final int ROUND_TRIPS = 10;
+    private static final int STATS_THREADS = 4;
+    private static final int STATS_ITERATIONS = 1000;
 
     @Inject
     private ParcelableGenerator generator;
@@ -51,6 +79,10 @@ public class ParcelableGeneratorTest {
     private ASTClassFactory astClassFactory;
     @Inject
     private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private ParcelableAnalysis analysis;
+    @Inject
+    private ConverterRepository converterRepository;
 
     private ASTType targetType;
     private ASTType converterType;
@@ -213,6 +245,505 @@ public class ParcelableGeneratorTest {
         testSerialization(descriptor);
     }
 
+    @Test
+    public void testTreeSerialization() throws Exception {
+        ParcelableDescriptor descriptor = new ParcelableDescriptor();
+        descriptor.setTree(true);
+
+        ASTField astField = targetType.getFields().iterator().next();
+
+        descriptor.getFieldPairs().add(
+                new ReferencePair<FieldReference>("value",
+                        new FieldReference(targetType, "value", astField, astField.getASTType()),
+                        new FieldReference(targetType, "value", astField, astField.getASTType()), null));
+
+        Class<Parcelable> parcelableClass = testSerialization(descriptor);
+
+        //tree serialization drops the identity collection from the generated signatures
+        parcelableClass.getMethod("write", Target.class, Parcel.class, int.class);
+        parcelableClass.getMethod("read", Parcel.class);
+        assertNoMethod(parcelableClass, "write", Target.class, Parcel.class, int.class, IdentityCollection.class);
+        assertNoMethod(parcelableClass, "read", Parcel.class, IdentityCollection.class);
+    }
+
+    @Test
+    public void testTreeNullSerialization() throws Exception {
+        TreeTarget.Branch root = new TreeTarget.Branch();
+        root.name = "root";
+        root.left = new TreeTarget.Branch();
+        root.left.name = "left";
+        root.left.leaf = true;
+
+        TreeTarget.Branch output = roundTrip(TreeTarget.Branch.class, root);
+
+        assertEquals("root", output.name);
+        assertNull(output.right);
+        assertEquals("left", output.left.name);
+        assertTrue(output.left.leaf);
+        assertNull(output.left.left);
+        assertNull(output.left.right);
+
+        //a bitmap word and name for each instance, the null state of the children shares the word with leaf
+        Parcel baseline = Parcel.obtain();
+        baseline.writeInt(0);
+        baseline.writeString("root");
+        baseline.writeInt(0);
+        baseline.writeString("left");
+        assertEquals(baseline.dataSize(), parcel.dataSize());
+        baseline.recycle();
+    }
+
+    @Test
+    public void testConverterInstances() throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(ConverterTarget.class);
+
+        CountingStringConverter.instances = 0;
+        StatefulStringConverter.instances = 0;
+
+        ConverterTarget converterTarget = new ConverterTarget("first", "second", "stateful");
+        for(int i = 0; i < ROUND_TRIPS; i++) {
+            parcel.setDataPosition(0);
+            parcelableClass.getConstructor(ConverterTarget.class).newInstance(converterTarget).writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            ConverterTarget output = Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(parcel));
+
+            assertEquals("first", output.getFirst());
+            assertEquals("second", output.getSecond());
+            assertEquals("stateful", output.getStateful());
+        }
+
+        //shared converters are instantiated once per generated class
+        assertEquals(1, CountingStringConverter.instances);
+        //stateful converters are instantiated on every read and write
+        assertEquals(2 * ROUND_TRIPS, StatefulStringConverter.instances);
+    }
+
+    @Test
+    public void testPrimitiveArraySerialization() throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(ArrayTarget.class);
+
+        ArrayTarget arrayTarget = new ArrayTarget();
+        arrayTarget.ints = new int[]{1, -2, Integer.MAX_VALUE};
+        arrayTarget.longs = new long[]{3L, Long.MIN_VALUE};
+        arrayTarget.floats = new float[]{4.5f, -0.25f};
+        arrayTarget.doubles = new double[]{6.75, Double.MAX_VALUE};
+        arrayTarget.shorts = new short[]{7, -8, Short.MAX_VALUE};
+        arrayTarget.evenShorts = new short[]{Short.MIN_VALUE, -1};
+        arrayTarget.strings = new String[]{"nine", null};
+
+        parcelableClass.getConstructor(ArrayTarget.class).newInstance(arrayTarget).writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        ArrayTarget output = Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(parcel));
+
+        assertArrayEquals(arrayTarget.ints, output.ints);
+        assertArrayEquals(arrayTarget.longs, output.longs);
+        assertArrayEquals(arrayTarget.floats, output.floats, 0);
+        assertArrayEquals(arrayTarget.doubles, output.doubles, 0);
+        assertArrayEquals(arrayTarget.shorts, output.shorts);
+        assertArrayEquals(arrayTarget.evenShorts, output.evenShorts);
+        assertArrayEquals(arrayTarget.strings, output.strings);
+        assertNull(output.nullInts);
+        assertNull(output.nullShorts);
+    }
+
+    @Test
+    public void testNullBitmapSerialization() throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(NullableTarget.class);
+
+        NullableTarget empty = new NullableTarget(null);
+
+        parcelableClass.getConstructor(NullableTarget.class).newInstance(empty).writeToParcel(parcel, 0);
+
+        //identity followed by a single bitmap word in place of 13 null markers
+        assertEquals(8, parcel.dataSize());
+
+        parcel.setDataPosition(0);
+        NullableTarget emptyOutput = Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(parcel));
+
+        assertTrue(EqualsBuilder.reflectionEquals(empty, emptyOutput));
+
+        NullableTarget populated = new NullableTarget(13);
+        populated.one = 1;
+        populated.three = 3L;
+        populated.five = 5.0;
+        populated.seven = 7f;
+        populated.nine = 9;
+        populated.ten = 't';
+        populated.eleven = true;
+
+        Parcel populatedParcel = Parcel.obtain();
+        parcelableClass.getConstructor(NullableTarget.class).newInstance(populated).writeToParcel(populatedParcel, 0);
+        populatedParcel.setDataPosition(0);
+        NullableTarget populatedOutput = Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(populatedParcel));
+
+        assertTrue(EqualsBuilder.reflectionEquals(populated, populatedOutput));
+    }
+
+    @Test
+    public void testBooleanFieldPacking() throws Exception {
+        BooleanTarget.FieldTarget fieldTarget = new BooleanTarget.FieldTarget();
+        fieldTarget.flag0 = true;
+        fieldTarget.flag7 = true;
+        fieldTarget.flag31 = true;
+        fieldTarget.flag32 = true;
+        fieldTarget.boxedTrue = true;
+        fieldTarget.boxedFalse = false;
+
+        BooleanTarget.FieldTarget output = roundTrip(BooleanTarget.FieldTarget.class, fieldTarget);
+
+        //identity followed by two bitmap words holding 33 booleans and 3 nullable Booleans
+        assertEquals(12, parcel.dataSize());
+        assertTrue(EqualsBuilder.reflectionEquals(fieldTarget, output));
+    }
+
+    @Test
+    public void testBooleanBeanPacking() throws Exception {
+        BooleanTarget.BeanTarget beanTarget = new BooleanTarget.BeanTarget();
+        beanTarget.setFirst(true);
+        beanTarget.setSecond(false);
+
+        BooleanTarget.BeanTarget output = roundTrip(BooleanTarget.BeanTarget.class, beanTarget);
+
+        assertEquals(8, parcel.dataSize());
+        assertTrue(output.isFirst());
+        assertEquals(false, output.getSecond());
+    }
+
+    @Test
+    public void testBooleanValuePacking() throws Exception {
+        BooleanTarget.ValueTarget valueTarget = new BooleanTarget.ValueTarget();
+        valueTarget.first(true);
+
+        BooleanTarget.ValueTarget output = roundTrip(BooleanTarget.ValueTarget.class, valueTarget);
+
+        assertEquals(8, parcel.dataSize());
+        assertTrue(output.first());
+        assertNull(output.second());
+    }
+
+    @Test
+    public void testBooleanConstructorPacking() throws Exception {
+        BooleanTarget.ConstructorTarget output = roundTrip(BooleanTarget.ConstructorTarget.class, new BooleanTarget.ConstructorTarget(true, true));
+
+        assertEquals(8, parcel.dataSize());
+        assertTrue(output.first);
+        assertEquals(true, output.second);
+    }
+
+    @Test
+    public void testBooleanFactoryPacking() throws Exception {
+        BooleanTarget.FactoryTarget output = roundTrip(BooleanTarget.FactoryTarget.class, BooleanTarget.FactoryTarget.build(false, true));
+
+        assertEquals(8, parcel.dataSize());
+        assertEquals(false, output.first);
+        assertEquals(true, output.second);
+    }
+
+    @Test
+    public void testEnumOrdinalSerialization() throws Exception {
+        EnumTarget input = new EnumTarget();
+        input.size = EnumTarget.Size.LARGE;
+        input.flags = EnumSet.of(EnumTarget.Flag.ONE, EnumTarget.Flag.FOUR);
+        input.emptyFlags = EnumSet.noneOf(EnumTarget.Flag.class);
+
+        EnumTarget output = roundTrip(EnumTarget.class, input);
+
+        assertEquals(EnumTarget.Size.LARGE, output.size);
+        assertNull(output.missingSize);
+        assertEquals(EnumSet.of(EnumTarget.Flag.ONE, EnumTarget.Flag.FOUR), output.flags);
+        assertEquals(EnumSet.noneOf(EnumTarget.Flag.class), output.emptyFlags);
+        assertNull(output.missingFlags);
+        // identity, bitmap word, two ordinals and two masks
+        assertEquals(4 + 4 + 4 + 4 + 8 + 8, parcel.dataSize());
+    }
+
+    @Test
+    public void testNarrowPrimitiveSerialization() throws Exception {
+        NarrowPrimitiveTarget input = new NarrowPrimitiveTarget();
+        input.character = '\uFFFF';
+        input.shortValue = Short.MIN_VALUE;
+        input.boxedCharacter = 'p';
+        input.boxedShort = -1;
+
+        NarrowPrimitiveTarget output = roundTrip(NarrowPrimitiveTarget.class, input);
+
+        assertEquals('\uFFFF', output.character);
+        assertEquals(Short.MIN_VALUE, output.shortValue);
+        assertEquals(Character.valueOf('p'), output.boxedCharacter);
+        assertEquals(Short.valueOf((short) -1), output.boxedShort);
+        assertNull(output.nullCharacter);
+        assertNull(output.nullShort);
+        // identity, bitmap word and a single int per value, with no array length prefix
+        assertEquals(4 + 4 + 4 * 4, parcel.dataSize());
+    }
+
+    @Test
+    public void testJdkTypeSerialization() throws Exception {
+        JdkTypesTarget input = new JdkTypesTarget();
+        input.uuid = UUID.randomUUID();
+        input.date = new Date(1234567890123L);
+        input.bigInteger = new BigInteger("-123456789012345678901234567890");
+        input.bigDecimal = new BigDecimal("3.14159265358979323846264338327950288");
+        input.uri = URI.create("http://parceler.org/path?query=value#fragment");
+        input.locale = new Locale("en", "US", "POSIX");
+        input.currency = Currency.getInstance("EUR");
+
+        JdkTypesTarget output = roundTrip(JdkTypesTarget.class, input);
+
+        assertEquals(input.uuid, output.uuid);
+        assertEquals(input.date, output.date);
+        assertEquals(input.bigInteger, output.bigInteger);
+        assertEquals(input.bigDecimal, output.bigDecimal);
+        assertEquals(input.bigDecimal.scale(), output.bigDecimal.scale());
+        assertEquals(input.uri, output.uri);
+        assertEquals(input.locale, output.locale);
+        assertEquals(input.currency, output.currency);
+        assertNull(output.nullUuid);
+        assertNull(output.nullBigDecimal);
+    }
+
+    @Test
+    public void testJdkSubclassSerialization() throws Exception {
+        Timestamp timestamp = new Timestamp(1234567890123L);
+        timestamp.setNanos(123456789);
+
+        JdkTypesTarget input = new JdkTypesTarget();
+        input.date = timestamp;
+        input.locale = Locale.forLanguageTag("sr-Latn-RS");
+        input.extendedLocale = Locale.forLanguageTag("th-TH-u-nu-thai");
+
+        JdkTypesTarget output = roundTrip(JdkTypesTarget.class, input);
+
+        // values the compact encodings cannot represent are serialized instead
+        assertEquals(Timestamp.class, output.date.getClass());
+        assertEquals(timestamp, output.date);
+        assertEquals(123456789, ((Timestamp) output.date).getNanos());
+        assertEquals(input.locale, output.locale);
+        assertEquals("Latn", output.locale.getScript());
+        assertEquals(input.extendedLocale, output.extendedLocale);
+        assertEquals("thai", output.extendedLocale.getUnicodeLocaleType("nu"));
+    }
+
+    @Test
+    public void testStringTableSerialization() throws Exception {
+        StringTableTarget input = new StringTableTarget();
+        input.name = new String("books");
+        input.tags = Arrays.asList(new String("books"), new String("books"), "music");
+        input.attributes = Collections.singletonMap("category", new String("books"));
+
+        StringTableTarget output = roundTrip(StringTableTarget.class, input);
+
+        assertEquals("books", output.name);
+        assertNull(output.missing);
+        assertEquals(input.tags, output.tags);
+        assertEquals(input.attributes, output.attributes);
+        // repeated strings are read back as a single instance
+        assertSame(output.name, output.tags.get(0));
+        assertSame(output.name, output.tags.get(1));
+        assertSame(output.name, output.attributes.get("category"));
+        // identity, a key per string, two sizes and only the three distinct strings
+        Parcel distinct = Parcel.obtain();
+        distinct.writeString("books");
+        distinct.writeString("music");
+        distinct.writeString("category");
+        assertEquals(4 + 4 * 7 + 4 * 2 + distinct.dataSize(), parcel.dataSize());
+        distinct.recycle();
+    }
+
+    @Test
+    public void testLazySerialization() throws Exception {
+        LazyTarget input = new LazyTarget();
+        input.name = "lazy";
+        input.values = Arrays.asList("one", "two");
+
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(LazyTarget.class);
+        Parcelable.Creator<Parcelable> creator = (Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null);
+
+        parcelableClass.getConstructor(LazyTarget.class).newInstance(input).writeToParcel(parcel, 0);
+        parcel.writeInt(42);
+        parcel.setDataPosition(0);
+        Parcelable undecoded = creator.createFromParcel(parcel);
+        // only the frame is consumed
+        assertEquals(42, parcel.readInt());
+
+        // parceled again before being unwrapped
+        Parcel second = Parcel.obtain();
+        undecoded.writeToParcel(second, 0);
+        second.setDataPosition(0);
+        Parcelable output = creator.createFromParcel(second);
+        second.recycle();
+
+        LazyTarget unwrapped = Parcels.unwrap(output);
+        assertEquals("lazy", unwrapped.name);
+        assertEquals(input.values, unwrapped.values);
+        assertSame(unwrapped, Parcels.unwrap(output));
+        assertEquals("lazy", Parcels.<LazyTarget>unwrap(undecoded).name);
+    }
+
+    @Test
+    public void testSizeOf() throws Exception {
+        SizeTarget first = new SizeTarget();
+        first.count = 1;
+        first.total = 2L;
+        first.ratio = 3.0;
+        first.scale = 4f;
+        first.flag = true;
+        first.present = 5;
+        first.values = Arrays.asList(6, null, 7);
+        first.weights = Collections.singletonMap(8L, 9.0);
+        first.ints = new int[]{10, 11};
+        first.size = EnumTarget.Size.MEDIUM;
+        SizeTarget second = new SizeTarget();
+        second.next = first;
+        first.next = second;
+
+        // the back reference to first is written as an identity only
+        assertSizeOf(SizeTarget.class, first);
+    }
+
+    @Test
+    public void testEnumSizeOf() throws Exception {
+        EnumTarget enumTarget = new EnumTarget();
+        enumTarget.size = EnumTarget.Size.LARGE;
+        enumTarget.flags = EnumSet.of(EnumTarget.Flag.TWO);
+
+        assertSizeOf(EnumTarget.class, enumTarget);
+    }
+
+    @Test
+    public void testLibrarySizeOf() throws Exception {
+        LibraryTarget.Linking linking = new LibraryTarget.Linking();
+        linking.name = "linking";
+        linking.library = new LibraryTarget();
+        linking.library.value = "library";
+
+        // the library wrapper declares no sizeOf(), so the generated code would not compile had it been called
+        assertSizeOf(LibraryTarget.Linking.class, linking);
+    }
+
+    private <T> void assertSizeOf(Class<T> inputType, T input) throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(inputType);
+        Parcel output = Parcel.obtain();
+        parcelableClass.getConstructor(inputType).newInstance(input).writeToParcel(output, 0);
+
+        Method sizeOf = parcelableClass.getMethod("sizeOf", inputType, IdentityCollection.class);
+        assertEquals(output.dataSize(), sizeOf.invoke(null, input, new IdentityCollection()));
+        output.recycle();
+    }
+
+    @Test
+    public void testStats() throws Exception {
+        ParcelerStatsRecorder recorder = new ParcelerStatsRecorder();
+        Parcels.setStats(recorder);
+        try {
+            NarrowPrimitiveTarget input = new NarrowPrimitiveTarget();
+            input.boxedShort = 1;
+
+            roundTrip(NarrowPrimitiveTarget.class, input);
+        } finally {
+            Parcels.setStats(null);
+        }
+
+        ParcelerStatsRecorder.Snapshot snapshot = recorder.snapshot().get(NarrowPrimitiveTarget.class.getName());
+        assertEquals(1, snapshot.getWrites().getCount());
+        assertEquals(parcel.dataSize(), snapshot.getWrites().getBytes());
+        assertEquals(1, snapshot.getWrites().getInstances());
+        assertEquals(1, snapshot.getReads().getCount());
+        assertEquals(parcel.dataSize(), snapshot.getReads().getBytes());
+        assertEquals(1, snapshot.getReads().getInstances());
+    }
+
+    @Test
+    public void testConcurrentStats() throws Exception {
+        final Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(NarrowPrimitiveTarget.class);
+        final Parcelable.Creator<?> creator = (Parcelable.Creator<?>) parcelableClass.getField("CREATOR").get(null);
+        final NarrowPrimitiveTarget input = new NarrowPrimitiveTarget();
+        input.boxedShort = 1;
+        parcelableClass.getConstructor(NarrowPrimitiveTarget.class).newInstance(input).writeToParcel(parcel, 0);
+        int bytes = parcel.dataSize();
+
+        ParcelerStatsRecorder recorder = new ParcelerStatsRecorder();
+        Parcels.setStats(recorder);
+        ExecutorService executor = Executors.newFixedThreadPool(STATS_THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> results = new ArrayList<Future<Void>>();
+            for (int thread = 0; thread < STATS_THREADS; thread++) {
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < STATS_ITERATIONS; i++) {
+                            Parcel threadParcel = Parcel.obtain();
+                            parcelableClass.getConstructor(NarrowPrimitiveTarget.class).newInstance(input).writeToParcel(threadParcel, 0);
+                            threadParcel.setDataPosition(0);
+                            creator.createFromParcel(threadParcel);
+                            threadParcel.recycle();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+            Parcels.setStats(null);
+        }
+
+        // every sample taken by the generated writeToParcel and createFromParcel is recorded
+        long samples = (long) STATS_THREADS * STATS_ITERATIONS;
+        ParcelerStatsRecorder.Snapshot snapshot = recorder.snapshot().get(NarrowPrimitiveTarget.class.getName());
+        assertEquals(samples, snapshot.getWrites().getCount());
+        assertEquals(samples * bytes, snapshot.getWrites().getBytes());
+        assertEquals(samples, snapshot.getWrites().getInstances());
+        assertEquals(samples, snapshot.getReads().getCount());
+        assertEquals(samples * bytes, snapshot.getReads().getBytes());
+        assertEquals(samples, snapshot.getReads().getInstances());
+    }
+
+    @Test
+    public void testRegisteredConverterSerialization() throws Exception {
+        assertTrue(converterRepository.add(astClassFactory.getType(ConverterRegistryTarget.MoneyConverter.class)));
+        ConverterRegistryTarget.MoneyConverter.instances = 0;
+
+        ConverterRegistryTarget input = new ConverterRegistryTarget();
+        input.price = new ConverterRegistryTarget.Money(100);
+        input.history = Arrays.asList(new ConverterRegistryTarget.Money(1), null, new ConverterRegistryTarget.Money(2));
+        input.quotes = new ConverterRegistryTarget.Money[]{new ConverterRegistryTarget.Money(3)};
+        input.byCurrency = Collections.singletonMap("EUR", new ConverterRegistryTarget.Money(4));
+
+        ConverterRegistryTarget output = roundTrip(ConverterRegistryTarget.class, input);
+
+        assertEquals(input.price, output.price);
+        assertNull(output.missing);
+        assertEquals(input.history, output.history);
+        assertArrayEquals(input.quotes, output.quotes);
+        assertEquals(input.byCurrency, output.byCurrency);
+        // a single converter instance serves every position
+        assertEquals(1, ConverterRegistryTarget.MoneyConverter.instances);
+    }
+
+    private <T> T roundTrip(Class<T> inputType, T input) throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(inputType);
+
+        parcelableClass.getConstructor(inputType).newInstance(input).writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+
+        return Parcels.unwrap(((Parcelable.Creator<Parcelable>) parcelableClass.getField("CREATOR").get(null)).createFromParcel(parcel));
+    }
+
+    private void assertNoMethod(Class<?> type, String name, Class<?>... parameters) {
+        try {
+            type.getMethod(name, parameters);
+            throw new AssertionError("Unexpected method " + name + " found on " + type);
+        } catch (NoSuchMethodException e) {
+            //expected
+        }
+    }
+
     private ASTConstructor getConstructor(ImmutableSet<ASTConstructor> constructors, ASTType... parameters) {
         for (ASTConstructor constructor : constructors) {
             if(matchParameters(constructor.getParameters(), parameters)){
@@ -246,7 +777,7 @@ public class ParcelableGeneratorTest {
         return null;
     }
 
-    private void testSerialization(ParcelableDescriptor descriptor) throws Exception {
+    private Class<Parcelable> testSerialization(ParcelableDescriptor descriptor) throws Exception {
         generator.generateParcelable(targetType, descriptor);
 
         ClassLoader classLoader = codeGenerationUtil.build();
@@ -263,5 +794,7 @@ public class ParcelableGeneratorTest {
         Target wrapped = Parcels.unwrap(inputParcelable);
 
         assertEquals(target.getValue(), wrapped.getValue());
+
+        return parcelableClass;
     }
 }
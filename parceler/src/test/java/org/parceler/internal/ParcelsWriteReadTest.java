@@ -0,0 +1,237 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.ClassNamer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.IdentityCollection;
+import org.parceler.ParcelerRuntimeException;
+import org.parceler.Parcels;
+import org.parceler.Repository;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writes generated models through `Parcels.write()` and `Parcels.read()` into a real Parcel.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class ParcelsWriteReadTest {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private ParcelableGenerator parcelableGenerator;
+    @Inject
+    private ParcelableAnalysis parcelableAnalysis;
+    @Inject
+    private ParcelableFactoryRepositoryGenerator repositoryGenerator;
+    @Inject
+    private ParcelableFactoryRegistry registry;
+
+    private Method staticWrite;
+
+    @Before
+    public void setup() throws Exception {
+        Bootstraps.inject(this);
+
+        ASTType targetType = astClassFactory.getType(WriteReadTarget.class);
+        parcelableGenerator.generateParcelable(targetType, parcelableAnalysis.analyze(targetType));
+        ASTType treeType = astClassFactory.getType(TreeTarget.Branch.class);
+        parcelableGenerator.generateParcelable(treeType, parcelableAnalysis.analyze(treeType));
+        repositoryGenerator.run(null);
+
+        ClassLoader classLoader = codeGenerationUtil.build();
+
+        staticWrite = classLoader.loadClass(ClassNamer.className(targetType).append(Parcels.IMPL_EXT).build().toString())
+                .getMethod(Parcels.ParcelAccessor.WRITE, WriteReadTarget.class, Parcel.class, int.class, IdentityCollection.class);
+
+        // the generated classes are not visible to Parcels' class loader, register the generated repository as the
+        // META-INF/services index would
+        for (PackageClass repositoryName : registry.getRepositories()) {
+            loadRepository((Repository) classLoader.loadClass(repositoryName.getFullyQualifiedName()).newInstance());
+        }
+    }
+
+    @Test
+    public void testWriteMatchesStaticWrite() throws Exception {
+        WriteReadTarget target = buildTarget();
+
+        Parcel parcel = Parcel.obtain();
+        Parcels.write(parcel, target);
+
+        Parcel expected = Parcel.obtain();
+        staticWrite.invoke(null, target, expected, 0, new IdentityCollection());
+
+        // neither a wrapper class name nor a wrapper header is written
+        assertArrayEquals(expected.marshall(), parcel.marshall());
+        expected.recycle();
+        parcel.recycle();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        WriteReadTarget target = buildTarget();
+
+        Parcel parcel = Parcel.obtain();
+        Parcels.write(parcel, target);
+        parcel.setDataPosition(0);
+
+        WriteReadTarget output = Parcels.read(parcel, WriteReadTarget.class);
+
+        assertEquals("first", output.name);
+        assertEquals(1, output.count);
+        assertEquals(Arrays.asList("a", "b"), output.tags);
+        assertEquals("second", output.next.name);
+        assertNull(output.next.tags);
+        // the back reference is restored as the same instance
+        assertSame(output, output.next.next);
+        assertEquals(parcel.dataSize(), parcel.dataPosition());
+        parcel.recycle();
+    }
+
+    @Test
+    public void testTypedSetRoundTrip() throws Exception {
+        WriteReadTarget target = buildTarget();
+        Set<WriteReadTarget> input = new HashSet<WriteReadTarget>(Arrays.asList(target, target.next));
+
+        Set<WriteReadTarget> output = roundTrip(Parcels.wrap(Set.class, WriteReadTarget.class, input));
+
+        assertEquals(2, output.size());
+        for (WriteReadTarget item : output) {
+            // items share one identity collection, so back references resolve to the other item read
+            assertTrue(output.contains(item.next));
+        }
+    }
+
+    @Test
+    public void testTypedMapRoundTrip() throws Exception {
+        WriteReadTarget target = buildTarget();
+        Map<String, WriteReadTarget> input = new HashMap<String, WriteReadTarget>();
+        input.put("first", target);
+        input.put("second", target.next);
+        input.put("again", target);
+
+        Map<String, WriteReadTarget> output = roundTrip(Parcels.wrap(Map.class, WriteReadTarget.class, input));
+
+        assertEquals(input.keySet(), output.keySet());
+        assertEquals("first", output.get("first").name);
+        assertSame(output.get("first"), output.get("again"));
+        assertSame(output.get("second"), output.get("first").next);
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testTreeNullWrite() {
+        Parcel parcel = Parcel.obtain();
+        try {
+            Parcels.write(parcel, TreeTarget.Branch.class, null);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testTreeNullSizeOf() {
+        Parcels.sizeOf(TreeTarget.Branch.class, null);
+    }
+
+    @Test(expected = ParcelerRuntimeException.class)
+    public void testTreeNullCollectionItem() {
+        Parcel parcel = Parcel.obtain();
+        try {
+            Parcels.wrap(List.class, TreeTarget.Branch.class, Arrays.asList(new TreeTarget.Branch(), null)).writeToParcel(parcel, 0);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @Test
+    public void testTreeNullProperty() {
+        TreeTarget.Branch branch = new TreeTarget.Branch();
+        branch.name = "root";
+
+        Parcel parcel = Parcel.obtain();
+        Parcels.write(parcel, TreeTarget.Branch.class, branch);
+        assertEquals(parcel.dataSize(), Parcels.sizeOf(TreeTarget.Branch.class, branch));
+        parcel.setDataPosition(0);
+
+        // null children are recorded in the enclosing property
+        TreeTarget.Branch output = Parcels.read(parcel, TreeTarget.Branch.class);
+        assertEquals("root", output.name);
+        assertNull(output.left);
+        assertNull(output.right);
+        parcel.recycle();
+    }
+
+    private static <T> T roundTrip(Parcelable parcelable) throws Exception {
+        Parcelable.Creator<?> creator = (Parcelable.Creator<?>) parcelable.getClass().getField("CREATOR").get(null);
+
+        Parcel parcel = Parcel.obtain();
+        parcelable.writeToParcel(parcel, 0);
+        parcel.setDataPosition(0);
+        T output = Parcels.unwrap((Parcelable) creator.createFromParcel(parcel));
+        assertEquals(parcel.dataSize(), parcel.dataPosition());
+        parcel.recycle();
+        return output;
+    }
+
+    private WriteReadTarget buildTarget() {
+        WriteReadTarget target = new WriteReadTarget();
+        target.name = "first";
+        target.count = 1;
+        target.tags = Arrays.asList("a", "b");
+        target.next = new WriteReadTarget();
+        target.next.name = "second";
+        target.next.count = 2;
+        target.next.next = target;
+        return target;
+    }
+
+    private static void loadRepository(Repository repository) throws Exception {
+        Field repositoryField = Parcels.class.getDeclaredField("REPOSITORY");
+        repositoryField.setAccessible(true);
+        Object parcelCodeRepository = repositoryField.get(null);
+        Method loadRepository = parcelCodeRepository.getClass().getMethod("loadRepository", Repository.class);
+        loadRepository.setAccessible(true);
+        loadRepository.invoke(parcelCodeRepository, repository);
+    }
+}
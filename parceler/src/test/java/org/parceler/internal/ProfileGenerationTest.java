@@ -0,0 +1,131 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.parceler.ParcelProfile;
+import org.parceler.Parcels;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writes classes generated with the `parcelerProfile` option.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class ProfileGenerationTest {
+
+    private static final String TYPE = ProfileTarget.class.getName();
+
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+
+    private Class<Parcelable> parcelableClass;
+
+    @Before
+    public void setup() throws Exception {
+        TestParcelerModule.OPTIONS.add(ParcelerModule.PROFILE);
+        Bootstraps.inject(this);
+
+        parcelableClass = codeGenerationUtil.generateWrapper(ProfileTarget.class);
+    }
+
+    @After
+    public void tearDown() {
+        TestParcelerModule.OPTIONS.clear();
+        Parcels.setProfileThreshold(Integer.MAX_VALUE, null);
+        ParcelProfile.reset();
+    }
+
+    @Test
+    public void testPropertyNames() throws Exception {
+        ProfileTarget target = new ProfileTarget();
+        target.name = "parent";
+        target.active = true;
+        target.enabled = true;
+        target.tags = Arrays.asList("one", "two");
+        target.values = new int[]{1, 2, 3};
+        target.child = new ProfileTarget();
+        target.child.name = "child";
+
+        write(target);
+
+        Map<String, ParcelProfile.PropertyStats> stats = Parcels.getProfile().get(TYPE);
+        // booleans and the null state of Boolean are packed into the bitmap header, writing nothing of their own
+        assertFalse(stats.containsKey("active"));
+        assertFalse(stats.containsKey("enabled"));
+        // collections and arrays are suffixed
+        assertTrue(stats.containsKey("tags[]"));
+        assertFalse(stats.containsKey("tags"));
+        assertEquals(4 + 3 * 4, stats.get("values[]").getMax());
+        // the child is recorded under its declaring type along with the parent, null properties included
+        assertEquals(2, stats.get("name").getCount());
+        assertEquals(2, stats.get("child").getCount());
+        assertEquals(2, stats.get("checked").getCount());
+    }
+
+    @Test
+    public void testThrowingWrite() throws Exception {
+        ProfileTarget failing = new ProfileTarget();
+        failing.checked = ProfileTarget.FAIL;
+        try {
+            write(failing);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(ProfileTarget.FAIL, e.getMessage());
+        }
+
+        final List<String> reported = new ArrayList<String>();
+        Parcels.setProfileThreshold(0, new ParcelProfile.ThresholdListener() {
+            @Override
+            public void onThresholdExceeded(String type, int bytes, List<ParcelProfile.PathSize> topPaths) {
+                reported.add(type);
+            }
+        });
+
+        // the failed write left no frames behind, so the next wrap is a root wrap again
+        write(new ProfileTarget());
+
+        assertEquals(Arrays.asList(TYPE), reported);
+    }
+
+    private void write(ProfileTarget target) throws Exception {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcelableClass.getConstructor(ProfileTarget.class).newInstance(target).writeToParcel(parcel, 0);
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
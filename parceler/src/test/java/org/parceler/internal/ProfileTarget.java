@@ -0,0 +1,56 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import org.parceler.ParcelConverter;
+import org.parceler.ParcelPropertyConverter;
+
+import java.util.List;
+
+/**
+ * @author John Ericksen
+ */
+@org.parceler.Parcel
+public class ProfileTarget {
+
+    public static final String FAIL = "fail";
+
+    public String name;
+    public boolean active;
+    public Boolean enabled;
+    public List<String> tags;
+    public int[] values;
+    public ProfileTarget child;
+    @ParcelPropertyConverter(FailingConverter.class)
+    public String checked;
+
+    public static class FailingConverter implements ParcelConverter<String> {
+
+        @Override
+        public void toParcel(String input, Parcel parcel, int flags) {
+            if(FAIL.equals(input)) {
+                throw new IllegalStateException(FAIL);
+            }
+            parcel.writeString(input);
+        }
+
+        @Override
+        public String fromParcel(Parcel parcel) {
+            return parcel.readString();
+        }
+    }
+}
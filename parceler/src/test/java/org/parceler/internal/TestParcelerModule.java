@@ -38,12 +38,15 @@ import org.parceler.internal.generator.EnumReadWriteGenerator;
 import org.parceler.internal.generator.LinkParcelReadWriteGenerator;
 import org.parceler.internal.generator.NullCheckFactory;
 import org.parceler.internal.generator.SerializableReadWriteGenerator;
+import org.parceler.internal.generator.StringReadWriteGenerator;
 
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.lang.model.util.Elements;
+import java.util.HashSet;
+import java.util.Set;
 
 @BootstrapModule
 @Bindings({
@@ -59,6 +62,11 @@ import javax.lang.model.util.Elements;
 })
 public class TestParcelerModule {
 
+    /**
+     * Processor options enabled for the next injection, in place of the options of the ProcessingEnvironment.
+     */
+    public static final Set<String> OPTIONS = new HashSet<String>();
+
     @Provides
     public ClassGenerationStrategy getClassGenerationStrategy(){
         return new ClassGenerationStrategy(Generated.class, ParcelAnnotationProcessor.class.getName());
@@ -70,6 +78,12 @@ public class TestParcelerModule {
         return new JCodeModel();
     }
 
+    @Provides
+    @Singleton
+    public UniqueVariableNamer getVariableNamer(){
+        return new UniqueVariableNamer();
+    }
+
     @Provides
     @Singleton
     public ErrorCheckingMessager getMessager(){
@@ -92,6 +106,48 @@ public class TestParcelerModule {
         return "Parceler: ";
     }
 
+    @Provides
+    @Named(ParcelerModule.TREE_MODE)
+    public boolean getTreeModeOption(){
+        return OPTIONS.contains(ParcelerModule.TREE_MODE);
+    }
+
+    @Provides
+    @Named(ParcelerModule.ENUM_ORDINALS)
+    public boolean getEnumOrdinalsOption(){
+        return OPTIONS.contains(ParcelerModule.ENUM_ORDINALS);
+    }
+
+    @Provides
+    @Named(ParcelerModule.STRING_TABLE)
+    public boolean getStringTableOption(){
+        return OPTIONS.contains(ParcelerModule.STRING_TABLE);
+    }
+
+    @Provides
+    @Named(ParcelerModule.PRESIZE)
+    public boolean getPresizeOption(){
+        return OPTIONS.contains(ParcelerModule.PRESIZE);
+    }
+
+    @Provides
+    @Named(ParcelerModule.PROFILE)
+    public boolean getProfileOption(){
+        return OPTIONS.contains(ParcelerModule.PROFILE);
+    }
+
+    @Provides
+    @Named(ParcelerModule.TRACE)
+    public boolean getTraceOption(){
+        return OPTIONS.contains(ParcelerModule.TRACE);
+    }
+
+    @Provides
+    @Named(ParcelerModule.CODEC)
+    public boolean getCodecOption(){
+        return OPTIONS.contains(ParcelerModule.CODEC);
+    }
+
     @Provides
     @Named("namespace")
     public String getNamespace() {
@@ -107,8 +163,13 @@ public class TestParcelerModule {
                                     SerializableReadWriteGenerator serializableReadWriteGenerator,
                                     NullCheckFactory nullCheckFactory,
                                     LinkParcelReadWriteGenerator parcelReadWriteGenerator,
-                                    EnumReadWriteGenerator enumReadWriteGenerator){
+                                    EnumReadWriteGenerator enumReadWriteGenerator,
+                                    StringReadWriteGenerator stringReadWriteGenerator,
+                                    ConverterRepository converterRepository,
+                                    ConverterInstanceBuilder converterInstanceBuilder,
+                                    ParcelableAnalysis analysis,
+                                    Elements elements){
 
-        return ParcelerModule.addGenerators(new Generators(astClassFactory), astClassFactory, generationUtil, externalParcelRepository, namer, codeModel, serializableReadWriteGenerator, nullCheckFactory, parcelReadWriteGenerator, enumReadWriteGenerator);
+        return ParcelerModule.addGenerators(new Generators(astClassFactory), astClassFactory, generationUtil, externalParcelRepository, namer, codeModel, serializableReadWriteGenerator, nullCheckFactory, parcelReadWriteGenerator, enumReadWriteGenerator, stringReadWriteGenerator, converterRepository, converterInstanceBuilder, analysis, elements);
     }
 }
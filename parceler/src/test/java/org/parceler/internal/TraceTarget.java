@@ -0,0 +1,51 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import org.parceler.ParcelConverter;
+import org.parceler.ParcelPropertyConverter;
+
+/**
+ * @author John Ericksen
+ */
+@org.parceler.Parcel
+public class TraceTarget {
+
+    public String name;
+    public int count;
+    @ParcelPropertyConverter(CheckedConverter.class)
+    public String checked;
+
+    /**
+     * Throws when writing a null value.
+     */
+    public static class CheckedConverter implements ParcelConverter<String> {
+
+        @Override
+        public void toParcel(String input, Parcel parcel, int flags) {
+            if(input == null) {
+                throw new IllegalStateException("checked");
+            }
+            parcel.writeString(input);
+        }
+
+        @Override
+        public String fromParcel(Parcel parcel) {
+            return parcel.readString();
+        }
+    }
+}
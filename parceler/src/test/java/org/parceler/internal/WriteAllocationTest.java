@@ -0,0 +1,228 @@
+/**
+ * Copyright 2011-2015 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.parceler.internal;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import javax.inject.Inject;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Pins the steady-state allocations of `writeToParcel()` on generated wrappers.  Each model is compared against a
+ * hand written writer issuing the same `Parcel` calls with the same values, so allocations made by the `Parcel`
+ * itself cancel out and only those made by the generated code count against the budget.
+ *
+ * Known allocators are expected to exceed their budget, and their expectation should be dropped once fixed.
+ *
+ * @author John Ericksen
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest=Config.NONE)
+@Bootstrap
+public class WriteAllocationTest {
+
+    //ArrayList iterator, with room for uncompressed references
+    private static final long ITERATOR_BUDGET = 48;
+
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+
+    private interface ParcelWriter {
+        void write(Parcel parcel);
+    }
+
+    @Before
+    public void setup() {
+        assumeTrue(AllocationMeter.isSupported());
+        Bootstraps.inject(this);
+    }
+
+    @Test
+    public void testPrimitives() throws Exception {
+        final AllocationTarget.Primitives input = new AllocationTarget.Primitives();
+        input.count = 1000;
+        input.total = 1000L;
+        input.ratio = 0.5;
+        input.scale = 0.25f;
+        input.tag = 7;
+        input.initial = 'p';
+        input.delta = 1000;
+        input.flag = true;
+
+        assertWriteAllocations(AllocationTarget.Primitives.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(1);
+                parcel.writeInt(input.count);
+                parcel.writeLong(input.total);
+                parcel.writeDouble(input.ratio);
+                parcel.writeFloat(input.scale);
+                parcel.writeByte(input.tag);
+                parcel.writeInt(input.initial);
+                parcel.writeInt(input.delta);
+            }
+        }, 0);
+    }
+
+    @Test
+    public void testBoxed() throws Exception {
+        final AllocationTarget.Boxed input = new AllocationTarget.Boxed();
+        input.count = 1000;
+        input.total = 1000L;
+        input.ratio = 0.5;
+        input.initial = 'p';
+        input.flag = true;
+
+        assertWriteAllocations(AllocationTarget.Boxed.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(0);
+                parcel.writeInt(input.count);
+                parcel.writeLong(input.total);
+                parcel.writeDouble(input.ratio);
+                parcel.writeInt(input.initial);
+            }
+        }, 0);
+    }
+
+    @Test
+    public void testEnums() throws Exception {
+        final AllocationTarget.Enums input = new AllocationTarget.Enums();
+        input.size = AllocationTarget.Size.LARGE;
+
+        assertWriteAllocations(AllocationTarget.Enums.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(input.size.ordinal());
+                parcel.writeInt(-1);
+            }
+        }, 0);
+    }
+
+    @Test
+    public void testSharedConverter() throws Exception {
+        final AllocationTarget.SharedConverterField input = new AllocationTarget.SharedConverterField();
+        input.value = "value";
+
+        assertWriteAllocations(AllocationTarget.SharedConverterField.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeString(input.value);
+            }
+        }, 0);
+    }
+
+    @Test
+    public void testCollection() throws Exception {
+        final AllocationTarget.ListField input = new AllocationTarget.ListField();
+        input.values = Arrays.asList(1000, 2000, 3000);
+
+        assertWriteAllocations(AllocationTarget.ListField.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(input.values.size());
+                for (int i = 0; i < input.values.size(); i++) {
+                    parcel.writeInt(1);
+                    parcel.writeInt(input.values.get(i));
+                }
+            }
+        }, ITERATOR_BUDGET);
+    }
+
+    //known allocator: @StatefulConverter converters are instantiated on every write
+    @Test(expected = AllocationMeter.BudgetExceededError.class)
+    public void testStatefulConverter() throws Exception {
+        final AllocationTarget.StatefulConverterField input = new AllocationTarget.StatefulConverterField();
+        input.value = "value";
+
+        assertWriteAllocations(AllocationTarget.StatefulConverterField.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeString(input.value);
+            }
+        }, 0);
+    }
+
+    //known allocator: each write builds a new IdentityCollection
+    @Test(expected = AllocationMeter.BudgetExceededError.class)
+    public void testIdentity() throws Exception {
+        final AllocationTarget.Identity input = new AllocationTarget.Identity();
+        input.count = 1000;
+
+        assertWriteAllocations(AllocationTarget.Identity.class, input, new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(0);
+                parcel.writeInt(input.count);
+            }
+        }, 0);
+    }
+
+    //known allocator: InjectionUtil field access boxes primitive values
+    @Test(expected = AllocationMeter.BudgetExceededError.class)
+    public void testPrivateField() throws Exception {
+        assertWriteAllocations(AllocationTarget.PrivateField.class, new AllocationTarget.PrivateField(), new ParcelWriter() {
+            @Override
+            public void write(Parcel parcel) {
+                parcel.writeInt(AllocationTarget.PRIVATE_COUNT);
+            }
+        }, 0);
+    }
+
+    private <T> void assertWriteAllocations(Class<T> inputType, T input, final ParcelWriter baseline, long budget) throws Exception {
+        Class<Parcelable> parcelableClass = codeGenerationUtil.generateWrapper(inputType);
+        final Parcelable wrapper = parcelableClass.getConstructor(inputType).newInstance(input);
+
+        //the baseline must write exactly what the generated code writes
+        Parcel generatedParcel = Parcel.obtain();
+        wrapper.writeToParcel(generatedParcel, 0);
+        Parcel baselineParcel = Parcel.obtain();
+        baseline.write(baselineParcel);
+        assertEquals(generatedParcel.dataSize(), baselineParcel.dataSize());
+        generatedParcel.recycle();
+        baselineParcel.recycle();
+
+        final Parcel parcel = Parcel.obtain();
+        long generated = AllocationMeter.bytesPerRound(new Runnable() {
+            @Override
+            public void run() {
+                parcel.setDataPosition(0);
+                wrapper.writeToParcel(parcel, 0);
+            }
+        });
+        long handWritten = AllocationMeter.bytesPerRound(new Runnable() {
+            @Override
+            public void run() {
+                parcel.setDataPosition(0);
+                baseline.write(parcel);
+            }
+        });
+        parcel.recycle();
+
+        AllocationMeter.assertWithinBudget(inputType.getSimpleName(), generated - handWritten, budget);
+    }
+}